@@ -0,0 +1,90 @@
+package edu.odu.cs.cs330;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.odu.cs.cs330.items.Inventory;
+import edu.odu.cs.cs330.items.Item;
+
+/**
+ * Compare building an Inventory sequentially vs. with a
+ * ParallelInventoryBuilder on a pool of *threads* workers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBuildBenchmark
+{
+    @Param({"1000000"})
+    public int lineCount;
+
+    @Param({"1000"})
+    public int distinctItems;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private List<Item> items;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp()
+        throws IOException
+    {
+        final Path itemFile = Files.createTempFile("items-", ".txt");
+
+        try {
+            ItemFileGenerator.write(itemFile, lineCount, distinctItems, 0.5, 0.0, 330L);
+            items = Storage.readItemsFromFile(itemFile.toString());
+        }
+        finally {
+            Files.deleteIfExists(itemFile);
+        }
+
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Inventory sequential()
+    {
+        final Inventory inventory = new Inventory(distinctItems);
+        inventory.adoptAll(items, (item, stored) -> { });
+
+        return inventory;
+    }
+
+    @Benchmark
+    public Inventory parallel()
+    {
+        return new ParallelInventoryBuilder(pool, ParallelInventoryBuilder.DEFAULT_CHUNK_SIZE)
+            .build(items, distinctItems, (item, stored) -> { });
+    }
+}
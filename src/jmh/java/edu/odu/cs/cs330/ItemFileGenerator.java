@@ -0,0 +1,199 @@
+package edu.odu.cs.cs330;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generate synthetic item files in the same format as items-01.txt.
+ * <p>
+ * Every distinct Item name is always written with the same keyword, so a
+ * name is either always Armour (non-stackable) or always a Consumable
+ * (stackable)--just as the Inventory expects.
+ */
+@SuppressWarnings({
+    "PMD.SystemPrintln",
+    "PMD.ClassNamingConventions"
+})
+public final class ItemFileGenerator {
+    private static final String[] MATERIALS = {
+        "Diamond", "Gold", "Iron", "Leather", "Stone", "Chainmail"
+    };
+
+    private static final String[] MODIFIERS = {
+        "Protection", "FeatherFalling", "Unbreaking", "Fortune", "Thorns"
+    };
+
+    private static final String[] ELEMENTS = {
+        "fire", "ice", "lightning", "earth", "none"
+    };
+
+    private static final String[] EFFECTS = {
+        "Hunger-10", "Spd*2", "Heal-5", "ImageQuality-97%", "Wake-Up"
+    };
+
+    private static final String[] CONSUMABLE_KEYWORDS = {
+        "Food", "Potion", "Disposable"
+    };
+
+    private static final String[] ARMOUR_KEYWORDS = {
+        "Armour", "Armor"
+    };
+
+    private static final String[] UNKNOWN_LINES = {
+        "Tool Pickaxe Diamond 100 1 Fortune 5",
+        "LOLNOTAVALIDITEM potato 7"
+    };
+
+    /**
+     * Utility class--no instances.
+     */
+    private ItemFileGenerator()
+    {
+    }
+
+    /**
+     * Generate item lines.
+     *
+     * @param lineCount number of lines to generate
+     * @param distinctItems number of distinct Item names to draw from
+     * @param stackableRatio fraction (0 to 1) of names that are Consumables
+     * @param unknownRatio fraction (0 to 1) of lines with an unknown keyword
+     * @param seed random seed (equal seeds produce equal output)
+     *
+     * @return generated lines (without line terminators)
+     */
+    public static List<String> lines(
+        final int lineCount,
+        final int distinctItems,
+        final double stackableRatio,
+        final double unknownRatio,
+        final long seed
+    )
+    {
+        final Random rng = new Random(seed);
+        final int consumableNames = (int) Math.round(distinctItems * stackableRatio);
+        final List<String> lines = new ArrayList<>(lineCount);
+
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(nextLine(rng, distinctItems, consumableNames, unknownRatio));
+        }
+
+        return lines;
+    }
+
+    /**
+     * Write generated item lines to a file.
+     *
+     * @param dest file to (over)write
+     * @param lineCount number of lines to generate
+     * @param distinctItems number of distinct Item names to draw from
+     * @param stackableRatio fraction (0 to 1) of names that are Consumables
+     * @param unknownRatio fraction (0 to 1) of lines with an unknown keyword
+     * @param seed random seed
+     *
+     * @throws IOException if the file can not be written
+     */
+    public static void write(
+        final Path dest,
+        final int lineCount,
+        final int distinctItems,
+        final double stackableRatio,
+        final double unknownRatio,
+        final long seed
+    )
+        throws IOException
+    {
+        final Random rng = new Random(seed);
+        final int consumableNames = (int) Math.round(distinctItems * stackableRatio);
+
+        try (BufferedWriter out = Files.newBufferedWriter(dest, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lineCount; i++) {
+                out.write(nextLine(rng, distinctItems, consumableNames, unknownRatio));
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * Draw the next line. Names with an id below *consumableNames* are
+     * Consumables; all others are Armour.
+     */
+    private static String nextLine(
+        final Random rng,
+        final int distinctItems,
+        final int consumableNames,
+        final double unknownRatio
+    )
+    {
+        if (rng.nextDouble() < unknownRatio) {
+            return UNKNOWN_LINES[rng.nextInt(UNKNOWN_LINES.length)];
+        }
+
+        final int id = rng.nextInt(distinctItems);
+
+        return id < consumableNames ? consumableLine(id) : armourLine(id);
+    }
+
+    /**
+     * Consumable attributes are derived from *id* so that every line for
+     * a given name is identical.
+     */
+    private static String consumableLine(final int id)
+    {
+        return CONSUMABLE_KEYWORDS[id % CONSUMABLE_KEYWORDS.length]
+            + " Consumable-" + id
+            + " " + EFFECTS[id % EFFECTS.length]
+            + " " + (1 + id % 10);
+    }
+
+    /**
+     * Armour attributes are derived from *id*.
+     */
+    private static String armourLine(final int id)
+    {
+        return ARMOUR_KEYWORDS[id % ARMOUR_KEYWORDS.length]
+            + " Armour-" + id
+            + " " + MATERIALS[id % MATERIALS.length]
+            + " " + (10 + id % 90)
+            + " " + (1 + id % 20)
+            + " " + MODIFIERS[id % MODIFIERS.length]
+            + " " + (1 + id % 5)
+            + " " + ELEMENTS[id % ELEMENTS.length];
+    }
+
+    /**
+     * Generate an item file from the command line.
+     *
+     * @param argv output file, line count and (optionally) distinct items,
+     *     stackable ratio, unknown ratio and seed
+     *
+     * @throws IOException if the file can not be written
+     */
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    public static void main(final String[] argv)
+        throws IOException
+    {
+        if (argv.length < 2) {
+            System.err.println(
+                "Usage: ItemFileGenerator out-file lines "
+                + "[distinct] [stackable-ratio] [unknown-ratio] [seed]"
+            );
+            System.exit(1);
+        }
+
+        final int lineCount = Integer.parseInt(argv[1]);
+        final int distinct = argv.length > 2 ? Integer.parseInt(argv[2]) : 1000;
+        final double stackable = argv.length > 3 ? Double.parseDouble(argv[3]) : 0.5;
+        final double unknown = argv.length > 4 ? Double.parseDouble(argv[4]) : 0.1;
+        final long seed = argv.length > 5 ? Long.parseLong(argv[5]) : 330L;
+
+        write(Paths.get(argv[0]), lineCount, distinct, stackable, unknown, seed);
+    }
+}
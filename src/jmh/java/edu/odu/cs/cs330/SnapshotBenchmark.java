@@ -0,0 +1,98 @@
+package edu.odu.cs.cs330;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.odu.cs.cs330.items.Inventory;
+import edu.odu.cs.cs330.items.InventorySnapshot;
+import edu.odu.cs.cs330.items.ItemStack;
+import edu.odu.cs.cs330.items.MappedInventory;
+
+/**
+ * Compare rebuilding an Inventory from its item file
+ * (readItemsFromFile + createInventoryAdopting) with loading a snapshot of it--or
+ * opening a MappedInventory view of the snapshot and reading one slot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark
+{
+    @Param({"10000", "1000000"})
+    public int lineCount;
+
+    @Param({"1000", "100000"})
+    public int distinctItems;
+
+    private Path itemFile;
+
+    private Path snapshotFile;
+
+    private PrintWriter discard;
+
+    @Setup(Level.Trial)
+    public void setUp()
+        throws IOException
+    {
+        itemFile = Files.createTempFile("items-", ".txt");
+        snapshotFile = Files.createTempFile("inventory-", ".snap");
+        discard = new PrintWriter(Writer.nullWriter());
+
+        ItemFileGenerator.write(itemFile, lineCount, distinctItems, 0.5, 0.0, 330L);
+        InventorySnapshot.save(loadText(), snapshotFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists(itemFile);
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    @Benchmark
+    public Inventory loadText()
+        throws IOException
+    {
+        return Storage.createInventoryAdopting(
+            Storage.readItemsFromFile(itemFile.toString()), distinctItems, discard, Storage.LogMode.NONE
+        );
+    }
+
+    @Benchmark
+    public Inventory loadSnapshot()
+        throws IOException
+    {
+        return InventorySnapshot.load(snapshotFile);
+    }
+
+    @Benchmark
+    public ItemStack openMappedAndGet()
+        throws IOException
+    {
+        try (MappedInventory view = new MappedInventory(snapshotFile)) {
+            return view.get(view.utilizedSlots() / 2);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package edu.odu.cs.cs330;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.odu.cs.cs330.items.Item;
+
+/**
+ * Measure Storage.readItemsFromFile end-to-end on a generated item file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark
+{
+    @Param({"10000", "1000000"})
+    public int lineCount;
+
+    @Param({"100", "10000"})
+    public int distinctItems;
+
+    @Param({"0.5"})
+    public double stackableRatio;
+
+    private Path itemFile;
+
+    @Setup(Level.Trial)
+    public void setUp()
+        throws IOException
+    {
+        itemFile = Files.createTempFile("items-", ".txt");
+        ItemFileGenerator.write(itemFile, lineCount, distinctItems, stackableRatio, 0.1, 330L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists(itemFile);
+    }
+
+    @Benchmark
+    public List<Item> readItemsFromFile()
+        throws IOException
+    {
+        return Storage.readItemsFromFile(itemFile.toString());
+    }
+}
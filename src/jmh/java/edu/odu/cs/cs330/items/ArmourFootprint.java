@@ -0,0 +1,150 @@
+package edu.odu.cs.cs330.items;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import edu.odu.cs.cs330.ItemFileGenerator;
+import edu.odu.cs.cs330.Storage;
+
+/**
+ * Compare the heap retained by an Inventory of Armour with that of an
+ * {@link ArmourTable} holding the same pieces.
+ * <p>
+ * Both are built from the same generated item file (every line is
+ * Armour). After each is built, the parsed Items are dropped, a full GC
+ * is requested and the used heap--and the largest entries of the class
+ * histogram (as from `jcmd pid GC.class_histogram`)--are printed.
+ * <p>
+ * Usage: ArmourFootprint [lines] [distinct-names] [histogram-rows]
+ */
+@SuppressWarnings({
+    "PMD.SystemPrintln",
+    "PMD.ClassNamingConventions",
+    "PMD.DoNotCallGarbageCollectionExplicitly",
+    "PMD.NullAssignment"
+})
+public final class ArmourFootprint {
+    /**
+     * Utility class--no instances.
+     */
+    private ArmourFootprint()
+    {
+    }
+
+    /**
+     * Measure both layouts.
+     *
+     * @param argv line count, distinct names and histogram rows (all
+     *     optional)
+     *
+     * @throws IOException if the item file can not be written or read
+     * @throws JMException if the class histogram can not be retrieved
+     */
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    public static void main(final String[] argv)
+        throws IOException, JMException
+    {
+        final int lineCount = argv.length > 0 ? Integer.parseInt(argv[0]) : 1_000_000;
+        final int distinct = argv.length > 1 ? Integer.parseInt(argv[1]) : lineCount;
+        final int histogramRows = argv.length > 2 ? Integer.parseInt(argv[2]) : 8;
+
+        final Path itemFile = Files.createTempFile("armour-", ".txt");
+
+        try {
+            ItemFileGenerator.write(itemFile, lineCount, distinct, 0.0, 0.0, 330L);
+
+            final long empty = usedHeap();
+
+            Inventory inventory = buildInventory(itemFile, lineCount);
+            report("Inventory", inventory.utilizedSlots(), usedHeap() - empty, histogramRows);
+            inventory = null;
+
+            final ArmourTable table = buildTable(itemFile, lineCount);
+            report("ArmourTable", table.utilizedSlots(), usedHeap() - empty, histogramRows);
+        }
+        finally {
+            Files.deleteIfExists(itemFile);
+        }
+    }
+
+    /**
+     * Parse an item file (the same way Storage does) into an Inventory.
+     * The parsed list is unreachable once this returns.
+     */
+    private static Inventory buildInventory(final Path itemFile, final int size)
+        throws IOException
+    {
+        final Inventory inventory = new Inventory(size);
+        inventory.adoptAll(Storage.readItemsFromFile(itemFile.toString()), (item, stored) -> { });
+
+        return inventory;
+    }
+
+    /**
+     * Parse an item file into an ArmourTable.
+     */
+    private static ArmourTable buildTable(final Path itemFile, final int size)
+        throws IOException
+    {
+        final ArmourTable table = new ArmourTable(size);
+        final List<Item> items = Storage.readItemsFromFile(itemFile.toString());
+
+        for (final Item item : items) {
+            table.addItem((Armour) item);
+        }
+
+        return table;
+    }
+
+    /**
+     * Print the retained size of one layout and the top of the class
+     * histogram.
+     */
+    private static void report(
+        final String layout,
+        final int slots,
+        final long bytes,
+        final int histogramRows
+    )
+        throws JMException
+    {
+        System.out.printf(
+            "%-12s %9d slots %,14d bytes retained (%.1f bytes/slot)%n",
+            layout, slots, bytes, (double) bytes / slots
+        );
+
+        final String histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+            new ObjectName("com.sun.management:type=DiagnosticCommand"),
+            "gcClassHistogram",
+            new Object[] {null},
+            new String[] {String[].class.getName()}
+        );
+
+        final String[] lines = histogram.split("\\R");
+        for (int i = 0; i < Math.min(lines.length, histogramRows + 2); i++) {
+            System.out.println("    " + lines[i]);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Retrieve the used heap after a full GC.
+     */
+    private static long usedHeap()
+    {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+        }
+
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,133 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare answering Armour queries by scanning an Inventory with
+ * answering them through its {@link ArmourIndex}.
+ * <p>
+ * Every slot holds Armour whose attributes are drawn independently (so
+ * that conditions are not correlated):
+ * <ul>
+ *   <li>broad--fire armour with defense of at least 10 (about 11% of
+ *       slots)</li>
+ *   <li>selective--Diamond armour with Fortune and durability of at least
+ *       99 (about 0.04% of slots)</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ArmourIndexBenchmark
+{
+    private static final String[] MATERIALS = {
+        "Diamond", "Gold", "Iron", "Leather", "Stone", "Chainmail"
+    };
+
+    private static final String[] MODIFIERS = {
+        "Protection", "FeatherFalling", "Unbreaking", "Fortune", "Thorns"
+    };
+
+    private static final String[] ELEMENTS = {
+        "fire", "ice", "lightning", "earth", "none"
+    };
+
+    @Param({"10000", "1000000"})
+    public int slots;
+
+    @Param({"broad", "selective"})
+    public String query;
+
+    private Inventory inventory;
+
+    private ArmourIndex index;
+
+    @Setup(Level.Trial)
+    public void fill()
+    {
+        final Random rng = new Random(330L);
+
+        inventory = new Inventory(slots);
+
+        for (int i = 0; i < slots; i++) {
+            inventory.adoptItem(new Armour(
+                "Armour-" + i,
+                MATERIALS[rng.nextInt(MATERIALS.length)],
+                10 + rng.nextInt(90),
+                1 + rng.nextInt(20),
+                MODIFIERS[rng.nextInt(MODIFIERS.length)],
+                1 + rng.nextInt(5),
+                ELEMENTS[rng.nextInt(ELEMENTS.length)]
+            ));
+        }
+
+        index = inventory.armourIndex();
+    }
+
+    @Benchmark
+    public List<ItemStack> scan()
+    {
+        final boolean broad = "broad".equals(query);
+        final List<ItemStack> matches = new ArrayList<>();
+
+        for (ItemStack stack : inventory) {
+            if (!(stack.getItem() instanceof Armour)) {
+                continue;
+            }
+
+            final Armour piece = (Armour) stack.getItem();
+
+            final boolean match = broad
+                ? "fire".equals(piece.getElement()) && piece.getDefense() >= 10
+                : "Diamond".equals(piece.getMaterial())
+                    && "Fortune".equals(piece.getModifier())
+                    && piece.getDurability() >= 99;
+
+            if (match) {
+                matches.add(stack);
+            }
+        }
+
+        return matches;
+    }
+
+    @Benchmark
+    public List<ItemStack> indexed()
+    {
+        return this.indexQuery().list();
+    }
+
+    @Benchmark
+    public int indexedCount()
+    {
+        return this.indexQuery().count();
+    }
+
+    private ArmourIndex.Query indexQuery()
+    {
+        if ("broad".equals(query)) {
+            return index.query().element("fire").defense(10, Integer.MAX_VALUE);
+        }
+
+        return index.query().material("Diamond").modifier("Fortune").durability(99, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,95 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare loading *items* Items (drawn from *distinct* types, 90%
+ * stackable) into an empty Inventory one at a time vs. with addAll.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkInsertBenchmark
+{
+    @Param({"1000000"})
+    public int items;
+
+    @Param({"1000"})
+    public int distinct;
+
+    private List<Item> loadItems;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        final Item[] types = new Item[distinct];
+
+        for (int i = 0; i < distinct; i++) {
+            if (i % 10 == 0) {
+                types[i] = new Armour("Armour-" + i, "Steel", 10, 5, "None", 0, "earth");
+            }
+            else {
+                types[i] = new Consumable("Consumable-" + i, "Hunger-1", 1);
+            }
+        }
+
+        final Random random = new Random(42);
+        loadItems = new ArrayList<>(items);
+
+        for (int i = 0; i < items; i++) {
+            loadItems.add(types[random.nextInt(distinct)]);
+        }
+    }
+
+    @Benchmark
+    public Inventory addItemLoop()
+    {
+        final Inventory inventory = new Inventory(distinct);
+
+        for (Item item : loadItems) {
+            inventory.addItem(item);
+        }
+
+        return inventory;
+    }
+
+    @Benchmark
+    public Inventory adoptItemLoop()
+    {
+        final Inventory inventory = new Inventory(distinct);
+
+        for (Item item : loadItems) {
+            inventory.adoptItem(item);
+        }
+
+        return inventory;
+    }
+
+    @Benchmark
+    public Inventory addAll()
+    {
+        final Inventory inventory = new Inventory(distinct);
+        inventory.addAll(loadItems);
+
+        return inventory;
+    }
+}
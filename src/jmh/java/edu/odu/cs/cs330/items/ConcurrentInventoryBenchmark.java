@@ -0,0 +1,117 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare a shared ConcurrentInventory against an Inventory guarded by a
+ * single lock.
+ * <p>
+ * JMH takes the thread count from the command line--e.g., run with
+ * {@code -PjmhArgs="-t 1"}, {@code "-t 4"}, {@code "-t 16"} and
+ * {@code "-t 64"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentInventoryBenchmark
+{
+    /**
+     * One stack per thread (up to this many threads).
+     */
+    private static final int MAX_THREADS = 64;
+
+    private ConcurrentInventory concurrent;
+
+    private Inventory locked;
+
+    private Item[] perThreadItems;
+
+    private Item hotItem;
+
+    private final AtomicInteger nextThread = new AtomicInteger();
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        concurrent = new ConcurrentInventory(MAX_THREADS + 1);
+        locked     = new Inventory(MAX_THREADS + 1);
+
+        perThreadItems = new Item[MAX_THREADS];
+        for (int i = 0; i < MAX_THREADS; i++) {
+            perThreadItems[i] = new Consumable("Potion-" + i, "Heal-5", 1);
+        }
+
+        hotItem = new Consumable("Hot-Potion", "Spd*2", 1);
+    }
+
+    /**
+     * Per-thread choice of Item.
+     */
+    @State(Scope.Thread)
+    public static class ThreadItem
+    {
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp(ConcurrentInventoryBenchmark bench)
+        {
+            index = bench.nextThread.getAndIncrement() % MAX_THREADS;
+        }
+    }
+
+    /**
+     * Each thread merges into its own stack.
+     */
+    @Benchmark
+    public boolean concurrentDistinctStacks(ThreadItem thread)
+    {
+        return concurrent.adoptItem(perThreadItems[thread.index]);
+    }
+
+    /**
+     * Every thread merges into the same stack.
+     */
+    @Benchmark
+    public boolean concurrentHotStack()
+    {
+        return concurrent.adoptItem(hotItem);
+    }
+
+    /**
+     * Each thread merges into its own stack of a lock-guarded Inventory.
+     */
+    @Benchmark
+    public boolean lockedDistinctStacks(ThreadItem thread)
+    {
+        synchronized (locked) {
+            return locked.adoptItem(perThreadItems[thread.index]);
+        }
+    }
+
+    /**
+     * Every thread merges into the same stack of a lock-guarded Inventory.
+     */
+    @Benchmark
+    public boolean lockedHotStack()
+    {
+        synchronized (locked) {
+            return locked.adoptItem(hotItem);
+        }
+    }
+}
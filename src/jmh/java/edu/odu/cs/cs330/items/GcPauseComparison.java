@@ -0,0 +1,166 @@
+package edu.odu.cs.cs330.items;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * Compare GC pauses while an Inventory or an {@link OffHeapInventory} is
+ * filled by a sustained stream of inserts.
+ * <p>
+ * Every insert creates a new Item (as parsing an item file would) drawn
+ * from *distinct* names--Armour claims a slot, a Consumable merges into
+ * the first stack with its name. The pause of every collection
+ * (concurrent cycles excluded) is recorded through GC notifications.
+ * Run each layout in its own JVM so that neither inherits the other's
+ * heap:
+ * <pre>
+ *   GcPauseComparison inventory 5000000
+ *   GcPauseComparison offheap 5000000
+ * </pre>
+ * Usage: GcPauseComparison layout [inserts] [distinct-names]
+ */
+@SuppressWarnings({
+    "PMD.SystemPrintln",
+    "PMD.ClassNamingConventions"
+})
+public final class GcPauseComparison {
+    /**
+     * Utility class--no instances.
+     */
+    private GcPauseComparison()
+    {
+    }
+
+    /**
+     * Run the workload and report the pauses.
+     *
+     * @param argv layout ("inventory" or "offheap"), number of inserts and
+     *     distinct names
+     */
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    public static void main(final String[] argv)
+    {
+        if (argv.length < 1) {
+            System.err.println("Usage: GcPauseComparison inventory|offheap [inserts] [distinct]");
+            System.exit(1);
+        }
+
+        final String layout = argv[0];
+        final int inserts = argv.length > 1 ? Integer.parseInt(argv[1]) : 5_000_000;
+        final int distinct = argv.length > 2 ? Integer.parseInt(argv[2]) : 1000;
+
+        final List<Long> pauses = Collections.synchronizedList(new ArrayList<>());
+        listen(pauses);
+
+        final Random rng = new Random(330L);
+        final long start = System.nanoTime();
+        final int slots;
+
+        if ("offheap".equals(layout)) {
+            final OffHeapInventory inventory = new OffHeapInventory(inserts);
+
+            for (int i = 0; i < inserts; i++) {
+                inventory.addItem(nextItem(rng, distinct));
+            }
+            slots = inventory.utilizedSlots();
+        }
+        else {
+            final Inventory inventory = new Inventory(inserts);
+
+            for (int i = 0; i < inserts; i++) {
+                inventory.adoptItem(nextItem(rng, distinct));
+            }
+            slots = inventory.utilizedSlots();
+        }
+
+        final long elapsed = System.nanoTime() - start;
+
+        report(layout, inserts, slots, elapsed, pauses);
+    }
+
+    /**
+     * Create the next Item. Even ids are Consumables, odd ids Armour.
+     */
+    private static Item nextItem(final Random rng, final int distinct)
+    {
+        final int id = rng.nextInt(distinct);
+
+        if (id % 2 == 0) {
+            return new Consumable("Consumable-" + id, "Hunger-10", 1 + id % 10);
+        }
+
+        return new Armour(
+            "Armour-" + id, "Diamond", rng.nextInt(100), 1 + id % 20, "Protection", 1 + id % 5, "fire"
+        );
+    }
+
+    /**
+     * Record the duration of every stop-the-world collection in *pauses*.
+     */
+    private static void listen(final List<Long> pauses)
+    {
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener(
+                (notification, handback) -> {
+                    if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+                        .equals(notification.getType())) {
+                        return;
+                    }
+
+                    final GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+                        .from((CompositeData) notification.getUserData());
+
+                    if (!info.getGcName().contains("Concurrent")) {
+                        pauses.add(info.getGcInfo().getDuration());
+                    }
+                },
+                null,
+                null
+            );
+        }
+    }
+
+    /**
+     * Print the pause count, total, 99th percentile and maximum.
+     */
+    private static void report(
+        final String layout,
+        final int inserts,
+        final int slots,
+        final long elapsed,
+        final List<Long> pauses
+    )
+    {
+        final List<Long> sorted;
+        synchronized (pauses) {
+            sorted = new ArrayList<>(pauses);
+        }
+        Collections.sort(sorted);
+
+        long total = 0;
+        for (final long pause : sorted) {
+            total += pause;
+        }
+
+        final long p99 = sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(0.99 * sorted.size()) - 1);
+        final long max = sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1);
+
+        System.out.printf(
+            "%-10s %,d inserts, %,d slots in %.0f ms%n",
+            layout, inserts, slots, elapsed / 1_000_000.0
+        );
+        System.out.printf(
+            "  GC pauses: %d, total %d ms, p99 %d ms, max %d ms%n",
+            sorted.size(), total, p99, max
+        );
+    }
+}
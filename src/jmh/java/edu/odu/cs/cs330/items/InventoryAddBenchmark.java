@@ -0,0 +1,121 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure Inventory.addItems throughput once an Inventory already holds
+ * *slots* distinct ItemStacks.
+ * <p>
+ * Run with {@code -PjmhArgs="-prof gc"} to compare allocation between
+ * addItemLoop and adoptItemLoop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryAddBenchmark
+{
+    @Param({"10", "10000", "1000000"})
+    public int slots;
+
+    private Inventory inventory;
+
+    private Item[] loadItems;
+
+    private ItemStack lastStack;
+
+    private ItemStack missingStack;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        inventory = new Inventory(slots);
+
+        for (int i = 0; i < slots; i++) {
+            Consumable item = new Consumable();
+            item.setName("Item-" + i);
+
+            inventory.addItems(new ItemStack(item));
+        }
+
+        Consumable last = new Consumable();
+        last.setName("Item-" + (slots - 1));
+        lastStack = new ItemStack(last);
+
+        Consumable missing = new Consumable();
+        missing.setName("Not-In-Inventory");
+        missingStack = new ItemStack(missing);
+
+        loadItems = new Item[slots];
+        for (int i = 0; i < slots; i++) {
+            loadItems[i] = (i % 2 == 0) ? last : missing;
+        }
+    }
+
+    /**
+     * Merge into the most recently added slot (worst case for a scan).
+     */
+    @Benchmark
+    public boolean mergeIntoLastSlot()
+    {
+        return inventory.addItems(lastStack);
+    }
+
+    /**
+     * Attempt to add a new type to a full Inventory.
+     */
+    @Benchmark
+    public boolean rejectWhenFull()
+    {
+        return inventory.addItems(missingStack);
+    }
+
+    /**
+     * Load *slots* items (half merges, half rejections) one at a time.
+     */
+    @Benchmark
+    public int addItemLoop()
+    {
+        int added = 0;
+
+        for (Item item : loadItems) {
+            if (inventory.addItem(item)) {
+                added++;
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * Same as addItemLoop, but without the defensive Item copy.
+     */
+    @Benchmark
+    public int adoptItemLoop()
+    {
+        int added = 0;
+
+        for (Item item : loadItems) {
+            if (inventory.adoptItem(item)) {
+                added++;
+            }
+        }
+
+        return added;
+    }
+}
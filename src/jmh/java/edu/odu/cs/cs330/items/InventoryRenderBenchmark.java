@@ -0,0 +1,79 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.odu.cs.cs330.ItemFileGenerator;
+
+/**
+ * Measure Inventory.toString for full inventories of various sizes and
+ * Armour/Consumable mixes--both unchanged since the last call and after
+ * one Item has changed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryRenderBenchmark
+{
+    @Param({"10", "1000", "100000"})
+    public int slots;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double stackableRatio;
+
+    private Inventory inventory;
+
+    private Item firstItem;
+
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        inventory = new Inventory(slots);
+
+        // Every name appears (roughly) twice so stackable slots hold 2+.
+        for (String line : ItemFileGenerator.lines(slots * 2, slots, stackableRatio, 0.0, 330L)) {
+            inventory.addItem(ItemFactory.parseItemLine(new Scanner(line)));
+        }
+
+        firstItem = inventory.iterator().next().getItem();
+    }
+
+    @Benchmark
+    public String render()
+    {
+        return inventory.toString();
+    }
+
+    @Benchmark
+    public String renderAfterChange()
+    {
+        counter++;
+
+        if (firstItem instanceof Armour) {
+            ((Armour) firstItem).setDurability(counter);
+        }
+        else {
+            ((Consumable) firstItem).setNumberOfUses(counter);
+        }
+
+        return inventory.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare ways of computing report totals--total uses of Consumables,
+ * average defense per material and a histogram of elements--over an
+ * Inventory of half Consumables and half Armour:
+ * <ul>
+ *   <li>serialReport--the hand-written loop reports used to run</li>
+ *   <li>serialStatistics--{@link InventoryStatistics} over a sequential
+ *       stream</li>
+ *   <li>parallelUnsized--InventoryStatistics over a parallel stream of
+ *       the default Iterable spliterator (unknown size, split in
+ *       batches)</li>
+ *   <li>parallelStatistics--{@link Inventory#statistics()}</li>
+ * </ul>
+ * The parallel variants only pull ahead on a machine with more than one
+ * core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class InventoryStatisticsBenchmark
+{
+    private static final String[] MATERIALS = {
+        "Diamond", "Gold", "Iron", "Leather", "Stone", "Chainmail"
+    };
+
+    private static final String[] ELEMENTS = {
+        "fire", "ice", "lightning", "earth", "none"
+    };
+
+    @Param({"10000", "1000000"})
+    public int slots;
+
+    private Inventory inventory;
+
+    @Setup(Level.Trial)
+    public void fill()
+    {
+        final Random rng = new Random(330L);
+
+        inventory = new Inventory(slots);
+
+        for (int i = 0; i < slots; i++) {
+            if (rng.nextBoolean()) {
+                inventory.addItems(ItemStack.adopt(
+                    new Consumable("Potion-" + i, "Heal", 1 + rng.nextInt(10)),
+                    1 + rng.nextInt(64)
+                ));
+            }
+            else {
+                inventory.adoptItem(new Armour(
+                    "Armour-" + i,
+                    MATERIALS[rng.nextInt(MATERIALS.length)],
+                    10 + rng.nextInt(90),
+                    1 + rng.nextInt(20),
+                    "Thorns",
+                    1,
+                    ELEMENTS[rng.nextInt(ELEMENTS.length)]
+                ));
+            }
+        }
+    }
+
+    @Benchmark
+    public void serialReport(Blackhole blackhole)
+    {
+        long totalUses = 0;
+        final Map<String, long[]> defense = new HashMap<>();
+        final Map<String, Long> histogram = new HashMap<>();
+
+        for (ItemStack stack : inventory) {
+            final Item item = stack.getItem();
+
+            if (item instanceof Consumable) {
+                totalUses += (long) ((Consumable) item).getNumberOfUses() * stack.size();
+            }
+            else if (item instanceof Armour) {
+                final Armour piece = (Armour) item;
+
+                final long[] sumAndCount = defense.computeIfAbsent(piece.getMaterial(), key -> new long[2]);
+                sumAndCount[0] += piece.getDefense();
+                sumAndCount[1]++;
+
+                histogram.merge(piece.getElement(), 1L, Long::sum);
+            }
+        }
+
+        blackhole.consume(totalUses);
+        blackhole.consume(defense);
+        blackhole.consume(histogram);
+    }
+
+    @Benchmark
+    public InventoryStatistics serialStatistics()
+    {
+        return inventory.stream().collect(InventoryStatistics.collector());
+    }
+
+    @Benchmark
+    public InventoryStatistics parallelUnsized()
+    {
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(inventory.iterator(), Spliterator.ORDERED),
+            true
+        ).collect(InventoryStatistics.collector());
+    }
+
+    @Benchmark
+    public InventoryStatistics parallelStatistics()
+    {
+        return inventory.statistics();
+    }
+}
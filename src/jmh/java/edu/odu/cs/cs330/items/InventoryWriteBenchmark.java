@@ -0,0 +1,99 @@
+package edu.odu.cs.cs330.items;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.odu.cs.cs330.ItemFileGenerator;
+
+/**
+ * Compare printing a large Inventory with toString (one String holding
+ * the whole summary) against streaming it with writeTo.
+ * <p>
+ * Every invocation prints a freshly built Inventory, so no cached text is
+ * reused. Run with "-prof gc" to compare the bytes allocated per
+ * operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class InventoryWriteBenchmark
+{
+    @Param({"10000", "1000000"})
+    public int slots;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double stackableRatio;
+
+    private List<Item> items;
+
+    private Inventory inventory;
+
+    @Setup(Level.Trial)
+    public void parse()
+    {
+        items = new ArrayList<>(slots * 2);
+
+        // Every name appears (roughly) twice so stackable slots hold 2+.
+        for (String line : ItemFileGenerator.lines(slots * 2, slots, stackableRatio, 0.0, 330L)) {
+            items.add(ItemFactory.parseItemLine(new Scanner(line)));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void build()
+    {
+        inventory = new Inventory(slots);
+        inventory.addAll(items);
+    }
+
+    @Benchmark
+    public void toStringToWriter()
+        throws IOException
+    {
+        try (Writer out = new BufferedWriter(Writer.nullWriter(), 1 << 16)) {
+            out.write(inventory.toString());
+        }
+    }
+
+    @Benchmark
+    public void writeToWriter()
+        throws IOException
+    {
+        try (Writer out = new BufferedWriter(Writer.nullWriter(), 1 << 16)) {
+            inventory.writeTo(out);
+        }
+    }
+
+    @Benchmark
+    public void writeToChannel()
+        throws IOException
+    {
+        try (WritableByteChannel out = Channels.newChannel(OutputStream.nullOutputStream())) {
+            inventory.writeTo(out);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.odu.cs.cs330.ItemFileGenerator;
+
+/**
+ * Measure ItemFactory.parseItemLine over a block of generated lines--one
+ * Scanner per line (the original Storage.readItemsFromFile approach) and
+ * one ItemTokenizer over the whole block.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemFactoryBenchmark
+{
+    @Param({"1000", "100000"})
+    public int lineCount;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double stackableRatio;
+
+    @Param({"0.1"})
+    public double unknownRatio;
+
+    private List<String> lines;
+
+    private String block;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        lines = ItemFileGenerator.lines(lineCount, 1000, stackableRatio, unknownRatio, 330L);
+        block = String.join("\n", lines);
+    }
+
+    @Benchmark
+    public void parseItemLineScanner(Blackhole bh)
+    {
+        for (String line : lines) {
+            bh.consume(ItemFactory.parseItemLine(new Scanner(line)));
+        }
+    }
+
+    @Benchmark
+    public void parseItemLineTokenizer(Blackhole bh)
+    {
+        ItemTokenizer tokens = new ItemTokenizer(block);
+
+        while (tokens.nextLine()) {
+            bh.consume(ItemFactory.parseItemLine(tokens));
+        }
+    }
+}
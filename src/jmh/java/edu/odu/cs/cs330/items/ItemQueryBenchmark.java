@@ -0,0 +1,97 @@
+package edu.odu.cs.cs330.items;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.odu.cs.cs330.ItemFileGenerator;
+import edu.odu.cs.cs330.Storage;
+
+/**
+ * Compare a selective {@link ItemQuery} over an item file--Armour with
+ * element "none" and durability of at least 99, about 0.5% of the
+ * lines--run three ways:
+ * <ul>
+ *   <li>loadThenFilter--read every Item into a list, then filter</li>
+ *   <li>streamThenFilter--stream every Item, filtering as they are
+ *       parsed</li>
+ *   <li>pushdown--check the conditions while tokenizing; only matching
+ *       lines become Items</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemQueryBenchmark
+{
+    @Param({"1000000", "10000000"})
+    public int lineCount;
+
+    private Path itemFile;
+
+    private ItemQuery query;
+
+    @Setup(Level.Trial)
+    public void writeFile()
+        throws IOException
+    {
+        itemFile = Files.createTempFile("query-", ".txt");
+        ItemFileGenerator.write(itemFile, lineCount, 100_000, 0.5, 0.01, 330L);
+
+        query = ItemQuery.armour().element("none").durability(99, Integer.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile()
+        throws IOException
+    {
+        Files.deleteIfExists(itemFile);
+    }
+
+    @Benchmark
+    public long loadThenFilter()
+        throws IOException
+    {
+        return Storage.readItemsFromFile(itemFile.toString())
+            .stream()
+            .filter(query::test)
+            .count();
+    }
+
+    @Benchmark
+    public long streamThenFilter()
+        throws IOException
+    {
+        try (Stream<Item> items = Storage.streamItemsFromFile(itemFile.toString(), null)) {
+            return items.filter(query::test).count();
+        }
+    }
+
+    @Benchmark
+    public long pushdown()
+        throws IOException
+    {
+        try (Stream<ItemStack> stacks = query.select(itemFile)) {
+            return stacks.count();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure ItemFactory keyword lookup with 5 (built-in) and 500 registered
+ * types. Each parameter value runs in its own fork, so registrations do
+ * not leak between them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRegistryBenchmark
+{
+    private static final int BUILT_IN_TYPES = 5;
+
+    @Param({"5", "500"})
+    public int registeredTypes;
+
+    /**
+     * A keyword registered last (the worst case for a linear scan).
+     */
+    private String lastKeyword;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        lastKeyword = "Disposable";
+
+        for (int i = BUILT_IN_TYPES; i < registeredTypes; i++) {
+            lastKeyword = "Type-" + i;
+            ItemFactory.register(lastKeyword, Consumable::new);
+        }
+    }
+
+    @Benchmark
+    public Item createKnown()
+    {
+        return ItemFactory.createItem(lastKeyword);
+    }
+
+    @Benchmark
+    public boolean isKnownMiss()
+    {
+        return ItemFactory.isKnown("LOLNOTAVALIDITEM");
+    }
+}
@@ -0,0 +1,55 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure ItemStack.clone (and therefore Item.clone) for each Item type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemStackBenchmark
+{
+    private ItemStack armourStack;
+
+    private ItemStack consumableStack;
+
+    @Setup
+    public void setUp()
+    {
+        Armour boots = new Armour();
+        boots.read(new Scanner("Boots Diamond 100 10 FeatherFalling 4 lightning"));
+        armourStack = new ItemStack(boots);
+
+        Consumable tomato = new Consumable();
+        tomato.read(new Scanner("Tomato Hunger-10 2"));
+        consumableStack = new ItemStack(tomato, 5);
+    }
+
+    @Benchmark
+    public ItemStack cloneArmourStack()
+    {
+        return armourStack.clone();
+    }
+
+    @Benchmark
+    public ItemStack cloneConsumableStack()
+    {
+        return consumableStack.clone();
+    }
+}
@@ -0,0 +1,73 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Many threads updating one hot stack: ConcurrentItemStack (CAS) versus an
+ * ItemStack guarded by synchronized.
+ * <p>
+ * Run with {@code -PjmhArgs="-t N"} to choose the thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemStackContentionBenchmark
+{
+    private ConcurrentItemStack atomicStack;
+
+    private ItemStack lockedStack;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        Consumable potion = new Consumable("Hot-Potion", "Spd*2", 1);
+
+        atomicStack = new ConcurrentItemStack(potion, 0);
+        lockedStack = new ItemStack(potion, 0);
+    }
+
+    @Benchmark
+    public boolean atomicAddTake()
+    {
+        atomicStack.addItems(1);
+        return atomicStack.tryTake(1);
+    }
+
+    @Benchmark
+    public boolean synchronizedAddTake()
+    {
+        synchronized (lockedStack) {
+            lockedStack.addItems(1);
+            return lockedStack.tryTake(1);
+        }
+    }
+
+    @Benchmark
+    public int atomicSize()
+    {
+        return atomicStack.size();
+    }
+
+    @Benchmark
+    public int synchronizedSize()
+    {
+        synchronized (lockedStack) {
+            return lockedStack.size();
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package edu.odu.cs.cs330;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.InputMismatchException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.odu.cs.cs330.items.Inventory;
+import edu.odu.cs.cs330.items.Item;
+import edu.odu.cs.cs330.items.SymbolTable;
+
+/**
+ * Process many item files in one JVM. Each file is read into its own
+ * Inventory concurrently--on virtual threads when the runtime provides
+ * them (Java 21+), otherwise on a pool with one thread per processor.
+ * <p>
+ * The output of each file (the same text Storage writes for a single
+ * file) is written in input order as soon as that file--and every file
+ * before it--is done, followed by a timing report. Only a few files per
+ * processor are in progress (or waiting to be written) at any time. A file that can not be
+ * read or parsed is reported as failed; the other files are unaffected.
+ */
+@SuppressWarnings({
+    "PMD.LawOfDemeter",
+    "PMD.ClassNamingConventions"
+})
+public final class BatchStorage {
+    /**
+     * This is a utility class (all static functions). No instances should ever
+     * be instantiated.
+     */
+    private BatchStorage()
+    {
+
+    }
+
+    /**
+     * Outcome of processing one file.
+     */
+    private static final class FileResult {
+        /**
+         * File that was processed.
+         */
+        final Path file;
+
+        /**
+         * Processing log and Inventory summary (null on failure and once
+         * the text has been written).
+         */
+        String output;
+
+        /**
+         * Reason the file failed (or null on success).
+         */
+        final String error;
+
+        /**
+         * Number of Items read.
+         */
+        final int items;
+
+        /**
+         * Wall-clock time spent on this file.
+         */
+        final long nanos;
+
+        FileResult(
+            final Path source,
+            final String text,
+            final String reason,
+            final int count,
+            final long elapsed
+        )
+        {
+            this.file   = source;
+            this.output = text;
+            this.error  = reason;
+            this.items  = count;
+            this.nanos  = elapsed;
+        }
+    }
+
+    /**
+     * Process every item file named by *inputs*.
+     *
+     * @param inputs item files and/or directories (every regular file in a
+     *     directory is processed, in name order)
+     * @param size desired number of Inventory slots
+     * @param mode how much of each processing log to write
+     * @param symbols table shared by all files to deduplicate Strings (or
+     *     null)
+     * @param out destination for all output
+     *
+     * @return number of files that could not be read or parsed
+     *
+     * @throws IOException if a directory can not be listed
+     */
+    public static int run(
+        final List<String> inputs,
+        final int size,
+        final Storage.LogMode mode,
+        final SymbolTable symbols,
+        final PrintWriter out
+    )
+        throws IOException
+    {
+        final List<Path> files = listFiles(inputs);
+
+        final long start = System.nanoTime();
+        final List<FileResult> results = new ArrayList<>(files.size());
+        final ExecutorService executor = newExecutor();
+        int failed = 0;
+
+        try {
+            // Keep at most a few files per processor in flight, so the
+            // text of files finished ahead of the writer stays bounded.
+            final int window = 2 * Runtime.getRuntime().availableProcessors();
+            final Deque<Future<FileResult>> pending = new ArrayDeque<>(window);
+            final Iterator<Path> next = files.iterator();
+
+            while (true) {
+                while (next.hasNext() && pending.size() < window) {
+                    final Path file = next.next();
+
+                    pending.add(executor.submit(() -> process(file, size, mode, symbols)));
+                }
+
+                final Future<FileResult> result = pending.poll();
+
+                if (result == null) {
+                    break;
+                }
+
+                // Write each file as soon as it is done (in input order)
+                // and drop its text--only the timings are kept for the
+                // report.
+                final FileResult done = join(result);
+
+                if (done.error != null) {
+                    failed++;
+                }
+
+                write(done, out);
+                done.output = null;
+                results.add(done);
+            }
+        }
+        catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while processing batch", e);
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        final long elapsed = System.nanoTime() - start;
+
+        writeReport(results, failed, elapsed, out);
+
+        return failed;
+    }
+
+    /**
+     * Write the output (or error) of one file.
+     */
+    private static void write(final FileResult result, final PrintWriter out)
+    {
+        out.print("==> ");
+        out.print(result.file);
+        out.println(" <==");
+
+        if (result.error != null) {
+            out.print("Error: ");
+            out.print(result.file);
+            out.print(' ');
+            out.println(result.error);
+            out.println();
+        }
+        else {
+            out.print(result.output);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Read one file, build its Inventory and render the result. A file
+     * that can not be read, or that holds a malformed line, yields a failed
+     * result rather than an exception.
+     */
+    private static FileResult process(
+        final Path file,
+        final int size,
+        final Storage.LogMode mode,
+        final SymbolTable symbols
+    )
+    {
+        final long start = System.nanoTime();
+        final StringWriter text = new StringWriter();
+
+        try (PrintWriter out = new PrintWriter(text)) {
+            final List<Item> itemsToStore = Storage.readItemsFromFile(file.toString(), symbols);
+            final Inventory inv = Storage.createInventoryAdopting(itemsToStore, size, out, mode);
+
+            out.println("Player Storage Summary:");
+            inv.writeTo(out);
+            out.println();
+            out.flush();
+
+            return new FileResult(file, text.toString(), null, itemsToStore.size(), System.nanoTime() - start);
+        }
+        catch (IOException | UncheckedIOException e) {
+            return new FileResult(file, null, "could not be opened or read", 0, System.nanoTime() - start);
+        }
+        catch (InputMismatchException e) {
+            final String found = e.getMessage() == null ? "" : ", found \"" + e.getMessage() + "\"";
+
+            return new FileResult(
+                file, null, "is malformed (expected a number" + found + ")", 0, System.nanoTime() - start
+            );
+        }
+        catch (NoSuchElementException e) {
+            return new FileResult(
+                file, null, "is malformed (a line ends early)", 0, System.nanoTime() - start
+            );
+        }
+    }
+
+    /**
+     * Write the time taken by each file and by the whole batch.
+     */
+    private static void writeReport(
+        final List<FileResult> results,
+        final int failed,
+        final long elapsed,
+        final PrintWriter out
+    )
+    {
+        long items = 0;
+        long busy  = 0;
+
+        out.println("Batch Timing Report:");
+
+        for (final FileResult result : results) {
+            items += result.items;
+            busy  += result.nanos;
+
+            out.printf(" %10.3f ms  %9d items  %s%n", millis(result.nanos), result.items, result.file);
+        }
+
+        out.printf(" Files:   %d (%d failed)%n", results.size(), failed);
+        out.printf(" Items:   %d%n", items);
+        out.printf(" Elapsed: %.3f ms (%.3f ms summed over files)%n", millis(elapsed), millis(busy));
+        out.println();
+    }
+
+    /**
+     * Convert nanoseconds to milliseconds.
+     */
+    private static double millis(final long nanos)
+    {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Expand directories into the regular files they contain.
+     *
+     * @param inputs item files and/or directories
+     *
+     * @return files to process, in order
+     *
+     * @throws IOException if a directory can not be listed
+     */
+    public static List<Path> listFiles(final List<String> inputs)
+        throws IOException
+    {
+        final List<Path> files = new ArrayList<>();
+
+        for (final String input : inputs) {
+            final Path path = Paths.get(input);
+
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> entries = Files.list(path)) {
+                    files.addAll(
+                        entries.filter(Files::isRegularFile)
+                            .sorted()
+                            .collect(Collectors.toList())
+                    );
+                }
+            }
+            else {
+                files.add(path);
+            }
+        }
+
+        return files;
+    }
+
+    /**
+     * Create an executor with one virtual thread per task if the runtime
+     * supports them, otherwise a pool with one thread per processor.
+     *
+     * @return new executor (the caller must shut it down)
+     */
+    public static ExecutorService newExecutor()
+    {
+        try {
+            // Executors.newVirtualThreadPerTaskExecutor() exists on Java 21+
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            return (ExecutorService) factory.invoke(null);
+        }
+        catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /**
+     * Wait for a file and unwrap any failure.
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private static FileResult join(final Future<FileResult> result)
+        throws InterruptedException
+    {
+        try {
+            return result.get();
+        }
+        catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
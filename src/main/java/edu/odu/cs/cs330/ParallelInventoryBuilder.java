@@ -0,0 +1,320 @@
+package edu.odu.cs.cs330;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import edu.odu.cs.cs330.items.Inventory;
+import edu.odu.cs.cs330.items.Item;
+import edu.odu.cs.cs330.items.ItemStack;
+
+/**
+ * Build an Inventory from a large list of Items in parallel.
+ * <p>
+ * The list is split into chunks. Each chunk is tallied on a fork-join pool
+ * (first occurrence and count of every Item name, plus the positions at
+ * which a slot would be claimed). The tallies are then merged in list
+ * order to find the slots, their quantities and the position at which the
+ * Inventory fills. The result--slot order, quantities and the success of
+ * every Item--is identical to adding the Items one at a time with
+ * {@link Inventory#adoptItem(Item)}.
+ * <p>
+ * Chunks read the list by position, so a list without fast random access
+ * (e.g., a LinkedList) is copied into an ArrayList first.
+ */
+@SuppressWarnings({
+    "PMD.LawOfDemeter",
+    "PMD.AvoidLiteralsInIfCondition"
+})
+public class ParallelInventoryBuilder {
+    /**
+     * Default number of Items per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Pool on which chunks are tallied.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Number of Items per chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * Build using the common fork-join pool and the default chunk size.
+     */
+    public ParallelInventoryBuilder()
+    {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Build using a specific pool and chunk size.
+     *
+     * @param workers pool on which chunks are tallied
+     * @param itemsPerChunk number of Items per chunk
+     */
+    public ParallelInventoryBuilder(final ForkJoinPool workers, final int itemsPerChunk)
+    {
+        if (itemsPerChunk < 1) {
+            throw new IllegalArgumentException("chunk size must be positive");
+        }
+
+        this.pool      = workers;
+        this.chunkSize = itemsPerChunk;
+    }
+
+    /**
+     * First occurrence and count of one Item name.
+     */
+    private static final class Tally {
+        /**
+         * Position of the first Item with this name.
+         */
+        final int first;
+
+        /**
+         * Is the first Item with this name stackable?
+         */
+        final boolean stackable;
+
+        /**
+         * Number of Items with this name.
+         */
+        int count;
+
+        Tally(final int position, final boolean canStack)
+        {
+            this.first     = position;
+            this.stackable = canStack;
+        }
+    }
+
+    /**
+     * Tallies for one chunk.
+     */
+    private static final class Partial {
+        /**
+         * Tally of each Item name in the chunk.
+         */
+        final Map<String, Tally> tallies = new HashMap<>();
+
+        /**
+         * Positions (in order) that would claim a slot if no earlier chunk
+         * held the same name: the first occurrence of each stackable name
+         * and every occurrence of a non-stackable one.
+         */
+        int[] claims = new int[16];
+
+        /**
+         * Number of valid entries in *claims*.
+         */
+        int claimCount;
+
+        /**
+         * Does some name appear as both stackable and non-stackable?
+         */
+        boolean mixed;
+
+        void addClaim(final int position)
+        {
+            if (this.claimCount == this.claims.length) {
+                this.claims = Arrays.copyOf(this.claims, this.claimCount * 2);
+            }
+
+            this.claims[this.claimCount++] = position;
+        }
+    }
+
+    /**
+     * Place Items into a new Inventory. The Inventory adopts (rather than
+     * copies) each stored Item.
+     *
+     * @param itemList items to place into the inventory
+     * @param size desired number of Inventory slots
+     * @param results receives each Item, in order, and whether it was
+     *     stored
+     *
+     * @return initialized Inventory
+     */
+    public Inventory build(
+        final List<Item> itemList,
+        final int size,
+        final BiConsumer<Item, Boolean> results
+    )
+    {
+        final List<Item> itemsToStore = itemList instanceof RandomAccess
+            ? itemList
+            : new ArrayList<>(itemList);
+
+        final int total = itemsToStore.size();
+        final List<Callable<Partial>> tasks = new ArrayList<>();
+
+        for (int start = 0; start < total; start += this.chunkSize) {
+            final int lo = start;
+            final int hi = Math.min(total, start + this.chunkSize);
+
+            tasks.add(() -> tally(itemsToStore, lo, hi));
+        }
+
+        final List<Partial> parts = new ArrayList<>(tasks.size());
+        for (final Future<Partial> part : this.pool.invokeAll(tasks)) {
+            parts.add(join(part));
+        }
+
+        // Merge in list order--the earliest chunk holding a name wins.
+        final Map<String, Tally> tallies = new HashMap<>();
+        boolean mixed = false;
+
+        for (final Partial part : parts) {
+            mixed |= part.mixed;
+
+            for (final Map.Entry<String, Tally> entry : part.tallies.entrySet()) {
+                final Tally tally = entry.getValue();
+                final Tally known = tallies.putIfAbsent(entry.getKey(), tally);
+
+                if (known != null) {
+                    known.count += tally.count;
+                    mixed |= known.stackable != tally.stackable;
+                }
+            }
+        }
+
+        if (mixed) {
+            // Same name, different stacking rules--the merge order decides
+            // the outcome, so fall back to adding one at a time.
+            final Inventory inventory = new Inventory(size);
+            inventory.adoptAll(itemsToStore, results);
+
+            return inventory;
+        }
+
+        // Slots go to the first *size* claims--every claim after that (the
+        // cut-off) is discarded.
+        final List<Item> slotItems = new ArrayList<>(Math.max(0, Math.min(size, total)));
+        int cutoff = total;
+
+        search:
+        for (final Partial part : parts) {
+            for (int i = 0; i < part.claimCount; i++) {
+                final int position = part.claims[i];
+                final Item item = itemsToStore.get(position);
+                final Tally tally = tallies.get(item.getName());
+
+                if (tally.stackable && tally.first != position) {
+                    continue;
+                }
+
+                // A capacity of zero (or less) leaves no slot to claim.
+                if (slotItems.size() >= size) {
+                    cutoff = position;
+                    break search;
+                }
+
+                slotItems.add(item);
+            }
+        }
+
+        final Inventory inventory = new Inventory(size);
+        inventory.adoptAll(slotItems, (item, stored) -> { });
+
+        for (final ItemStack stack : inventory) {
+            final Tally tally = tallies.get(stack.getItem().getName());
+
+            if (tally.stackable) {
+                stack.addItems(tally.count - 1);
+            }
+        }
+
+        // An Item is stored if its slot was claimed before the cut-off.
+        final boolean[] stored = new boolean[total];
+        final int lastSlot = cutoff;
+        final List<Callable<Partial>> checks = new ArrayList<>(tasks.size());
+
+        for (int start = 0; start < total; start += this.chunkSize) {
+            final int lo = start;
+            final int hi = Math.min(total, start + this.chunkSize);
+
+            checks.add(() -> {
+                for (int position = lo; position < hi; position++) {
+                    final Tally tally = tallies.get(itemsToStore.get(position).getName());
+
+                    stored[position] = (tally.stackable ? tally.first : position) < lastSlot;
+                }
+                return null;
+            });
+        }
+
+        for (final Future<Partial> check : this.pool.invokeAll(checks)) {
+            join(check);
+        }
+
+        for (int position = 0; position < total; position++) {
+            results.accept(itemsToStore.get(position), stored[position]);
+        }
+
+        return inventory;
+    }
+
+    /**
+     * Tally the Items in positions [lo, hi).
+     */
+    private static Partial tally(final List<Item> items, final int lo, final int hi)
+    {
+        final Partial part = new Partial();
+
+        for (int position = lo; position < hi; position++) {
+            final Item item = items.get(position);
+            final boolean stackable = item.isStackable();
+
+            Tally tally = part.tallies.get(item.getName());
+
+            if (tally == null) {
+                tally = new Tally(position, stackable);
+                part.tallies.put(item.getName(), tally);
+                part.addClaim(position);
+            }
+            else if (!stackable) {
+                part.addClaim(position);
+            }
+
+            tally.count++;
+            part.mixed |= tally.stackable != stackable;
+        }
+
+        return part;
+    }
+
+    /**
+     * Wait for a chunk and unwrap any failure.
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private static Partial join(final Future<Partial> part)
+    {
+        try {
+            return part.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while building inventory", e);
+        }
+        catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package edu.odu.cs.cs330;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import edu.odu.cs.cs330.items.Item;
+import edu.odu.cs.cs330.items.ItemFactory;
+import edu.odu.cs.cs330.items.ItemTokenizer;
+import edu.odu.cs.cs330.items.SymbolTable;
+
+/**
+ * Read large item files in parallel.
+ * <p>
+ * The file is split into chunks that end on line boundaries. Each chunk is
+ * memory-mapped and parsed on a fork-join pool, then the per-chunk results
+ * are concatenated in file order. The resulting list is identical to the
+ * one produced by {@link Storage#readItemsFromFile(String)}.
+ */
+@SuppressWarnings({
+    "PMD.LawOfDemeter",
+    "PMD.AvoidLiteralsInIfCondition"
+})
+public class ParallelItemReader {
+    /**
+     * Default (target) chunk size in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    /**
+     * Number of bytes examined at a time while searching for a newline.
+     */
+    private static final int SCAN_SIZE = 8192;
+
+    /**
+     * Pool on which chunks are parsed.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Target number of bytes per chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * Optional table used to deduplicate Item Strings (may be null).
+     */
+    private final SymbolTable symbols;
+
+    /**
+     * Read using the common fork-join pool and the default chunk size.
+     */
+    public ParallelItemReader()
+    {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Read using a specific pool and chunk size.
+     *
+     * @param workers pool on which chunks are parsed
+     * @param bytesPerChunk target chunk size (chunks are extended to the
+     *     end of the line on which they would otherwise stop)
+     */
+    public ParallelItemReader(final ForkJoinPool workers, final int bytesPerChunk)
+    {
+        this(workers, bytesPerChunk, null);
+    }
+
+    /**
+     * Read using a specific pool and chunk size, deduplicating Item Strings
+     * through a shared symbol table.
+     *
+     * @param workers pool on which chunks are parsed
+     * @param bytesPerChunk target chunk size
+     * @param table symbol table shared by all chunks (or null)
+     */
+    public ParallelItemReader(
+        final ForkJoinPool workers,
+        final int bytesPerChunk,
+        final SymbolTable table
+    )
+    {
+        if (bytesPerChunk < 1) {
+            throw new IllegalArgumentException("chunk size must be positive");
+        }
+
+        this.pool      = workers;
+        this.chunkSize = bytesPerChunk;
+        this.symbols   = table;
+    }
+
+    /**
+     * Read an item file and generate a collection of Items.
+     *
+     * @param file source from which to read Items
+     *
+     * @return initialized list of Items (in file order)
+     *
+     * @throws IOException if an input error occurs
+     */
+    public List<Item> read(final Path file)
+        throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long[] bounds = this.chunkBoundaries(channel);
+            final List<Callable<List<Item>>> tasks = new ArrayList<>(bounds.length - 1);
+
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                final long start = bounds[i];
+                final long end   = bounds[i + 1];
+
+                tasks.add(() -> this.parseChunk(channel, start, end));
+            }
+
+            final List<List<Item>> parts = new ArrayList<>(tasks.size());
+            int total = 0;
+
+            for (final Future<List<Item>> part : this.pool.invokeAll(tasks)) {
+                final List<Item> items = join(part);
+
+                parts.add(items);
+                total += items.size();
+            }
+
+            final List<Item> itemsToStore = new ArrayList<>(total);
+            for (final List<Item> items : parts) {
+                itemsToStore.addAll(items);
+            }
+
+            return itemsToStore;
+        }
+    }
+
+    /**
+     * Split the file into chunks that each end just after a newline (or at
+     * the end of the file).
+     *
+     * @return chunk offsets--chunk i spans [bounds[i], bounds[i + 1])
+     */
+    private long[] chunkBoundaries(final FileChannel channel)
+        throws IOException
+    {
+        final long size = channel.size();
+        final List<Long> bounds = new ArrayList<>();
+        final ByteBuffer window = ByteBuffer.allocate(SCAN_SIZE);
+
+        bounds.add(0L);
+
+        long previous = 0;
+        while (previous < size) {
+            long next = previous + this.chunkSize;
+
+            if (next >= size) {
+                next = size;
+            }
+            else {
+                next = nextLineStart(channel, next - 1, window);
+            }
+
+            bounds.add(next);
+            previous = next;
+        }
+
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Find the offset just past the first newline at or after *from*.
+     *
+     * @return offset of the next line, or the file size if none remains
+     */
+    private static long nextLineStart(
+        final FileChannel channel,
+        final long from,
+        final ByteBuffer window
+    )
+        throws IOException
+    {
+        long pos = from;
+
+        while (true) {
+            window.clear();
+
+            final int count = channel.read(window, pos);
+            if (count < 0) {
+                return channel.size();
+            }
+
+            for (int i = 0; i < count; i++) {
+                if (window.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+
+            pos += count;
+        }
+    }
+
+    /**
+     * Map and parse one chunk.
+     */
+    private List<Item> parseChunk(
+        final FileChannel channel,
+        final long start,
+        final long end
+    )
+        throws IOException
+    {
+        final MappedByteBuffer bytes = channel.map(
+            FileChannel.MapMode.READ_ONLY, start, end - start
+        );
+
+        // FileReader (used by the sequential path) decodes with the
+        // default charset--so must we.
+        final CharBuffer chars = Charset.defaultCharset().decode(bytes);
+        final List<Item> items = new ArrayList<>();
+
+        final ItemTokenizer tokens = new ItemTokenizer(new CharArrayReader(
+            chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()
+        ));
+        tokens.setSymbolTable(this.symbols);
+
+        while (tokens.nextLine()) {
+            final Item item = ItemFactory.parseItemLine(tokens);
+
+            if (item != null) {
+                items.add(item);
+            }
+        }
+
+        return items;
+    }
+
+    /**
+     * Wait for a chunk and unwrap any failure.
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private static List<Item> join(final Future<List<Item>> part)
+        throws IOException
+    {
+        try {
+            return part.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while reading items", e);
+        }
+        catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -1,15 +1,30 @@
 package edu.odu.cs.cs330;
 
+import java.io.BufferedWriter;
 import java.io.FileReader;
-import java.io.BufferedReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.io.IOException;
-import java.util.Scanner;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import edu.odu.cs.cs330.items.Item;
 import edu.odu.cs.cs330.items.ItemFactory;
+import edu.odu.cs.cs330.items.ItemTokenizer;
+import edu.odu.cs.cs330.items.SymbolTable;
 import edu.odu.cs.cs330.items.ItemStack;
 import edu.odu.cs.cs330.items.Inventory;
 
@@ -36,6 +51,37 @@ public final class Storage {
 
     }
 
+    /**
+     * How much of the processing log createInventory writes.
+     */
+    public enum LogMode {
+        /** One " (S) name" or " (D) name" line per Item. */
+        FULL,
+
+        /** Only the number of stored and discarded Items. */
+        SUMMARY,
+
+        /** Nothing. */
+        NONE
+    }
+
+    /**
+     * Size (in chars) of the buffer through which all output is written.
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Item files at least this large (in bytes) are read with a
+     * {@link ParallelItemReader}.
+     */
+    public static final long PARALLEL_READ_THRESHOLD = 64L << 20;
+
+    /**
+     * Lists of at least this many Items are placed into an Inventory with
+     * a {@link ParallelInventoryBuilder}.
+     */
+    public static final int PARALLEL_BUILD_THRESHOLD = 1 << 18;
+
     /**
      * Parse the inventory size from the command line arguments. If no size was
      * provided or the provided size is not valid use
@@ -48,13 +94,25 @@ public final class Storage {
         "PMD.AvoidLiteralsInIfCondition"
     })
     public static int getInventorySize(final String[] args)
+    {
+        return parseInventorySize(args.length > 1 ? args[1] : null);
+    }
+
+    /**
+     * Parse an inventory size. If no size was provided or the provided size
+     * is not valid use {@link edu.odu.cs.cs330.items.Inventory#DEFAULT_SIZE}
+     *
+     * @param sizeArg requested size (may be null)
+     */
+    @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+    public static int parseInventorySize(final String sizeArg)
     {
         int size = 0;
 
         try {
-            size = Integer.parseInt(args[1]);
+            size = Integer.parseInt(sizeArg);
         }
-        catch (IndexOutOfBoundsException | NumberFormatException e) {
+        catch (NumberFormatException e) {
             size = Inventory.DEFAULT_SIZE;
         }
 
@@ -76,29 +134,192 @@ public final class Storage {
     })
     public static void main(final String[] argv)
     {
-        if (argv.length < 1) {
-            System.err.println("Usage: java -jar Storage.jar items-file");
+        final String[] args = positionalArgs(argv);
+
+        if (args.length < 1) {
+            System.err.println(
+                "Usage: java -jar Storage.jar [--intern] [--stream] "
+                + "[--log=full|summary|none] items-file [size]"
+            );
+            System.err.println(
+                "       java -jar Storage.jar --batch [--intern] [--size=n] "
+                + "[--log=full|summary|none] items-file-or-dir..."
+            );
             System.exit(1);
         }
 
-        List<Item> itemsToStore = null;
+        final LogMode logMode = getLogMode(argv);
+        final PrintWriter out = new PrintWriter(
+            new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE)
+        );
+
+        final SymbolTable symbols = hasOption(argv, "--intern") ? new SymbolTable() : null;
+
+        if (hasOption(argv, "--batch")) {
+            runBatch(argv, args, logMode, symbols, out);
+            return;
+        }
+
+        final int invSize = getInventorySize(args);
+
+        Inventory inv = null;
         try {
-            itemsToStore = Storage.readItemsFromFile(argv[0]);
+            if (hasOption(argv, "--stream")) {
+                // Items flow straight from the file into the Inventory
+                try (Stream<Item> itemsToStore = Storage.streamItemsFromFile(args[0], symbols)) {
+                    inv = createInventoryAdopting(itemsToStore::iterator, invSize, out, logMode);
+                }
+            }
+            else {
+                final List<Item> itemsToStore = Storage.readItemsFromFile(args[0], symbols);
+                inv = createInventoryAdopting(itemsToStore, invSize, out, logMode);
+            }
+        }
+        catch (IOException | UncheckedIOException e) {
+            out.flush();
+            System.err.printf("Error: %s could not be opened or read%n", args[0]);
+            System.exit(3);
+        }
+
+        out.println("Player Storage Summary:");
+        try {
+            // Written slot by slot--the summary is never one large String
+            inv.writeTo(out);
         }
         catch (IOException e) {
-            System.err.printf("Error: %s could not be opened or read%n", argv[0]);
+            // A PrintWriter never throws (see checkError)
+            throw new UncheckedIOException(e);
+        }
+        out.println();
+        out.flush();
+
+        if (symbols != null) {
+            System.err.printf("Interned strings: %s%n", symbols);
+        }
+    }
+
+    /**
+     * Process every file (or directory of files) named on the command line
+     * with {@link BatchStorage}, then exit with status 3 if any file could
+     * not be read.
+     *
+     * @param argv command line arguments
+     * @param args positional arguments--the files and directories
+     * @param logMode how much of each processing log to write
+     * @param symbols table used to deduplicate Strings (or null)
+     * @param out destination for all output
+     */
+    private static void runBatch(
+        final String[] argv,
+        final String[] args,
+        final LogMode logMode,
+        final SymbolTable symbols,
+        final PrintWriter out
+    )
+    {
+        final int invSize = parseInventorySize(getOptionValue(argv, "--size="));
+        int failed = 0;
+
+        try {
+            failed = BatchStorage.run(Arrays.asList(args), invSize, logMode, symbols, out);
+        }
+        catch (IOException e) {
+            out.flush();
+            System.err.printf("Error: %s%n", e.getMessage());
             System.exit(3);
         }
 
-        final int invSize = getInventorySize(argv);
-        final Inventory inv = createInventory(itemsToStore, invSize);
+        out.flush();
+
+        if (symbols != null) {
+            System.err.printf("Interned strings: %s%n", symbols);
+        }
+
+        if (failed > 0) {
+            System.exit(3);
+        }
+    }
+
+    /**
+     * Retrieve the value of an option of the form "--name=value".
+     *
+     * @param argv command line arguments
+     * @param prefix option name, including the "=" (e.g., "--size=")
+     *
+     * @return the value of the last matching option or null if none
+     */
+    public static String getOptionValue(final String[] argv, final String prefix)
+    {
+        String value = null;
+
+        for (final String arg : argv) {
+            if (arg.startsWith(prefix)) {
+                value = arg.substring(prefix.length());
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Parse the processing log mode (--log=full, --log=summary or
+     * --log=none) from the command line arguments. Defaults to FULL.
+     *
+     * @param argv command line arguments
+     *
+     * @return selected log mode
+     */
+    public static LogMode getLogMode(final String[] argv)
+    {
+        LogMode mode = LogMode.FULL;
+
+        for (final String arg : argv) {
+            if (arg.startsWith("--log=")) {
+                try {
+                    mode = LogMode.valueOf(arg.substring("--log=".length()).toUpperCase(Locale.ROOT));
+                }
+                catch (IllegalArgumentException e) {
+                    mode = LogMode.FULL;
+                }
+            }
+        }
+
+        return mode;
+    }
+
+    /**
+     * Remove all options (arguments that start with "--") from the command
+     * line arguments.
+     *
+     * @param argv command line arguments
+     *
+     * @return the remaining (positional) arguments
+     */
+    public static String[] positionalArgs(final String[] argv)
+    {
+        return Arrays.stream(argv)
+            .filter(arg -> !arg.startsWith("--"))
+            .toArray(String[]::new);
+    }
 
-        System.out.println("Player Storage Summary:");
-        System.out.println(inv);
+    /**
+     * Determine whether an option was supplied on the command line.
+     *
+     * @param argv command line arguments
+     * @param option option to find (e.g., "--intern")
+     *
+     * @return true if *option* is present
+     */
+    public static boolean hasOption(final String[] argv, final String option)
+    {
+        return Arrays.asList(argv).contains(option);
     }
 
     /**
-     * Read an input stream and generate a collection of Items.
+     * Read an input stream and generate a collection of Items. Large files
+     * (see {@link #PARALLEL_READ_THRESHOLD}) are split and parsed in
+     * parallel when more than one processor is available; the result is
+     * the same either way.
      *
      * @param filename source from which to read Items
      *
@@ -109,21 +330,89 @@ public final class Storage {
     public static List<Item> readItemsFromFile(String filename)
         throws IOException
     {
-        FileReader inFile = new FileReader(filename);
-        BufferedReader buffer = new BufferedReader(inFile);
+        return readItemsFromFile(filename, null);
+    }
 
-        List<Item> itemsToStore = buffer
-            .lines()
-            .map((String line) -> {
-                Scanner scanner = new Scanner(line);
-                return ItemFactory.parseItemLine(scanner);
-            })
-            .filter(Objects::nonNull) // remove all nulls
-            .collect(java.util.stream.Collectors.toList());
+    /**
+     * Read an input stream and generate a collection of Items, sharing
+     * Item Strings (names, materials, effects, ...) through a symbol table.
+     *
+     * @param filename source from which to read Items
+     * @param symbols table used to deduplicate Strings (or null)
+     *
+     * @return initialized list of Items
+     *
+     * @throws IOException if an input error occurs
+     */
+    public static List<Item> readItemsFromFile(String filename, SymbolTable symbols)
+        throws IOException
+    {
+        final Path file = Paths.get(filename);
 
-        buffer.close();
+        if (Runtime.getRuntime().availableProcessors() > 1
+            && Files.isRegularFile(file)
+            && Files.size(file) >= PARALLEL_READ_THRESHOLD) {
+            return new ParallelItemReader(
+                ForkJoinPool.commonPool(), ParallelItemReader.DEFAULT_CHUNK_SIZE, symbols
+            ).read(file);
+        }
 
-        return itemsToStore;
+        try (Stream<Item> items = streamItemsFromFile(filename, symbols)) {
+            return items.collect(Collectors.toList());
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Lazily read Items from a file. Each Item is parsed only when the
+     * stream reaches it, so the Items are never all held in memory at once.
+     * <p>
+     * The stream must be closed (e.g., with try-with-resources) to close
+     * the file. Read errors surface as UncheckedIOException.
+     *
+     * @param filename source from which to read Items
+     * @param symbols table used to deduplicate Strings (or null)
+     *
+     * @return sequential, ordered stream of Items
+     *
+     * @throws IOException if the file can not be opened
+     */
+    public static Stream<Item> streamItemsFromFile(String filename, SymbolTable symbols)
+        throws IOException
+    {
+        final ItemTokenizer tokens = new ItemTokenizer(new FileReader(filename));
+        tokens.setSymbolTable(symbols);
+
+        final Spliterator<Item> items = new Spliterators.AbstractSpliterator<Item>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL
+        ) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Item> action)
+            {
+                while (tokens.nextLine()) {
+                    final Item item = ItemFactory.parseItemLine(tokens);
+
+                    if (item != null) {
+                        action.accept(item);
+                        return true;
+                    }
+                }
+
+                return false;
+            }
+        };
+
+        return StreamSupport.stream(items, false)
+            .onClose(() -> {
+                try {
+                    tokens.close();
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
     }
 
     /**
@@ -139,17 +428,118 @@ public final class Storage {
         final int size
     )
     {
-        final Inventory inventory = new Inventory(size);
+        final PrintWriter out = new PrintWriter(
+            new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE)
+        );
 
-        System.out.println("Processing Log:");
+        final Inventory inventory = createInventory(itemsToStore, size, out, LogMode.FULL);
+        out.flush();
 
-        for (final Item item : itemsToStore) {
-            final boolean success = inventory.addItem(item);
-            final char statusLetter = success ? 'S' : 'D';
+        return inventory;
+    }
+
+    /**
+     * Read an input stream and generate an Inventory, writing the
+     * processing log to *out*. Each stored Item is copied, so the caller
+     * remains free to modify (or reuse) its Items.
+     *
+     * @param itemsToStore collection of items to place into an inventory
+     * @param size desired number of Inventory slots
+     * @param out destination for the processing log
+     * @param mode how much of the processing log to write
+     *
+     * @return initialized Inventory
+     */
+    public static Inventory createInventory(
+        final Iterable<Item> itemsToStore,
+        final int size,
+        final PrintWriter out,
+        final LogMode mode
+    )
+    {
+        return createInventory(itemsToStore, size, out, mode, false);
+    }
+
+    /**
+     * Read an input stream and generate an Inventory, writing the
+     * processing log to *out*. The Inventory adopts (rather than copies)
+     * each stored Item, so this is only for Items that nothing else
+     * refers to--e.g., Items just read from a file. Large lists (see
+     * {@link #PARALLEL_BUILD_THRESHOLD}) are built in parallel when more
+     * than one processor is available; the result is the same either way.
+     *
+     * @param itemsToStore freshly created items to place into an inventory
+     * @param size desired number of Inventory slots
+     * @param out destination for the processing log
+     * @param mode how much of the processing log to write
+     *
+     * @return initialized Inventory
+     */
+    public static Inventory createInventoryAdopting(
+        final Iterable<Item> itemsToStore,
+        final int size,
+        final PrintWriter out,
+        final LogMode mode
+    )
+    {
+        return createInventory(itemsToStore, size, out, mode, true);
+    }
+
+    /**
+     * Generate an Inventory and write the processing log, either copying
+     * or adopting the stored Items.
+     */
+    @SuppressWarnings("unchecked")
+    private static Inventory createInventory(
+        final Iterable<Item> itemsToStore,
+        final int size,
+        final PrintWriter out,
+        final LogMode mode,
+        final boolean adopt
+    )
+    {
+        if (mode != LogMode.NONE) {
+            out.println("Processing Log:");
+        }
+
+        final long[] counts = new long[2];
+        final BiConsumer<Item, Boolean> log = (item, success) -> {
+            counts[success ? 0 : 1]++;
+
+            if (mode == LogMode.FULL) {
+                // i.e., " (%s) %s%n"
+                out.write(success ? " (S) " : " (D) ");
+                out.write(item.getName());
+                out.println();
+            }
+        };
+
+        final Inventory inventory;
+
+        if (!adopt) {
+            inventory = new Inventory(size);
+            inventory.addAll(itemsToStore, log);
+        }
+        else if (itemsToStore instanceof List
+            && ((List<Item>) itemsToStore).size() >= PARALLEL_BUILD_THRESHOLD
+            && Runtime.getRuntime().availableProcessors() > 1) {
+            inventory = new ParallelInventoryBuilder().build((List<Item>) itemsToStore, size, log);
+        }
+        else {
+            inventory = new Inventory(size);
+            inventory.adoptAll(itemsToStore, log);
+        }
+
+        if (mode == LogMode.SUMMARY) {
+            out.print(" Stored: ");
+            out.println(counts[0]);
+            out.print(" Discarded: ");
+            out.println(counts[1]);
+        }
 
-            System.out.printf(" (%s) %s%n", statusLetter, item.getName());
+        if (mode != LogMode.NONE) {
+            out.println();
         }
-        System.out.println();
 
         return inventory;
     }
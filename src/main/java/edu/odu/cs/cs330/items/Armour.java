@@ -1,5 +1,6 @@
 package edu.odu.cs.cs330.items;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
@@ -57,6 +58,37 @@ public class Armour extends Item {
 	this.stackable = false;
     }
 
+    /**
+     * Create a fully specified piece of armour.
+     *
+     * @param nme name
+     * @param mat base material
+     * @param dur durability
+     * @param def defense
+     * @param mod modifier (enchantment)
+     * @param level modifier level
+     * @param ele element
+     */
+    public Armour(
+        String nme,
+        String mat,
+        int dur,
+        int def,
+        String mod,
+        int level,
+        String ele
+    )
+    {
+        super(nme, false);
+
+        this.material     = mat;
+        this.durability   = dur;
+        this.defense      = def;
+        this.modifier     = mod;
+        this.modiferLevel = level;
+        this.element      = ele;
+    }
+
     /**
      * Duplicate a piece of armour.
      *
@@ -91,6 +123,7 @@ public class Armour extends Item {
     public void setDurability(int dur)
     {
         this.durability = dur;
+        this.changed();
     }
 
     /**
@@ -111,6 +144,7 @@ public class Armour extends Item {
     public void setDefense(int def)
     {
         this.defense = def;
+        this.changed();
     }
 
     /**
@@ -131,6 +165,7 @@ public class Armour extends Item {
     public void setMaterial(String mat)
     {
         this.material = mat;
+        this.changed();
     }
 
     /**
@@ -151,6 +186,7 @@ public class Armour extends Item {
     public void setModifier(String m)
     {
         this.modifier = m;
+        this.changed();
     }
 
     /**
@@ -171,6 +207,7 @@ public class Armour extends Item {
     public void setModifierLevel(int level)
     {
         this.modiferLevel = level;
+        this.changed();
     }
 
     /**
@@ -191,6 +228,7 @@ public class Armour extends Item {
     public void setElement(String ele)
     {
         this.element = ele;
+        this.changed();
     }
 
     @Override
@@ -212,6 +250,23 @@ public class Armour extends Item {
 	this.modifier		= snr.next();
 	this.modiferLevel     	= snr.nextInt();
 	this.element		= snr.next();
+        this.changed();
+    }
+
+    /**
+     * Read Armour attributes.
+     */
+    @Override
+    public void read(ItemTokenizer tokens)
+    {
+        super.name        = tokens.nextSymbol();
+        this.material     = tokens.nextSymbol();
+        this.durability   = tokens.nextInt();
+        this.defense      = tokens.nextInt();
+        this.modifier     = tokens.nextSymbol();
+        this.modiferLevel = tokens.nextInt();
+        this.element      = tokens.nextSymbol();
+        this.changed();
     }
 
     /**
@@ -228,26 +283,23 @@ public class Armour extends Item {
      * *Print* one Armour.
      */
     @Override
-    public String toString()
-   {
-   	String summaryLine = String.format(
-            "  Nme: %s%n  Dur: %d%n  Def: %d%n  Mtl: %s%n  Mdr: %s (Lvl %d)%n  Emt: %s%n",
-	   	this.getName(),
-	      	this.getDurability(),
-		this.getDefense(),
-		this.getMaterial(),
-		this.getModifier(),
-		this.getModifierLevel(),
-		this.getElement()
-        );
-
-        StringBuilder strBld = new StringBuilder();
-        strBld.append(summaryLine);
-
-        return strBld.toString();     
-   }
-}
-
-
-
+    protected void write(Appendable out)
+        throws IOException
+    {
+        final String nl = System.lineSeparator();
 
+        out.append("  Nme: ").append(this.getName()).append(nl)
+           .append("  Dur: ");
+        appendInt(out, this.getDurability());
+        out.append(nl)
+           .append("  Def: ");
+        appendInt(out, this.getDefense());
+        out.append(nl)
+           .append("  Mtl: ").append(this.getMaterial()).append(nl)
+           .append("  Mdr: ").append(this.getModifier())
+           .append(" (Lvl ");
+        appendInt(out, this.getModifierLevel());
+        out.append(')').append(nl)
+           .append("  Emt: ").append(this.getElement()).append(nl);
+    }
+}
@@ -0,0 +1,617 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Secondary indexes over the Armour in an {@link Inventory}.
+ * <p>
+ * Element, material and modifier are indexed by value (hash); defense and
+ * durability are indexed in order, for range queries. Every piece of
+ * Armour is a *row*--its slot and attributes are kept in primitive
+ * columns, so a query checks its remaining conditions without touching
+ * the Armour itself.
+ * <p>
+ * An index is created by {@link Inventory#armourIndex()} and updated by
+ * the Inventory as slots are filled. Attributes are indexed when the
+ * Armour is placed in its slot; Armour modified in place afterwards
+ * (e.g., through {@link ItemStack#getItem()}) is still found by its old
+ * values. Like Inventory, an ArmourIndex is not thread-safe.
+ * <pre>
+ *   // all fire armour with defense of at least 10
+ *   inventory.armourIndex().query()
+ *       .element("fire")
+ *       .defense(10, Integer.MAX_VALUE)
+ *       .list();
+ * </pre>
+ */
+@SuppressWarnings({
+    "PMD.LawOfDemeter",
+    "PMD.TooManyMethods"
+})
+public final class ArmourIndex
+{
+    /**
+     * Initial number of rows allocated in each column.
+     */
+    private static final int INITIAL_ROWS = 16;
+
+    /**
+     * Indexed attributes (range indexes first).
+     */
+    private static final int DEFENSE = 0;
+    private static final int DURABILITY = 1;
+    private static final int ELEMENT = 2;
+    private static final int MATERIAL = 3;
+    private static final int MODIFIER = 4;
+
+    /**
+     * Inventory whose Armour is indexed.
+     */
+    private final Inventory inventory;
+
+    /**
+     * Number of rows (pieces of Armour) indexed.
+     */
+    private int rows;
+
+    /**
+     * Inventory slot of each row.
+     */
+    private int[] slot;
+
+    /**
+     * Defense of each row.
+     */
+    private int[] defense;
+
+    /**
+     * Durability of each row.
+     */
+    private int[] durability;
+
+    /**
+     * Key id (within *elements*) of each row.
+     */
+    private int[] element;
+
+    /**
+     * Key id (within *materials*) of each row.
+     */
+    private int[] material;
+
+    /**
+     * Key id (within *modifiers*) of each row.
+     */
+    private int[] modifier;
+
+    /**
+     * Rows by element.
+     */
+    private final Map<String, Postings> elements;
+
+    /**
+     * Rows by material.
+     */
+    private final Map<String, Postings> materials;
+
+    /**
+     * Rows by modifier.
+     */
+    private final Map<String, Postings> modifiers;
+
+    /**
+     * Rows by defense (in order).
+     */
+    private final NavigableMap<Integer, Postings> byDefense;
+
+    /**
+     * Rows by durability (in order).
+     */
+    private final NavigableMap<Integer, Postings> byDurability;
+
+    /**
+     * Index every piece of Armour already in *inv*.
+     *
+     * @param inv Inventory to index (it keeps the index up to date)
+     */
+    ArmourIndex(Inventory inv)
+    {
+        this.inventory    = inv;
+        this.slot         = new int[INITIAL_ROWS];
+        this.defense      = new int[INITIAL_ROWS];
+        this.durability   = new int[INITIAL_ROWS];
+        this.element      = new int[INITIAL_ROWS];
+        this.material     = new int[INITIAL_ROWS];
+        this.modifier     = new int[INITIAL_ROWS];
+        this.elements     = new HashMap<>();
+        this.materials    = new HashMap<>();
+        this.modifiers    = new HashMap<>();
+        this.byDefense    = new TreeMap<>();
+        this.byDurability = new TreeMap<>();
+
+        for (int i = 0; i < inv.utilizedSlots(); i++) {
+            this.slotAdded(i, inv.getSlot(i));
+        }
+    }
+
+    /**
+     * Index a newly filled slot (if it holds Armour).
+     *
+     * @param index slot number
+     * @param stack stack placed in the slot
+     */
+    void slotAdded(int index, ItemStack stack)
+    {
+        if (!(stack.getItem() instanceof Armour)) {
+            return;
+        }
+
+        final Armour piece = (Armour) stack.getItem();
+
+        if (this.rows == this.slot.length) {
+            this.grow();
+        }
+
+        final int row = this.rows;
+
+        this.slot[row]       = index;
+        this.defense[row]    = piece.getDefense();
+        this.durability[row] = piece.getDurability();
+        this.element[row]    = postingsFor(this.elements, piece.getElement()).add(row);
+        this.material[row]   = postingsFor(this.materials, piece.getMaterial()).add(row);
+        this.modifier[row]   = postingsFor(this.modifiers, piece.getModifier()).add(row);
+
+        this.byDefense.computeIfAbsent(piece.getDefense(), Postings::new).add(row);
+        this.byDurability.computeIfAbsent(piece.getDurability(), Postings::new).add(row);
+
+        this.rows++;
+    }
+
+    /**
+     * Retrieve the number of pieces of Armour indexed.
+     *
+     * @return number of Armour slots
+     */
+    public int size()
+    {
+        return this.rows;
+    }
+
+    /**
+     * Start a query. With no conditions, a query matches all Armour.
+     *
+     * @return new query over this index
+     */
+    public Query query()
+    {
+        return new Query();
+    }
+
+    /**
+     * Retrieve the postings for *key*, creating them (with the next id) on
+     * first use.
+     */
+    private static Postings postingsFor(Map<String, Postings> index, String key)
+    {
+        Postings postings = index.get(key);
+
+        if (postings == null) {
+            postings = new Postings(index.size());
+            index.put(key, postings);
+        }
+
+        return postings;
+    }
+
+    /**
+     * Double the length of every column.
+     */
+    private void grow()
+    {
+        final int length = 2 * this.slot.length;
+
+        this.slot       = Arrays.copyOf(this.slot, length);
+        this.defense    = Arrays.copyOf(this.defense, length);
+        this.durability = Arrays.copyOf(this.durability, length);
+        this.element    = Arrays.copyOf(this.element, length);
+        this.material   = Arrays.copyOf(this.material, length);
+        this.modifier   = Arrays.copyOf(this.modifier, length);
+    }
+
+    /**
+     * Rows (in ascending order) sharing one indexed value.
+     */
+    private static final class Postings
+    {
+        /**
+         * Key id of a hash-indexed value (the value itself in a range
+         * index).
+         */
+        final int id;
+
+        /**
+         * Rows--the first *size* entries are in use.
+         */
+        int[] rows;
+
+        /**
+         * Number of rows.
+         */
+        int size;
+
+        Postings(int keyId)
+        {
+            this.id   = keyId;
+            this.rows = new int[4];
+        }
+
+        /**
+         * Append a row.
+         *
+         * @return key id
+         */
+        int add(int row)
+        {
+            if (this.size == this.rows.length) {
+                this.rows = Arrays.copyOf(this.rows, 2 * this.size);
+            }
+
+            this.rows[this.size++] = row;
+
+            return this.id;
+        }
+    }
+
+    /**
+     * One condition of a query: an attribute whose value (for a hash
+     * index, its key id) must fall within a range.
+     */
+    private static final class Condition
+    {
+        /**
+         * Attribute (column) tested--e.g., {@link #DEFENSE}.
+         */
+        final int attribute;
+
+        /**
+         * Required value of a hash-indexed attribute.
+         */
+        final String key;
+
+        /**
+         * Lowest value (inclusive) of a range-indexed attribute.
+         */
+        final int min;
+
+        /**
+         * Highest value (inclusive) of a range-indexed attribute.
+         */
+        final int max;
+
+        Condition(int attr, String value, int low, int high)
+        {
+            this.attribute = attr;
+            this.key       = value;
+            this.min       = low;
+            this.max       = high;
+        }
+    }
+
+    /**
+     * Retrieve the column holding one attribute.
+     */
+    private int[] column(int attribute)
+    {
+        switch (attribute) {
+            case DEFENSE:
+                return this.defense;
+            case DURABILITY:
+                return this.durability;
+            case ELEMENT:
+                return this.element;
+            case MATERIAL:
+                return this.material;
+            default:
+                return this.modifier;
+        }
+    }
+
+    /**
+     * Retrieve the hash index of one attribute.
+     */
+    private Map<String, Postings> hashIndex(int attribute)
+    {
+        switch (attribute) {
+            case ELEMENT:
+                return this.elements;
+            case MATERIAL:
+                return this.materials;
+            default:
+                return this.modifiers;
+        }
+    }
+
+    /**
+     * A conjunction of conditions on indexed attributes.
+     * <p>
+     * Conditions are resolved against the index when the query is run
+     * (so a query may be run again after more slots are filled). The
+     * condition with the fewest candidate rows drives the query; every
+     * other condition is checked against the columns of those rows.
+     * Results are in slot order.
+     */
+    public final class Query
+    {
+        /**
+         * Conditions (all must hold).
+         */
+        private final List<Condition> conditions;
+
+        /**
+         * Create a query with no conditions.
+         */
+        private Query()
+        {
+            this.conditions = new ArrayList<>();
+        }
+
+        /**
+         * Require an element.
+         *
+         * @param value element (may be null)
+         *
+         * @return this query
+         */
+        public Query element(String value)
+        {
+            return this.where(new Condition(ELEMENT, value, 0, 0));
+        }
+
+        /**
+         * Require a material.
+         *
+         * @param value base material (may be null)
+         *
+         * @return this query
+         */
+        public Query material(String value)
+        {
+            return this.where(new Condition(MATERIAL, value, 0, 0));
+        }
+
+        /**
+         * Require a modifier.
+         *
+         * @param value buff/debuff (may be null)
+         *
+         * @return this query
+         */
+        public Query modifier(String value)
+        {
+            return this.where(new Condition(MODIFIER, value, 0, 0));
+        }
+
+        /**
+         * Require a defense within a range.
+         *
+         * @param min lowest defense (inclusive)
+         * @param max highest defense (inclusive)--e.g., Integer.MAX_VALUE
+         *
+         * @return this query
+         */
+        public Query defense(int min, int max)
+        {
+            return this.where(new Condition(DEFENSE, null, min, max));
+        }
+
+        /**
+         * Require a durability within a range.
+         *
+         * @param min lowest durability (inclusive)
+         * @param max highest durability (inclusive)
+         *
+         * @return this query
+         */
+        public Query durability(int min, int max)
+        {
+            return this.where(new Condition(DURABILITY, null, min, max));
+        }
+
+        /**
+         * Count the matching Armour.
+         *
+         * @return number of matching slots
+         */
+        public int count()
+        {
+            return this.matchingRows().length;
+        }
+
+        /**
+         * Retrieve the slots holding matching Armour.
+         *
+         * @return slot numbers in ascending order
+         */
+        public int[] slots()
+        {
+            final int[] matches = this.matchingRows();
+
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = slot[matches[i]];
+            }
+
+            return matches;
+        }
+
+        /**
+         * Retrieve the stacks holding matching Armour.
+         *
+         * @return stacks (those in the Inventory--not copies) in slot order
+         */
+        public List<ItemStack> list()
+        {
+            final int[] matches = this.matchingRows();
+            final List<ItemStack> stacks = new ArrayList<>(matches.length);
+
+            for (int row : matches) {
+                stacks.add(inventory.getSlot(slot[row]));
+            }
+
+            return stacks;
+        }
+
+        /**
+         * Add a condition.
+         */
+        private Query where(Condition condition)
+        {
+            this.conditions.add(condition);
+
+            return this;
+        }
+
+        /**
+         * Evaluate the query.
+         *
+         * @return matching rows in ascending order
+         */
+        private int[] matchingRows()
+        {
+            final int count = this.conditions.size();
+
+            if (count == 0) {
+                final int[] all = new int[rows];
+
+                Arrays.setAll(all, row -> row);
+
+                return all;
+            }
+
+            // Resolve every condition to a column, a range of values and
+            // the postings of the rows it can match.
+            final int[][] columns = new int[count][];
+            final int[] mins = new int[count];
+            final int[] maxs = new int[count];
+            final int[] sizes = new int[count];
+            final List<Collection<Postings>> candidates = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                final Condition condition = this.conditions.get(i);
+                final Collection<Postings> postings;
+
+                if (condition.attribute == DEFENSE || condition.attribute == DURABILITY) {
+                    final NavigableMap<Integer, Postings> index =
+                        condition.attribute == DEFENSE ? byDefense : byDurability;
+
+                    mins[i] = condition.min;
+                    maxs[i] = condition.max;
+                    postings = condition.min > condition.max
+                        ? List.of()
+                        : index.subMap(condition.min, true, condition.max, true).values();
+                }
+                else {
+                    final Postings match = hashIndex(condition.attribute).get(condition.key);
+
+                    // Key ids start at 0--an unknown value matches no row.
+                    mins[i] = match == null ? -1 : match.id;
+                    maxs[i] = mins[i];
+                    postings = match == null ? List.of() : List.of(match);
+                }
+
+                columns[i] = column(condition.attribute);
+                sizes[i] = size(postings);
+                candidates.add(postings);
+            }
+
+            // Order the conditions by candidate rows. The first drives the
+            // query (it holds for all of its rows); the others are checked
+            // most selective first.
+            final int[] order = new int[count];
+
+            for (int i = 0; i < count; i++) {
+                int j = i;
+
+                while (j > 0 && sizes[order[j - 1]] > sizes[i]) {
+                    order[j] = order[j - 1];
+                    j--;
+                }
+                order[j] = i;
+            }
+
+            final int driver = order[0];
+            final int fewest = sizes[driver];
+            final int others = count - 1;
+            final int[][] checkColumns = new int[others][];
+            final int[] checkMins = new int[others];
+            final int[] checkMaxs = new int[others];
+
+            for (int i = 0; i < others; i++) {
+                checkColumns[i] = columns[order[i + 1]];
+                checkMins[i] = mins[order[i + 1]];
+                checkMaxs[i] = maxs[order[i + 1]];
+            }
+
+            final int[] matches = new int[fewest];
+            int found = 0;
+
+            for (Postings postings : candidates.get(driver)) {
+                final int[] postingRows = postings.rows;
+
+                for (int i = 0; i < postings.size; i++) {
+                    final int row = postingRows[i];
+
+                    if (matchesAll(row, checkColumns, checkMins, checkMaxs)) {
+                        matches[found++] = row;
+                    }
+                }
+            }
+
+            final int[] result = found == fewest ? matches : Arrays.copyOf(matches, found);
+
+            // Rows from several postings (a range) are interleaved.
+            if (candidates.get(driver).size() > 1) {
+                Arrays.sort(result);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Count the rows in a group of postings.
+     */
+    private static int size(Collection<Postings> postings)
+    {
+        int total = 0;
+
+        for (Postings rowList : postings) {
+            total += rowList.size;
+        }
+
+        return total;
+    }
+
+    /**
+     * Determine whether every condition (a column and range) holds for one
+     * row.
+     */
+    private static boolean matchesAll(int row, int[][] columns, int[] mins, int[] maxs)
+    {
+        for (int i = 0; i < columns.length; i++) {
+            final int value = columns[i][row];
+
+            if (value < mins[i] || value > maxs[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,433 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An Inventory of Armour stored column by column.
+ * <p>
+ * Each Armour in an {@link Inventory} costs an ItemStack, an Armour and
+ * (unless they are shared) four Strings. An ArmourTable instead keeps one
+ * primitive array per attribute--durability, defense and modifier level
+ * directly, and name, material, modifier and element as ids into a table
+ * of distinct Strings. A slot costs 28 bytes no matter how many objects
+ * a single piece of Armour would need.
+ * <p>
+ * Armour may not be stacked, so every slot holds exactly one piece.
+ * Armour objects are only created when requested ({@link #get(int)},
+ * iteration and {@link #toInventory()}); each is a new copy--modifying it
+ * does not change the table. Like {@link Inventory}, an ArmourTable is not
+ * thread-safe.
+ */
+@SuppressWarnings({
+    "PMD.LawOfDemeter",
+    "PMD.TooManyMethods"
+})
+public class ArmourTable implements SlotCounts, Iterable<ItemStack>
+{
+    /**
+     * Initial number of rows allocated in each column.
+     */
+    private static final int INITIAL_ROWS = 16;
+
+    /**
+     * Total number of slots (rows).
+     */
+    private final int capacity;
+
+    /**
+     * Number of slots in use.
+     */
+    private int rows;
+
+    /**
+     * Durability of each piece.
+     */
+    private int[] durability;
+
+    /**
+     * Defense of each piece.
+     */
+    private int[] defense;
+
+    /**
+     * Modifier level of each piece.
+     */
+    private int[] modifierLevel;
+
+    /**
+     * Symbol id of each name.
+     */
+    private int[] name;
+
+    /**
+     * Symbol id of each material.
+     */
+    private int[] material;
+
+    /**
+     * Symbol id of each modifier.
+     */
+    private int[] modifier;
+
+    /**
+     * Symbol id of each element.
+     */
+    private int[] element;
+
+    /**
+     * Distinct Strings by id (id 0 is null).
+     */
+    private final List<String> symbols;
+
+    /**
+     * Id of each distinct String.
+     */
+    private final Map<String, Integer> symbolIds;
+
+    /**
+     * Create a table with {@link Inventory#DEFAULT_SIZE} slots.
+     */
+    public ArmourTable()
+    {
+        this(Inventory.DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a table with a given number of slots. Columns grow as
+     * Armour is added--an empty table is small no matter its capacity.
+     *
+     * @param desiredCapacity size of the new table
+     */
+    public ArmourTable(int desiredCapacity)
+    {
+        final int initial = Math.max(0, Math.min(desiredCapacity, INITIAL_ROWS));
+
+        this.capacity      = desiredCapacity;
+        this.durability    = new int[initial];
+        this.defense       = new int[initial];
+        this.modifierLevel = new int[initial];
+        this.name          = new int[initial];
+        this.material      = new int[initial];
+        this.modifier      = new int[initial];
+        this.element       = new int[initial];
+
+        this.symbols   = new ArrayList<>();
+        this.symbolIds = new HashMap<>();
+        this.symbols.add(null);
+    }
+
+    /**
+     * Get the total number of slots (table size).
+     *
+     * @return maximum size
+     */
+    @Override
+    public int totalSlots()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Get the number of currently filled (used) slots.
+     *
+     * @return number of slots in use
+     */
+    @Override
+    public int utilizedSlots()
+    {
+        return this.rows;
+    }
+
+    /**
+     * Add one piece of Armour to the next empty slot. Only the attributes
+     * are kept--*piece* itself is not retained.
+     *
+     * @param piece armour to add
+     *
+     * @return true if *piece* was added and false if the table is full
+     *
+     * @throws IllegalArgumentException if *piece* is a subclass of Armour
+     *     (its extra attributes could not be stored)
+     */
+    public boolean addItem(Armour piece)
+    {
+        if (piece.getClass() != Armour.class) {
+            throw new IllegalArgumentException(
+                "can not store " + piece.getClass().getName() + " in an ArmourTable"
+            );
+        }
+
+        if (this.isFull()) {
+            return false;
+        }
+
+        if (this.rows == this.name.length) {
+            this.grow();
+        }
+
+        final int row = this.rows;
+
+        this.durability[row]    = piece.getDurability();
+        this.defense[row]       = piece.getDefense();
+        this.modifierLevel[row] = piece.getModifierLevel();
+        this.name[row]          = this.symbolId(piece.getName());
+        this.material[row]      = this.symbolId(piece.getMaterial());
+        this.modifier[row]      = this.symbolId(piece.getModifier());
+        this.element[row]       = this.symbolId(piece.getElement());
+
+        this.rows++;
+
+        return true;
+    }
+
+    /**
+     * Create the Armour in one slot.
+     *
+     * @param slot index of the slot (in insertion order)
+     *
+     * @return a new Armour equal to the one added to *slot*
+     *
+     * @throws IndexOutOfBoundsException if *slot* is not in use
+     */
+    public Armour get(int slot)
+    {
+        this.checkSlot(slot);
+
+        return new Armour(
+            this.symbols.get(this.name[slot]),
+            this.symbols.get(this.material[slot]),
+            this.durability[slot],
+            this.defense[slot],
+            this.symbols.get(this.modifier[slot]),
+            this.modifierLevel[slot],
+            this.symbols.get(this.element[slot])
+        );
+    }
+
+    /**
+     * Retrieve the name in one slot (without creating an Armour).
+     *
+     * @param slot index of the slot
+     *
+     * @return name
+     */
+    public String getName(int slot)
+    {
+        this.checkSlot(slot);
+
+        return this.symbols.get(this.name[slot]);
+    }
+
+    /**
+     * Retrieve the durability in one slot.
+     *
+     * @param slot index of the slot
+     *
+     * @return durability
+     */
+    public int getDurability(int slot)
+    {
+        this.checkSlot(slot);
+
+        return this.durability[slot];
+    }
+
+    /**
+     * Update the durability in one slot (e.g., after the armour is used).
+     *
+     * @param slot index of the slot
+     * @param dur new durability value
+     */
+    public void setDurability(int slot, int dur)
+    {
+        this.checkSlot(slot);
+
+        this.durability[slot] = dur;
+    }
+
+    /**
+     * Retrieve the defense in one slot.
+     *
+     * @param slot index of the slot
+     *
+     * @return total defense provided
+     */
+    public int getDefense(int slot)
+    {
+        this.checkSlot(slot);
+
+        return this.defense[slot];
+    }
+
+    /**
+     * Retrieve the material in one slot.
+     *
+     * @param slot index of the slot
+     *
+     * @return base material
+     */
+    public String getMaterial(int slot)
+    {
+        this.checkSlot(slot);
+
+        return this.symbols.get(this.material[slot]);
+    }
+
+    /**
+     * Retrieve the modifier in one slot.
+     *
+     * @param slot index of the slot
+     *
+     * @return buff/debuff provided
+     */
+    public String getModifier(int slot)
+    {
+        this.checkSlot(slot);
+
+        return this.symbols.get(this.modifier[slot]);
+    }
+
+    /**
+     * Retrieve the modifier level in one slot.
+     *
+     * @param slot index of the slot
+     *
+     * @return buff/debuff level
+     */
+    public int getModifierLevel(int slot)
+    {
+        this.checkSlot(slot);
+
+        return this.modifierLevel[slot];
+    }
+
+    /**
+     * Retrieve the element in one slot.
+     *
+     * @param slot index of the slot
+     *
+     * @return element
+     */
+    public String getElement(int slot)
+    {
+        this.checkSlot(slot);
+
+        return this.symbols.get(this.element[slot]);
+    }
+
+    /**
+     * Retrieve the number of distinct Strings (names, materials,
+     * modifiers and elements) stored.
+     *
+     * @return number of Strings
+     */
+    public int symbolCount()
+    {
+        return this.symbols.size() - 1;
+    }
+
+    /**
+     * Create an Inventory, of the same size, holding every piece.
+     *
+     * @return new Inventory with one slot per row, in slot order
+     */
+    public Inventory toInventory()
+    {
+        final Inventory inventory = new Inventory(this.capacity);
+
+        for (int slot = 0; slot < this.rows; slot++) {
+            inventory.adoptItem(this.get(slot));
+        }
+
+        return inventory;
+    }
+
+    /**
+     * Iterate over all slots in slot order, creating each Armour as it is
+     * reached.
+     */
+    @Override
+    public Iterator<ItemStack> iterator()
+    {
+        return new Iterator<ItemStack>() {
+            private int next;
+
+            @Override
+            public boolean hasNext()
+            {
+                return this.next < rows;
+            }
+
+            @Override
+            public ItemStack next()
+            {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return ItemStack.adopt(get(this.next++), 1);
+            }
+        };
+    }
+
+    /**
+     * *Print* a Summary of the table and all Armour contained within.
+     */
+    @Override
+    public String toString()
+    {
+        return Inventory.summarize(this.percentFilled(), this.capacity, this);
+    }
+
+    /**
+     * Retrieve the id of a String, assigning the next id on first use.
+     */
+    private int symbolId(String str)
+    {
+        if (str == null) {
+            return 0;
+        }
+
+        Integer id = this.symbolIds.get(str);
+
+        if (id == null) {
+            id = this.symbols.size();
+            this.symbols.add(str);
+            this.symbolIds.put(str, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * Double the length of every column (up to the table's capacity).
+     */
+    private void grow()
+    {
+        final int length = (int) Math.min(this.capacity, Math.max(INITIAL_ROWS, 2L * this.name.length));
+
+        this.durability    = Arrays.copyOf(this.durability, length);
+        this.defense       = Arrays.copyOf(this.defense, length);
+        this.modifierLevel = Arrays.copyOf(this.modifierLevel, length);
+        this.name          = Arrays.copyOf(this.name, length);
+        this.material      = Arrays.copyOf(this.material, length);
+        this.modifier      = Arrays.copyOf(this.modifier, length);
+        this.element       = Arrays.copyOf(this.element, length);
+    }
+
+    /**
+     * Ensure *slot* is in use.
+     */
+    private void checkSlot(int slot)
+    {
+        if (slot < 0 || slot >= this.rows) {
+            throw new IndexOutOfBoundsException("slot " + slot);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe Inventory. It follows the same rules as {@link Inventory}
+ * and may be shared by any number of threads.
+ * <p>
+ * Every slot holds a {@link ConcurrentItemStack}, so merges are lock-free
+ * and merges into different stacks never contend. Slots are claimed with
+ * a compare-and-set on the number of used slots, so the capacity can
+ * never be exceeded, and only once a new slot is known to be needed.
+ * <p>
+ * Iteration is weakly consistent--it reflects every slot filled before
+ * the iterator was created and may (or may not) reflect later ones.
+ */
+public class ConcurrentInventory implements SlotCounts, Iterable<ItemStack>
+{
+    /**
+     * Individual item slots--in the order in which they were appended.
+     */
+    private final Queue<ItemStack> slots;
+
+    /**
+     * Lookup of the first slot holding each Item name.
+     */
+    private final ConcurrentHashMap<String, ConcurrentItemStack> slotIndex;
+
+    /**
+     * Number of slots claimed.
+     */
+    private final AtomicInteger usedSlots;
+
+    /**
+     * Total number of distinct Item types that can be stored.
+     */
+    private final int capacity;
+
+    /**
+     * Default to an inventory with 10 slots.
+     */
+    public ConcurrentInventory()
+    {
+        this(Inventory.DEFAULT_SIZE);
+    }
+
+    /**
+     * Create an inventory with n slots.
+     *
+     * @param desiredCapacity size of the new Inventory
+     */
+    public ConcurrentInventory(int desiredCapacity)
+    {
+        this.slots     = new ConcurrentLinkedQueue<>();
+        this.slotIndex = new ConcurrentHashMap<>();
+        this.usedSlots = new AtomicInteger();
+        this.capacity  = desiredCapacity;
+    }
+
+    /**
+     * Get the total number of slots (inventory size).
+     *
+     * @return maximum size
+     */
+    @Override
+    public int totalSlots()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Get the number of currently filled (used) slots.
+     *
+     * @return number of slots in use
+     */
+    @Override
+    public int utilizedSlots()
+    {
+        return this.usedSlots.get();
+    }
+
+    /**
+     * Add one item to the inventory list.
+     *
+     * @param oneItem item to add (it is copied)
+     *
+     * @return true if *oneItem* was added and false otherwise
+     */
+    public boolean addItem(Item oneItem)
+    {
+        // Only an Item placed in a new slot needs to be copied.
+        if (this.mergeIntoExisting(oneItem, 1)) {
+            return true;
+        }
+
+        return this.addItems(oneItem.clone(), 1);
+    }
+
+    /**
+     * Add one item to the inventory list, taking ownership of it--see
+     * {@link Inventory#adoptItem(Item)}.
+     *
+     * @param oneItem item to add
+     *
+     * @return true if *oneItem* was added and false otherwise
+     */
+    public boolean adoptItem(Item oneItem)
+    {
+        return this.addItems(oneItem, 1);
+    }
+
+    /**
+     * Add one or more items to the inventory list. Unlike
+     * {@link Inventory#addItems(ItemStack)}, a new slot holds a
+     * ConcurrentItemStack sharing *stack*'s Item--not *stack* itself.
+     *
+     * @param stack new stack of items to add
+     *
+     * @return true if *stack* was added and false otherwise
+     */
+    public boolean addItems(ItemStack stack)
+    {
+        return this.addItems(stack.getItem(), stack.size());
+    }
+
+    /**
+     * Add *qty* of *item*, merging into an existing stack if possible.
+     * <p>
+     * The common case--merging into a stackable stack--is a lock-free
+     * lookup. Otherwise the name's entry in *slotIndex* is updated with
+     * compute(), which runs atomically per name: a stack for the name that
+     * appeared in the meantime absorbs the items, and a slot is claimed
+     * only by a thread that really needs one. A slot is never reserved and
+     * then handed back, so a full count is never observed spuriously.
+     *
+     * @param item type of item to add (adopted if a new slot is used)
+     * @param qty number of items to add
+     *
+     * @return true if the items were added and false otherwise
+     */
+    private boolean addItems(Item item, int qty)
+    {
+        if (this.mergeIntoExisting(item, qty)) {
+            return true;
+        }
+
+        final boolean[] added = new boolean[1];
+
+        this.slotIndex.compute(item.getName(), (name, existing) -> {
+            if (existing != null && existing.permitsStacking()) {
+                // Another thread added the same (stackable) Item first.
+                existing.addItems(qty);
+                added[0] = true;
+
+                return existing;
+            }
+
+            if (!this.claimSlot()) {
+                return existing;
+            }
+
+            final ConcurrentItemStack stack = new ConcurrentItemStack(item, qty, true);
+
+            this.slots.add(stack);
+            added[0] = true;
+
+            // Only the first slot for a name is indexed.
+            return existing == null ? stack : existing;
+        });
+
+        return added[0];
+    }
+
+    /**
+     * Add to an existing stack of the same Item, if stacking is permitted.
+     *
+     * @param item type of item to add
+     * @param qty number of items to add
+     *
+     * @return true if a matching stack absorbed the items
+     */
+    private boolean mergeIntoExisting(Item item, int qty)
+    {
+        final ConcurrentItemStack matchingStack = this.slotIndex.get(item.getName());
+
+        if (matchingStack == null || !matchingStack.permitsStacking()) {
+            return false;
+        }
+
+        matchingStack.addItems(qty);
+
+        return true;
+    }
+
+    /**
+     * Reserve one empty slot.
+     *
+     * @return true if a slot was reserved and false if all are in use
+     */
+    private boolean claimSlot()
+    {
+        int used = this.usedSlots.get();
+
+        while (used < this.capacity) {
+            if (this.usedSlots.compareAndSet(used, used + 1)) {
+                return true;
+            }
+
+            used = this.usedSlots.get();
+        }
+
+        return false;
+    }
+
+    /**
+     * Iterate over all slots in the order their stacks were appended to
+     * the slot queue. Slots filled concurrently (for different Item
+     * names) may appear in either order.
+     */
+    @Override
+    public Iterator<ItemStack> iterator()
+    {
+        return Collections.unmodifiableCollection(this.slots).iterator();
+    }
+
+    /**
+     * *Print* a Summary of the Inventory and all Items contained within.
+     */
+    @Override
+    public String toString()
+    {
+        return Inventory.summarize(this.percentFilled(), this.capacity, this.slots);
+    }
+}
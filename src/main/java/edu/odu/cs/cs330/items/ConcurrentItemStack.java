@@ -0,0 +1,126 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * An ItemStack whose quantity may be updated by many threads at once.
+ * <p>
+ * All quantity updates are lock-free compare-and-set loops. Adding items
+ * never lets the quantity overflow, and removing items never lets it drop
+ * below zero.
+ */
+@SuppressWarnings({
+    "PMD.OnlyOneReturn",
+    "PMD.BeanMembersShouldSerialize"
+})
+public class ConcurrentItemStack extends ItemStack {
+    /**
+     * CAS access to *count*.
+     */
+    private static final AtomicIntegerFieldUpdater<ConcurrentItemStack> COUNT =
+        AtomicIntegerFieldUpdater.newUpdater(ConcurrentItemStack.class, "count");
+
+    /**
+     * Represents the number of items in this stack (the inherited quantity
+     * is not used).
+     */
+    private volatile int count;
+
+    /**
+     * Create a stack of the desired type.
+     *
+     * @param base Item out of which the stack is composed
+     * @param count number of items in this stack
+     */
+    public ConcurrentItemStack(final Item base, final int count)
+    {
+        this(base, count, false);
+    }
+
+    /**
+     * Create a stack of the desired type, optionally taking ownership of
+     * *base*.
+     *
+     * @param base Item out of which the stack is composed
+     * @param count number of items in this stack
+     * @param adopt use *base* itself (true) or a clone of it (false)
+     */
+    ConcurrentItemStack(final Item base, final int count, final boolean adopt)
+    {
+        super(base, 0, adopt);
+
+        this.count = count;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.count;
+    }
+
+    /**
+     * Add items if stacking is permitted otherwise, silently discard items.
+     *
+     * @param qty number of items to add
+     *
+     * @throws ArithmeticException if the quantity would overflow
+     */
+    @Override
+    public void addItems(final int qty)
+    {
+        if (!this.permitsStacking()) {
+            return;
+        }
+
+        int current;
+        int updated;
+
+        do {
+            current = this.count;
+            updated = Math.addExact(current, qty);
+        } while (!COUNT.compareAndSet(this, current, updated));
+    }
+
+    @Override
+    public int removeItems(final int qty)
+    {
+        int current;
+        int removed;
+
+        do {
+            current = this.count;
+            removed = Math.max(0, Math.min(qty, current));
+        } while (removed > 0 && !COUNT.compareAndSet(this, current, current - removed));
+
+        return removed;
+    }
+
+    @Override
+    public boolean tryTake(final int qty)
+    {
+        if (qty < 0) {
+            return false;
+        }
+
+        int current;
+
+        do {
+            current = this.count;
+
+            if (qty > current) {
+                return false;
+            }
+        } while (!COUNT.compareAndSet(this, current, current - qty));
+
+        return true;
+    }
+
+    /**
+     * Create a deep copy of this ItemStack.
+     */
+    @Override
+    public ConcurrentItemStack clone()
+    {
+        return new ConcurrentItemStack(this.getItem(), this.size());
+    }
+}
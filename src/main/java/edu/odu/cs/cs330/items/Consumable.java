@@ -1,5 +1,6 @@
 package edu.odu.cs.cs330.items;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
@@ -31,6 +32,21 @@ public class Consumable extends Item {
         this.uses   = 0;
     }
 
+    /**
+     * Create a fully specified Consumable Item.
+     *
+     * @param nme name
+     * @param eff effect (i.e., buff or debuff)
+     * @param allowed number of permitted uses
+     */
+    public Consumable(String nme, String eff, int allowed)
+    {
+        super(nme, true);
+
+        this.effect = eff;
+        this.uses   = allowed;
+    }
+
     /**
      * Create a copy of this Consumable.
      *
@@ -62,6 +78,7 @@ public class Consumable extends Item {
     public void setEffect(String newEff)
     {
         this.effect = newEff;
+        this.changed();
     }
 
     /**
@@ -82,6 +99,7 @@ public class Consumable extends Item {
     public void setNumberOfUses(int allowed)
     {
         this.uses = allowed;
+        this.changed();
     }
 
     /**
@@ -93,8 +111,21 @@ public class Consumable extends Item {
         super.name = snr.next();
 	this.effect = snr.next();
 	this.uses = snr.nextInt();
+        this.changed();
      }
 
+    /**
+     * Read Consumable Item attributes.
+     */
+    @Override
+    public void read(ItemTokenizer tokens)
+    {
+        super.name  = tokens.nextSymbol();
+        this.effect = tokens.nextSymbol();
+        this.uses   = tokens.nextInt();
+        this.changed();
+    }
+
     /**
      * Clone--i.e., copy--this Consumable Item.
      */
@@ -108,18 +139,15 @@ public class Consumable extends Item {
      * *Print* the Consumable Item
      */
     @Override
-    public String toString()
+    protected void write(Appendable out)
+        throws IOException
     {
-        String summaryLine = String.format(
-            "  Nme: %s%n  Eft: %s%n  Use: %d%n",
-                this.getName(),
-                this.getEffect(),
-                this.getNumberOfUses()
-        );
-
-        StringBuilder strBld = new StringBuilder();
-        strBld.append(summaryLine);
+        final String nl = System.lineSeparator();
 
-        return strBld.toString();
+        out.append("  Nme: ").append(this.getName()).append(nl)
+           .append("  Eft: ").append(this.getEffect()).append(nl)
+           .append("  Use: ");
+        appendInt(out, this.getNumberOfUses());
+        out.append(nl);
     }
 }
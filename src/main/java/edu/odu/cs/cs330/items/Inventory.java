@@ -1,9 +1,21 @@
 package edu.odu.cs.cs330.items;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * An Inventory is composed of n slots. Each slot may store only
@@ -13,23 +25,49 @@ import java.util.Optional;
  * stored. Individual slots may contain any number of the same
  * Item--if the Item is stackable.
  */
-public class Inventory implements Iterable<ItemStack>
+public class Inventory implements SlotCounts, Iterable<ItemStack>
 {
     /**
      * This is the Default Inventory size.
      */
     public static final int DEFAULT_SIZE = 10;
 
+    /**
+     * Number of chars collected before writeTo passes them on.
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 13;
+
     /**
      * Individual item slots--each ItemStack occupies one slot.
      */
     private List<ItemStack> slots;
 
+    /**
+     * Lookup of the first slot holding each Item name. This mirrors *slots*
+     * so that finding a matching stack does not require a scan.
+     */
+    private Map<String, ItemStack> slotIndex;
+
     /**
      * Total number of distinct Item types that can be stored.
      */
     private int capacity;
 
+    /**
+     * Result of the last {@link #toString()} (or null).
+     */
+    private String summary;
+
+    /**
+     * Text of each slot included in *summary*.
+     */
+    private String[] summaryFragments;
+
+    /**
+     * Secondary indexes over the Armour in *slots* (null until requested).
+     */
+    private ArmourIndex armourIndex;
+
     /**
      * Default to an inventory with 10 slots.
      */
@@ -45,8 +83,9 @@ public class Inventory implements Iterable<ItemStack>
      */
     public Inventory(int desiredCapacity)
     {
-        this.slots    = new ArrayList<ItemStack>();
-        this.capacity = desiredCapacity;
+        this.slots     = new ArrayList<ItemStack>();
+        this.slotIndex = new HashMap<String, ItemStack>();
+        this.capacity  = desiredCapacity;
     }
 
     /**
@@ -54,6 +93,7 @@ public class Inventory implements Iterable<ItemStack>
      *
      * @return maximum size
      */
+    @Override
     public int totalSlots()
     {
         return this.capacity;
@@ -64,99 +104,504 @@ public class Inventory implements Iterable<ItemStack>
      *
      * @return number of slots in use
      */
+    @Override
     public int utilizedSlots()
     {
         return this.slots.size();
     }
 
     /**
-     * Get the number of empty (unused) slots.
+     * Add one item to the inventory list.
+     *
+     * @param stack new stack of items to add
+     *
+     * @return true if *stack* was added and false otherwise
+     */
+    public boolean addItem(Item oneItem)
+    {
+        ItemStack stack = new ItemStack(oneItem);
+        return this.addItems(stack);
+    }
+
+    /**
+     * Add one or more items to the inventory list.
      *
-     * @return number of available slots
+     * @param stack new stack of items to add
+     *
+     * @return true if *stack* was added and false otherwise
      */
-    public int emptySlots()
+    public boolean addItems(ItemStack stack)
     {
-        return this.totalSlots() - this.utilizedSlots();
+        if (this.mergeIntoExisting(stack.getItem(), stack.size())) {
+            return true;
+        }
+
+        return this.addSlot(stack);
     }
 
     /**
-     * Determine if all slots are in use.
+     * Add one item to the inventory list, taking ownership of it. Unlike
+     * {@link #addItem(Item)}, *oneItem* is not copied--the caller must
+     * not modify it afterwards.
+     *
+     * @param oneItem item to add
      *
-     * @return true if all slots contain an ItemStack and false otherwise
+     * @return true if *oneItem* was added and false otherwise
      */
-    public boolean isFull()
+    public boolean adoptItem(Item oneItem)
     {
-        return this.emptySlots() == 0;
+        if (this.mergeIntoExisting(oneItem, 1)) {
+            return true;
+        }
+
+        return this.addSlot(ItemStack.adopt(oneItem, 1));
     }
 
     /**
-     * Add one item to the inventory list.
+     * Add many items to the inventory list. The result is the same as
+     * calling {@link #addItem(Item)} for each Item in order--slots are
+     * claimed by the first occurrence of each Item--but duplicates are
+     * tallied first and each matching stack is updated only once.
      *
-     * @param stack new stack of items to add
+     * @param itemsToAdd items to add (each is copied if it needs a slot)
      *
-     * @return true if *stack* was added and false otherwise
+     * @return number of items added
      */
-    public boolean addItem(Item oneItem)
+    public long addAll(Iterable<Item> itemsToAdd)
     {
-        ItemStack stack = new ItemStack(oneItem);
-        return this.addItems(stack);
+        return this.addAll(itemsToAdd, (item, added) -> { });
     }
 
     /**
-     * Add one or more items to the inventory list.
+     * Add many items to the inventory list, reporting whether each one
+     * was added--see {@link #addAll(Iterable)}.
+     * <p>
+     * *results* is called once per Item, in order. Stack quantities are
+     * not updated until every Item has been examined.
      *
-     * @param stack new stack of items to add
+     * @param itemsToAdd items to add (each is copied if it needs a slot)
+     * @param results receives each Item and whether it was added
      *
-     * @return true if *stack* was added and false otherwise
+     * @return number of items added
      */
-    public boolean addItems(ItemStack stack)
+    public long addAll(Iterable<Item> itemsToAdd, BiConsumer<Item, Boolean> results)
+    {
+        return this.addAll(
+            itemsToAdd, Function.identity(), item -> 1, ItemStack::new, results
+        );
+    }
+
+    /**
+     * Add many items to the inventory list, taking ownership of
+     * them--see {@link #adoptItem(Item)} and {@link #addAll(Iterable, BiConsumer)}.
+     *
+     * @param itemsToAdd items to add
+     * @param results receives each Item and whether it was added
+     *
+     * @return number of items added
+     */
+    public long adoptAll(Iterable<Item> itemsToAdd, BiConsumer<Item, Boolean> results)
+    {
+        return this.addAll(
+            itemsToAdd, Function.identity(), item -> 1, item -> ItemStack.adopt(item, 1), results
+        );
+    }
+
+    /**
+     * Add many stacks to the inventory list. The result is the same as
+     * calling {@link #addItems(ItemStack)} for each stack in order.
+     *
+     * @param stacks stacks to add
+     *
+     * @return number of stacks added
+     */
+    public long addAll(Collection<ItemStack> stacks)
     {
-        Optional<ItemStack> match = this.slots.stream()
-            .filter(entry -> stack.equals(entry))
-            .findFirst();
+        return this.addAll(
+            stacks, ItemStack::getItem, ItemStack::size, Function.identity(), (stack, added) -> { }
+        );
+    }
+
+    /**
+     * Add a sequence of entries (Items or ItemStacks) in one pass.
+     * <p>
+     * Each distinct Item name is looked up in *slotIndex* once. Entries
+     * that merge into a stack are tallied against that stack, and each
+     * tally is applied once all entries have been examined.
+     *
+     * @param entries entries to add
+     * @param itemOf retrieve the Item of an entry
+     * @param sizeOf retrieve the number of items in an entry
+     * @param toSlot create the stack that holds an entry in a new slot
+     * @param results receives each entry and whether it was added
+     *
+     * @return number of entries added
+     */
+    private <T> long addAll(
+        Iterable<T> entries,
+        Function<T, Item> itemOf,
+        ToIntFunction<T> sizeOf,
+        Function<T, ItemStack> toSlot,
+        BiConsumer<? super T, Boolean> results
+    )
+    {
+        final Map<String, PendingMerge> merges = new HashMap<>();
+        long added = 0;
+
+        for (T entry : entries) {
+            final String name = itemOf.apply(entry).getName();
+
+            PendingMerge merge = merges.get(name);
+
+            if (merge == null) {
+                final ItemStack existing = this.slotIndex.get(name);
+
+                if (existing != null && existing.permitsStacking()) {
+                    merge = new PendingMerge(existing);
+                    merges.put(name, merge);
+                }
+            }
+
+            boolean success = true;
+
+            if (merge == null) {
+                if (!this.isFull()) {
+                    final ItemStack stack = toSlot.apply(entry);
+
+                    this.addSlot(stack);
+
+                    // Only the first slot for a name absorbs later merges.
+                    if (stack.permitsStacking() && this.slotIndex.get(name) == stack) {
+                        merges.put(name, new PendingMerge(stack));
+                    }
+                }
+                else {
+                    success = false;
+                }
+            }
+            else if (merge.stack == entry) {
+                // A stack merged into itself doubles--apply the tally so
+                // far, then double it, exactly as addItems(ItemStack) would.
+                merge.stack.addItems(merge.quantity);
+                merge.quantity = 0;
+                merge.stack.addItems(merge.stack.size());
+            }
+            else {
+                merge.quantity += sizeOf.applyAsInt(entry);
+            }
 
-        if (match.isPresent()) {
-            ItemStack matchingStack = match.get();
-            if (matchingStack.permitsStacking()) {
-                matchingStack.addItems(stack.size());
+            if (success) {
+                added++;
+            }
 
-                return true;
+            results.accept(entry, success);
+        }
+
+        for (PendingMerge merge : merges.values()) {
+            if (merge.quantity > 0) {
+                merge.stack.addItems(merge.quantity);
             }
         }
 
-        if (this.emptySlots() == 0) {
+        return added;
+    }
+
+    /**
+     * Add to an existing stack of the same Item, if stacking is permitted.
+     *
+     * @param item type of item to add
+     * @param qty number of items to add
+     *
+     * @return true if a matching stack absorbed the items
+     */
+    private boolean mergeIntoExisting(Item item, int qty)
+    {
+        ItemStack matchingStack = this.slotIndex.get(item.getName());
+
+        if (matchingStack != null && matchingStack.permitsStacking()) {
+            matchingStack.addItems(qty);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Place a stack in the next empty slot.
+     *
+     * @param stack stack to place
+     *
+     * @return true if a slot was available and false otherwise
+     */
+    private boolean addSlot(ItemStack stack)
+    {
+        if (this.isFull()) {
             return false;
         }
 
         slots.add(stack);
+        slotIndex.putIfAbsent(stack.getItem().getName(), stack);
+
+        if (armourIndex != null) {
+            armourIndex.slotAdded(slots.size() - 1, stack);
+        }
+
         return true;
     }
 
     /**
-     * Return the percent filled rounded to the nearest whole number (integer).
+     * Items waiting to be added to one stack during addAll.
      */
-    public int percentFilled()
+    private static final class PendingMerge
     {
-        return (int) Math.round(100.0 * this.utilizedSlots() / capacity);
+        /**
+         * Stack that will absorb the items.
+         */
+        final ItemStack stack;
+
+        /**
+         * Number of items tallied so far.
+         */
+        int quantity;
+
+        PendingMerge(ItemStack target)
+        {
+            this.stack = target;
+        }
+    }
+
+    /**
+     * Retrieve the stack in one slot.
+     *
+     * @param index slot number (in insertion order)
+     *
+     * @return the stack in slot *index*
+     *
+     * @throws IndexOutOfBoundsException if slot *index* is not in use
+     */
+    ItemStack getSlot(int index)
+    {
+        return this.slots.get(index);
     }
 
+    /**
+     * Retrieve the secondary indexes over the Armour in this Inventory.
+     * The indexes are built on first use--an Inventory that is never
+     * queried does not maintain them--and updated as slots are filled.
+     *
+     * @return Armour index of this Inventory
+     */
+    public ArmourIndex armourIndex()
+    {
+        if (this.armourIndex == null) {
+            this.armourIndex = new ArmourIndex(this);
+        }
+
+        return this.armourIndex;
+    }
+
+    /**
+     * Iterate over all slots in insertion order. Slots may not be removed
+     * through the iterator (the slot index would fall out of sync).
+     */
     @Override
     public Iterator<ItemStack> iterator()
     {
-        return this.slots.iterator();
+        return Collections.unmodifiableList(this.slots).iterator();
+    }
+
+    /**
+     * Traverse all slots in insertion order. Unlike the default (which
+     * wraps the iterator and splits off batches one at a time), this
+     * spliterator knows its exact size and splits evenly in halves--a
+     * parallel stream of slots keeps every core busy.
+     */
+    @Override
+    public Spliterator<ItemStack> spliterator()
+    {
+        return Collections.unmodifiableList(this.slots).spliterator();
+    }
+
+    /**
+     * Stream all slots in insertion order.
+     *
+     * @return sequential stream of slots (call parallel() to process the
+     *     slots on all cores)
+     */
+    public Stream<ItemStack> stream()
+    {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Compute aggregate statistics (uses of Consumables, defense of Armour
+     * by material and element) over all slots. The slots are split across
+     * all cores, each part is tallied separately, and the parts are
+     * combined.
+     *
+     * @return statistics of this Inventory
+     */
+    public InventoryStatistics statistics()
+    {
+        return this.stream()
+            .parallel()
+            .collect(InventoryStatistics.collector());
     }
 
     /**
      * *Print* a Summary of the Inventory and all Items contained within.
+     * <p>
+     * The text of each stack is cached by the stack itself. The summary is
+     * rebuilt from those cached fragments only if a slot was added or a
+     * stack changed since the last call--otherwise it is returned as-is.
      */
     @Override
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
     public String toString()
+    {
+        final int count = this.slots.size();
+
+        if (this.summary != null && this.summaryFragments.length == count) {
+            boolean unchanged = true;
+
+            // Each stack returns the very same String until it changes.
+            for (int i = 0; i < count && unchanged; i++) {
+                unchanged = this.slots.get(i).toString() == this.summaryFragments[i];
+            }
+
+            if (unchanged) {
+                return this.summary;
+            }
+        }
+
+        final String[] fragments = new String[count];
+        long length = 32;
+
+        for (int i = 0; i < count; i++) {
+            fragments[i] = this.slots.get(i).toString();
+            length += fragments[i].length() + 1;
+        }
+
+        StringBuilder strBld = new StringBuilder((int) Math.min(length, Integer.MAX_VALUE - 8));
+        appendUsage(strBld, this.percentFilled(), this.capacity);
+
+        for (String fragment : fragments) {
+            strBld.append(fragment);
+            strBld.append('\n');
+        }
+
+        this.summary          = strBld.toString();
+        this.summaryFragments = fragments;
+
+        return this.summary;
+    }
+
+    /**
+     * *Print* a Summary of the Inventory to *out*--the same text as
+     * {@link #toString()}, written a few slots at a time. The whole
+     * summary is never held in memory.
+     *
+     * @param out destination
+     *
+     * @throws IOException if *out* can not be written
+     */
+    public void writeTo(Appendable out)
+        throws IOException
+    {
+        if (out instanceof StringBuilder) {
+            final StringBuilder strBld = (StringBuilder) out;
+
+            appendUsage(strBld, this.percentFilled(), this.capacity);
+
+            for (ItemStack slot : this.slots) {
+                slot.writeTo(strBld);
+                strBld.append('\n');
+            }
+
+            return;
+        }
+
+        // Slots are collected in a small buffer (Items write their ints to
+        // a StringBuilder without creating Strings), which is passed on
+        // each time it fills.
+        final StringBuilder buffer = new StringBuilder(WRITE_BUFFER_SIZE + 256);
+        char[] chars = new char[0];
+
+        appendUsage(buffer, this.percentFilled(), this.capacity);
+
+        for (ItemStack slot : this.slots) {
+            slot.writeTo(buffer);
+            buffer.append('\n');
+
+            if (buffer.length() >= WRITE_BUFFER_SIZE) {
+                chars = passOn(buffer, out, chars);
+            }
+        }
+
+        passOn(buffer, out, chars);
+    }
+
+    /**
+     * Pass the contents of *buffer* to *out*, then empty it. A Writer is
+     * given the chars directly (through *chars*)--Writer.append would
+     * copy them into a new String.
+     *
+     * @return *chars*, or a larger array if *chars* was too small
+     */
+    private static char[] passOn(StringBuilder buffer, Appendable out, char[] chars)
+        throws IOException
+    {
+        final int length = buffer.length();
+        char[] scratch = chars;
+
+        if (out instanceof Writer) {
+            if (scratch.length < length) {
+                scratch = new char[Math.max(length, WRITE_BUFFER_SIZE + 256)];
+            }
+
+            buffer.getChars(0, length, scratch, 0);
+            ((Writer) out).write(scratch, 0, length);
+        }
+        else {
+            out.append(buffer);
+        }
+
+        buffer.setLength(0);
+
+        return scratch;
+    }
+
+    /**
+     * *Print* a Summary of the Inventory to a channel (as UTF-8).
+     *
+     * @param channel destination (left open)
+     *
+     * @throws IOException if *channel* can not be written
+     */
+    public void writeTo(WritableByteChannel channel)
+        throws IOException
+    {
+        final Writer out = Item.newChannelWriter(channel);
+
+        this.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * *Print* a Summary of an Inventory and all Items contained within.
+     *
+     * @param percent percent of slots filled
+     * @param capacity total number of slots
+     * @param slots stacks to list (in slot order)
+     *
+     * @return the summary
+     */
+    static String summarize(int percent, int capacity, Iterable<ItemStack> slots)
     {
         StringBuilder strBld = new StringBuilder();
 
-        // Print the usage summary
-        strBld.append(String.format(" -Used %3d%% of %d slots%n",
-                                     percentFilled(), capacity));
+        appendUsage(strBld, percent, capacity);
 
         // Print the Items
         for (ItemStack slot : slots) {
@@ -166,4 +611,19 @@ public class Inventory implements Iterable<ItemStack>
 
         return strBld.toString();
     }
+
+    /**
+     * Print the usage summary--i.e., " -Used %3d%% of %d slots%n".
+     */
+    private static void appendUsage(StringBuilder strBld, int percent, int capacity)
+    {
+        final String percentStr = Integer.toString(percent);
+
+        strBld.append(" -Used ");
+        for (int pad = percentStr.length(); pad < 3; pad++) {
+            strBld.append(' ');
+        }
+        strBld.append(percentStr).append("% of ").append(capacity).append(" slots")
+              .append(System.lineSeparator());
+    }
 }
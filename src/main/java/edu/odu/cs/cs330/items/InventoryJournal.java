@@ -0,0 +1,766 @@
+package edu.odu.cs.cs330.items;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A durable Inventory--every change is recorded in an append-only journal
+ * before it is considered committed.
+ * <p>
+ * The journal directory holds at most one generation of files:
+ * <ul>
+ *   <li>snapshot-*gen*.snap--an {@link InventorySnapshot} of the
+ *       Inventory when the generation began (absent for generation 0)</li>
+ *   <li>journal-*gen*.log--every change made since</li>
+ * </ul>
+ * Records are buffered and written, with a single fsync, by
+ * {@link #commit()}--either explicitly or once *recordsPerCommit* records
+ * are pending (group commit). Once the journal grows past
+ * *compactionThreshold* bytes, {@link #compact()} starts a new generation.
+ * <p>
+ * Opening a journal directory recovers the last committed state: the
+ * newest snapshot is loaded and its journal replayed, rebuilding the slots
+ * in their original order with their original quantities. A torn record
+ * at the end of the journal (e.g., from a crash during a write) is
+ * discarded.
+ */
+@SuppressWarnings({
+    "PMD.LawOfDemeter",
+    "PMD.AvoidLiteralsInIfCondition",
+    "PMD.TooManyMethods"
+})
+public final class InventoryJournal implements Closeable {
+    /**
+     * First four bytes of every journal file ("INVJ").
+     */
+    public static final int MAGIC = 0x494E564A;
+
+    /**
+     * Current journal format version.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * Default number of records per group commit.
+     */
+    public static final int DEFAULT_RECORDS_PER_COMMIT = 256;
+
+    /**
+     * Default journal size (in bytes) that triggers compaction.
+     */
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 64L << 20;
+
+    /**
+     * Record: define the next String (UTF-8 length and bytes).
+     */
+    static final byte STRING_RECORD = 1;
+
+    /**
+     * Record: a stack placed in a new slot (a snapshot slot record).
+     */
+    static final byte INSERT_RECORD = 2;
+
+    /**
+     * Record: items merged into a slot (slot and quantity).
+     */
+    static final byte MERGE_RECORD = 3;
+
+    /**
+     * Record: items removed from a slot (slot and quantity).
+     */
+    static final byte REMOVE_RECORD = 4;
+
+    /**
+     * Bytes in each record header (length and CRC-32 of the payload).
+     */
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    /**
+     * Bytes in the journal file header (magic, version, capacity).
+     */
+    private static final int FILE_HEADER_SIZE = 4 + 1 + 4;
+
+    /**
+     * Directory holding the snapshot and journal.
+     */
+    private final Path directory;
+
+    /**
+     * Pending records per group commit (0 for explicit commits only).
+     */
+    private final int recordsPerCommit;
+
+    /**
+     * Journal size that triggers compaction.
+     */
+    private final long compactionThreshold;
+
+    /**
+     * The recovered (and current) Inventory.
+     */
+    private final Inventory inventory;
+
+    /**
+     * First slot holding each Item name--i.e., the slot a merge updates.
+     */
+    private final Map<String, Integer> firstSlots;
+
+    /**
+     * Index of each String already defined in the current journal.
+     */
+    private final Map<String, Integer> stringIds;
+
+    /**
+     * Payload of the record being built.
+     */
+    private final ByteArrayOutputStream payload;
+
+    /**
+     * Encoder writing into *payload*.
+     */
+    private final InventorySnapshot.Encoder record;
+
+    /**
+     * Framed records not yet committed.
+     */
+    private ByteBuffer pending;
+
+    /**
+     * Number of records in *pending*.
+     */
+    private int pendingRecords;
+
+    /**
+     * Current generation.
+     */
+    private long generation;
+
+    /**
+     * Current journal file.
+     */
+    private FileChannel journal;
+
+    /**
+     * Open (or create) a journal with the default commit and compaction
+     * settings.
+     *
+     * @param dir directory holding the journal (created if needed)
+     * @param capacity Inventory size, if the directory holds no Inventory
+     *
+     * @throws IOException if the journal can not be read or created
+     */
+    public InventoryJournal(Path dir, int capacity)
+        throws IOException
+    {
+        this(dir, capacity, DEFAULT_RECORDS_PER_COMMIT, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Open (or create) a journal, recovering any Inventory it holds.
+     *
+     * @param dir directory holding the journal (created if needed)
+     * @param capacity Inventory size, if the directory holds no Inventory
+     * @param groupSize pending records that trigger a commit (0 to commit
+     *     only when {@link #commit()} is called)
+     * @param compactAt journal size (in bytes) that triggers compaction
+     *
+     * @throws IOException if the journal can not be read or created
+     */
+    public InventoryJournal(Path dir, int capacity, int groupSize, long compactAt)
+        throws IOException
+    {
+        this.directory           = Files.createDirectories(dir);
+        this.recordsPerCommit    = groupSize;
+        this.compactionThreshold = compactAt;
+        this.firstSlots          = new HashMap<>();
+        this.stringIds           = new HashMap<>();
+        this.payload             = new ByteArrayOutputStream();
+        this.record              = new InventorySnapshot.Encoder(Channels.newChannel(this.payload), 256);
+        this.pending             = ByteBuffer.allocate(1 << 16);
+
+        this.generation = this.latestGeneration();
+
+        final Path snapshot = this.snapshotFile(this.generation);
+        this.inventory = Files.exists(snapshot)
+            ? InventorySnapshot.load(snapshot)
+            : new Inventory(this.journalCapacity(capacity));
+
+        int slot = 0;
+        for (ItemStack stack : this.inventory) {
+            this.firstSlots.putIfAbsent(stack.getItem().getName(), slot++);
+        }
+
+        try {
+            this.replay();
+            this.removeOtherGenerations();
+        }
+        catch (IOException | RuntimeException e) {
+            // The journal is never handed out--close it here.
+            if (this.journal != null) {
+                try {
+                    this.journal.close();
+                }
+                catch (IOException closeError) {
+                    e.addSuppressed(closeError);
+                }
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieve the Inventory. It must only be changed through this journal.
+     *
+     * @return the current Inventory (including uncommitted changes)
+     */
+    public Inventory getInventory()
+    {
+        return this.inventory;
+    }
+
+    /**
+     * Add one item--see {@link Inventory#addItem(Item)}.
+     *
+     * @param oneItem item to add (it is copied)
+     *
+     * @return true if *oneItem* was added and false otherwise
+     *
+     * @throws IOException if a group commit or compaction fails
+     * @throws IllegalArgumentException if the Item is not an Armour or
+     *     Consumable (the Inventory is left unchanged)
+     */
+    public boolean addItem(Item oneItem)
+        throws IOException
+    {
+        return this.store(new ItemStack(oneItem));
+    }
+
+    /**
+     * Add one or more items--see {@link Inventory#addItems(ItemStack)}.
+     * Unlike Inventory, a new slot holds a copy of *stack*.
+     *
+     * @param stack new stack of items to add
+     *
+     * @return true if *stack* was added and false otherwise
+     *
+     * @throws IOException if a group commit or compaction fails
+     * @throws IllegalArgumentException if the Item is not an Armour or
+     *     Consumable (the Inventory is left unchanged)
+     */
+    public boolean addItems(ItemStack stack)
+        throws IOException
+    {
+        return this.store(stack.clone());
+    }
+
+    /**
+     * Add a stack (that no one else holds) and record the result.
+     * <p>
+     * The Item is checked before the Inventory changes--an Item the
+     * journal can not record must not reach memory only.
+     */
+    private boolean store(ItemStack copy)
+        throws IOException
+    {
+        InventorySnapshot.tagOf(copy.getItem());
+
+        final int slot = this.inventory.utilizedSlots();
+
+        if (!this.inventory.addItems(copy)) {
+            return false;
+        }
+
+        if (this.inventory.utilizedSlots() > slot) {
+            this.firstSlots.putIfAbsent(copy.getItem().getName(), slot);
+            this.appendInsert(copy);
+        }
+        else {
+            this.appendChange(
+                MERGE_RECORD, this.firstSlots.get(copy.getItem().getName()), copy.size()
+            );
+        }
+
+        this.endOperation();
+
+        return true;
+    }
+
+    /**
+     * Remove items from a slot--see {@link ItemStack#removeItems(int)}.
+     *
+     * @param slot slot number (in insertion order)
+     * @param qty number of items to remove
+     *
+     * @return number of items actually removed
+     *
+     * @throws IOException if a group commit or compaction fails
+     * @throws IndexOutOfBoundsException if *slot* is not in use
+     */
+    public int removeItems(int slot, int qty)
+        throws IOException
+    {
+        final int removed = this.inventory.getSlot(slot).removeItems(qty);
+
+        if (removed > 0) {
+            this.appendChange(REMOVE_RECORD, slot, removed);
+            this.endOperation();
+        }
+
+        return removed;
+    }
+
+    /**
+     * Write all pending records and force them to disk.
+     *
+     * @throws IOException if an output error occurs
+     */
+    public void commit()
+        throws IOException
+    {
+        if (this.pendingRecords == 0) {
+            return;
+        }
+
+        this.writePending();
+
+        if (this.journal.size() >= this.compactionThreshold) {
+            this.compact();
+        }
+    }
+
+    /**
+     * Start a new generation: commit, snapshot the Inventory and begin an
+     * empty journal, then remove the previous generation's files.
+     *
+     * @throws IOException if an output error occurs
+     */
+    public void compact()
+        throws IOException
+    {
+        this.writePending();
+
+        final long next = this.generation + 1;
+        final Path snapshot = this.snapshotFile(next);
+        final Path temp = this.directory.resolve(snapshot.getFileName() + ".tmp");
+
+        try (FileChannel out = FileChannel.open(
+            temp,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            InventorySnapshot.write(this.inventory, out);
+            out.force(true);
+        }
+
+        Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE);
+        this.syncDirectory();
+
+        // The new snapshot is complete--everything after this is cleanup.
+        this.journal.close();
+        this.generation = next;
+        this.stringIds.clear();
+        this.openJournal();
+        this.removeOtherGenerations();
+    }
+
+    /**
+     * Commit pending records and close the journal.
+     *
+     * @throws IOException if an output error occurs
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        try {
+            this.commit();
+        }
+        finally {
+            this.journal.close();
+        }
+    }
+
+    /**
+     * Write all pending records (one write) and force them to disk (one
+     * fsync).
+     */
+    private void writePending()
+        throws IOException
+    {
+        if (this.pendingRecords == 0) {
+            return;
+        }
+
+        this.pending.flip();
+        while (this.pending.hasRemaining()) {
+            this.journal.write(this.pending);
+        }
+        this.pending.clear();
+        this.pendingRecords = 0;
+
+        this.journal.force(false);
+    }
+
+    /**
+     * Append a new-slot record, defining any Strings it needs first.
+     */
+    private void appendInsert(ItemStack stack)
+        throws IOException
+    {
+        final List<String> undefined = new ArrayList<>();
+
+        InventorySnapshot.forEachString(stack.getItem(), str -> {
+            if (str != null && !this.stringIds.containsKey(str) && !undefined.contains(str)) {
+                undefined.add(str);
+            }
+        });
+
+        for (String str : undefined) {
+            this.stringIds.put(str, this.stringIds.size());
+
+            final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            this.record.putByte(STRING_RECORD);
+            this.record.putVarint(bytes.length);
+            this.record.putBytes(bytes);
+            this.endRecord();
+        }
+
+        this.record.putByte(INSERT_RECORD);
+        InventorySnapshot.putStack(
+            this.record, stack, str -> str == null ? 0 : this.stringIds.get(str) + 1
+        );
+        this.endRecord();
+    }
+
+    /**
+     * Append a merge or removal record.
+     */
+    private void appendChange(byte type, int slot, int qty)
+        throws IOException
+    {
+        this.record.putByte(type);
+        this.record.putVarint(slot);
+        this.record.putVarint(qty);
+        this.endRecord();
+    }
+
+    /**
+     * Frame the record built in *payload* and queue it for the next commit.
+     */
+    private void endRecord()
+        throws IOException
+    {
+        this.record.flush();
+
+        final byte[] bytes = this.payload.toByteArray();
+        this.payload.reset();
+
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        if (this.pending.remaining() < RECORD_HEADER_SIZE + bytes.length) {
+            final ByteBuffer larger = ByteBuffer.allocate(
+                Math.max(this.pending.capacity() * 2, this.pending.position() + RECORD_HEADER_SIZE + bytes.length)
+            );
+            this.pending.flip();
+            larger.put(this.pending);
+            this.pending = larger;
+        }
+
+        this.pending.putInt(bytes.length);
+        this.pending.putInt((int) crc.getValue());
+        this.pending.put(bytes);
+        this.pendingRecords++;
+    }
+
+    /**
+     * Commit if a full group of records is pending. This is only called
+     * between operations--a group never ends in the middle of one (e.g.,
+     * between a String and the slot that uses it).
+     */
+    private void endOperation()
+        throws IOException
+    {
+        if (this.recordsPerCommit > 0 && this.pendingRecords >= this.recordsPerCommit) {
+            this.commit();
+        }
+    }
+
+    /**
+     * Retrieve the Inventory size recorded in the current journal.
+     *
+     * @param capacity size to use if there is no (valid) journal
+     */
+    private int journalCapacity(int capacity)
+        throws IOException
+    {
+        final Path file = this.journalFile(this.generation);
+
+        if (!Files.exists(file)) {
+            return capacity;
+        }
+
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            in.read(header, 0);
+
+            return header.position() == FILE_HEADER_SIZE && header.getInt(0) == MAGIC
+                ? header.getInt(5)
+                : capacity;
+        }
+    }
+
+    /**
+     * Apply every intact record in the current journal (creating the
+     * journal if it does not exist) and truncate any torn record.
+     */
+    private void replay()
+        throws IOException
+    {
+        final Path file = this.journalFile(this.generation);
+
+        if (!Files.exists(file)) {
+            this.openJournal();
+            return;
+        }
+
+        this.journal = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        final long size = this.journal.size();
+        final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        this.journal.read(header, 0);
+
+        if (header.position() < FILE_HEADER_SIZE || header.getInt(0) != MAGIC) {
+            this.journal.close();
+            throw new IOException(file + " is not an inventory journal");
+        }
+
+        if (header.get(4) != VERSION) {
+            this.journal.close();
+            throw new IOException("unsupported journal version " + header.get(4));
+        }
+
+        final List<String> strings = new ArrayList<>();
+        final InventorySnapshot.StringTable table = reference -> {
+            if (reference == 0) {
+                return null;
+            }
+            if (reference > strings.size()) {
+                throw new IOException("bad string reference in inventory journal");
+            }
+            return strings.get(reference - 1);
+        };
+
+        final ByteBuffer frame = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        long position = FILE_HEADER_SIZE;
+
+        while (position + RECORD_HEADER_SIZE <= size) {
+            frame.clear();
+            this.journal.read(frame, position);
+
+            final int length = frame.getInt(0);
+            if (length < 0 || position + RECORD_HEADER_SIZE + length > size) {
+                break;
+            }
+
+            final ByteBuffer bytes = ByteBuffer.allocate(length);
+            while (bytes.hasRemaining()) {
+                if (this.journal.read(bytes, position + RECORD_HEADER_SIZE + bytes.position()) < 0) {
+                    break;
+                }
+            }
+            bytes.flip();
+
+            final CRC32 crc = new CRC32();
+            crc.update(bytes.duplicate());
+            if ((int) crc.getValue() != frame.getInt(4)) {
+                break;
+            }
+
+            this.apply(new InventorySnapshot.Decoder(bytes), strings, table);
+            position += RECORD_HEADER_SIZE + length;
+        }
+
+        // Anything past the last intact record was never committed.
+        this.journal.truncate(position);
+        this.journal.position(position);
+
+        for (int i = 0; i < strings.size(); i++) {
+            this.stringIds.put(strings.get(i), i);
+        }
+    }
+
+    /**
+     * Apply one journal record to the Inventory.
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private void apply(
+        InventorySnapshot.Decoder in,
+        List<String> strings,
+        InventorySnapshot.StringTable table
+    )
+        throws IOException
+    {
+        try {
+            final byte type = in.getByte();
+
+            if (type == STRING_RECORD) {
+                strings.add(in.getString());
+            }
+            else if (type == INSERT_RECORD) {
+                final ItemStack stack = in.getStack(table);
+                final int slot = this.inventory.utilizedSlots();
+
+                this.inventory.addItems(stack);
+
+                if (this.inventory.utilizedSlots() != slot + 1) {
+                    throw new IOException("journal does not match its snapshot");
+                }
+
+                this.firstSlots.putIfAbsent(stack.getItem().getName(), slot);
+            }
+            else if (type == MERGE_RECORD) {
+                this.inventory.getSlot(in.getVarint()).addItems(in.getVarint());
+            }
+            else if (type == REMOVE_RECORD) {
+                this.inventory.getSlot(in.getVarint()).removeItems(in.getVarint());
+            }
+            else {
+                throw new IOException("unknown journal record type " + type);
+            }
+        }
+        catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("journal does not match its snapshot", e);
+        }
+    }
+
+    /**
+     * Create an empty journal for the current generation.
+     */
+    private void openJournal()
+        throws IOException
+    {
+        this.journal = FileChannel.open(
+            this.journalFile(this.generation),
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        );
+
+        final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.put(VERSION);
+        header.putInt(this.inventory.totalSlots());
+        header.flip();
+
+        while (header.hasRemaining()) {
+            this.journal.write(header);
+        }
+        this.journal.force(true);
+    }
+
+    /**
+     * Find the newest generation with a snapshot (0 if there is none).
+     */
+    private long latestGeneration()
+        throws IOException
+    {
+        long latest = 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "snapshot-*.snap")) {
+            for (Path file : files) {
+                latest = Math.max(latest, generationOf(file));
+            }
+        }
+
+        return latest;
+    }
+
+    /**
+     * Remove snapshots, journals and temporary files that do not belong
+     * to the current generation.
+     */
+    private void removeOtherGenerations()
+        throws IOException
+    {
+        final List<Path> stale = new ArrayList<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+            for (Path file : files) {
+                final String name = file.getFileName().toString();
+
+                if (name.endsWith(".tmp")
+                    || (name.startsWith("snapshot-") || name.startsWith("journal-"))
+                        && generationOf(file) != this.generation) {
+                    stale.add(file);
+                }
+            }
+        }
+
+        for (Path file : stale) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Parse the generation from a snapshot or journal file name.
+     *
+     * @return the generation or -1 if the name does not contain one
+     */
+    private static long generationOf(Path file)
+    {
+        final String name = file.getFileName().toString();
+        final int start = name.indexOf('-') + 1;
+        final int end = name.indexOf('.', start);
+
+        try {
+            return Long.parseLong(name.substring(start, end < 0 ? name.length() : end));
+        }
+        catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Make a rename in the journal directory durable (where the platform
+     * allows a directory to be opened and forced).
+     */
+    private void syncDirectory()
+    {
+        try (FileChannel dir = FileChannel.open(this.directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+        catch (IOException e) {
+            // Not supported on this platform--rely on the file system.
+        }
+    }
+
+    private Path snapshotFile(long gen)
+    {
+        return this.directory.resolve("snapshot-" + gen + ".snap");
+    }
+
+    private Path journalFile(long gen)
+    {
+        return this.directory.resolve("journal-" + gen + ".log");
+    }
+}
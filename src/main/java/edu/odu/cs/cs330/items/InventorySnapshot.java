@@ -0,0 +1,756 @@
+package edu.odu.cs.cs330.items;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Save and load Inventories in a compact binary format.
+ * <p>
+ * A snapshot is laid out as follows (all fixed-width values are
+ * big-endian; *varint* denotes an unsigned LEB128 value and *zigzag* a
+ * signed one):
+ * <pre>
+ *   header   magic "INVS", version byte, capacity (varint)
+ *   strings  count (varint), then per String: UTF-8 length (varint), bytes
+ *   slots    count (varint), then per slot: type tag byte, quantity
+ *            (varint) and the Item fields--Strings are written as
+ *            1 + their index in the string table (0 for null) and ints as
+ *            zigzag varints
+ *   index    offset (8 bytes) of each String, then of each slot
+ *   footer   index offset (8 bytes), String count (4), slot count (4),
+ *            CRC-32 of everything before it (4)
+ * </pre>
+ * Every distinct String (names, materials, modifiers, elements and
+ * effects) is stored once. The index and footer let a reader locate any
+ * String or slot without decoding those before it.
+ */
+@SuppressWarnings({
+    "PMD.LawOfDemeter",
+    "PMD.AvoidLiteralsInIfCondition",
+    "PMD.ClassNamingConventions"
+})
+public final class InventorySnapshot {
+    /**
+     * First four bytes of every snapshot ("INVS").
+     */
+    public static final int MAGIC = 0x494E5653;
+
+    /**
+     * Current format version.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * Type tag of an Armour slot.
+     */
+    static final byte ARMOUR_TAG = 1;
+
+    /**
+     * Type tag of a Consumable slot.
+     */
+    static final byte CONSUMABLE_TAG = 2;
+
+    /**
+     * Size of the footer in bytes.
+     */
+    static final int FOOTER_SIZE = 8 + 4 + 4 + 4;
+
+    /**
+     * Size of the buffer through which snapshots are written.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * This is a utility class (all static functions). No instances should ever
+     * be instantiated.
+     */
+    private InventorySnapshot()
+    {
+
+    }
+
+    /**
+     * Write an Inventory to a file (replacing any existing file).
+     * <p>
+     * The snapshot is written to a temporary file in the same directory,
+     * forced to disk and then moved over *file* in one atomic step--a
+     * crash part way through leaves any previous snapshot intact.
+     *
+     * @param inventory Inventory to save
+     * @param file destination
+     *
+     * @throws IOException if an output error occurs
+     * @throws IllegalArgumentException if a slot holds an Item that is not
+     *     an Armour or Consumable
+     */
+    public static void save(Inventory inventory, Path file)
+        throws IOException
+    {
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        boolean moved = false;
+
+        try {
+            try (FileChannel channel = FileChannel.open(
+                temp,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING
+            )) {
+                write(inventory, channel);
+                channel.force(true);
+            }
+
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        }
+        finally {
+            if (!moved) {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        syncDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Force a directory entry change (e.g., a rename) to disk, where the
+     * platform supports it.
+     */
+    private static void syncDirectory(Path directory)
+    {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+        catch (IOException e) {
+            // Not supported on this platform--rely on the file system.
+        }
+    }
+
+    /**
+     * Write an Inventory to a channel.
+     *
+     * @param inventory Inventory to save
+     * @param channel destination (left open)
+     *
+     * @throws IOException if an output error occurs
+     * @throws IllegalArgumentException if a slot holds an Item that is not
+     *     an Armour or Consumable
+     */
+    public static void write(Inventory inventory, WritableByteChannel channel)
+        throws IOException
+    {
+        // Assign every String an index (in order of first use).
+        final Map<String, Integer> ids = new HashMap<>();
+        final List<String> strings = new ArrayList<>();
+        int slotCount = 0;
+
+        for (ItemStack stack : inventory) {
+            forEachString(stack.getItem(), str -> addString(str, ids, strings));
+            slotCount++;
+        }
+
+        final Encoder out = new Encoder(channel);
+        final long[] stringOffsets = new long[strings.size()];
+        final long[] slotOffsets = new long[slotCount];
+
+        out.putInt(MAGIC);
+        out.putByte(VERSION);
+        out.putVarint(inventory.totalSlots());
+
+        out.putVarint(strings.size());
+        for (int i = 0; i < stringOffsets.length; i++) {
+            stringOffsets[i] = out.position();
+
+            final byte[] bytes = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            out.putVarint(bytes.length);
+            out.putBytes(bytes);
+        }
+
+        out.putVarint(slotCount);
+
+        int slot = 0;
+        for (ItemStack stack : inventory) {
+            slotOffsets[slot++] = out.position();
+
+            putStack(out, stack, str -> stringRef(str, ids));
+        }
+
+        final long indexOffset = out.position();
+        for (long offset : stringOffsets) {
+            out.putLong(offset);
+        }
+        for (long offset : slotOffsets) {
+            out.putLong(offset);
+        }
+
+        out.putLong(indexOffset);
+        out.putInt(stringOffsets.length);
+        out.putInt(slotCount);
+        out.finish();
+    }
+
+    /**
+     * Pass every String field of an Item (including null ones) to *action*.
+     *
+     * @throws IllegalArgumentException if *item* is not an Armour or
+     *     Consumable
+     */
+    static void forEachString(Item item, Consumer<String> action)
+    {
+        if (tagOf(item) == ARMOUR_TAG) {
+            final Armour armour = (Armour) item;
+
+            action.accept(armour.getName());
+            action.accept(armour.getMaterial());
+            action.accept(armour.getModifier());
+            action.accept(armour.getElement());
+        }
+        else {
+            final Consumable consumable = (Consumable) item;
+
+            action.accept(consumable.getName());
+            action.accept(consumable.getEffect());
+        }
+    }
+
+    /**
+     * Determine the type tag under which an Item is saved. Only Armour and
+     * Consumable themselves can be saved--a subclass may hold state that
+     * the format does not record, so it is rejected rather than saved (and
+     * later loaded) as its base class.
+     *
+     * @param item Item to check
+     *
+     * @return ARMOUR_TAG or CONSUMABLE_TAG
+     *
+     * @throws IllegalArgumentException if *item* is not exactly an Armour
+     *     or Consumable
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    static byte tagOf(Item item)
+    {
+        if (item.getClass() == Armour.class) {
+            return ARMOUR_TAG;
+        }
+
+        if (item.getClass() == Consumable.class) {
+            return CONSUMABLE_TAG;
+        }
+
+        throw new IllegalArgumentException(
+            "can not save " + item.getClass().getName() + " " + item.getName()
+        );
+    }
+
+    /**
+     * Write one slot record.
+     *
+     * @param out destination
+     * @param stack stack to write
+     * @param refs reference (1 + index, or 0 for null) of each String
+     *
+     * @throws IllegalArgumentException if the Item is not exactly an
+     *     Armour or Consumable--see {@link #tagOf(Item)}
+     */
+    static void putStack(Encoder out, ItemStack stack, ToIntFunction<String> refs)
+        throws IOException
+    {
+        final Item item = stack.getItem();
+
+        if (tagOf(item) == ARMOUR_TAG) {
+            final Armour armour = (Armour) item;
+
+            out.putByte(ARMOUR_TAG);
+            out.putVarint(stack.size());
+            out.putVarint(refs.applyAsInt(armour.getName()));
+            out.putVarint(refs.applyAsInt(armour.getMaterial()));
+            out.putZigzag(armour.getDurability());
+            out.putZigzag(armour.getDefense());
+            out.putVarint(refs.applyAsInt(armour.getModifier()));
+            out.putZigzag(armour.getModifierLevel());
+            out.putVarint(refs.applyAsInt(armour.getElement()));
+        }
+        else {
+            final Consumable consumable = (Consumable) item;
+
+            out.putByte(CONSUMABLE_TAG);
+            out.putVarint(stack.size());
+            out.putVarint(refs.applyAsInt(consumable.getName()));
+            out.putVarint(refs.applyAsInt(consumable.getEffect()));
+            out.putZigzag(consumable.getNumberOfUses());
+        }
+    }
+
+    /**
+     * Load an Inventory from a file.
+     *
+     * @param file snapshot to read
+     *
+     * @return Inventory equal to the one that was saved
+     *
+     * @throws IOException if an input error occurs or the file is not a
+     *     valid snapshot
+     */
+    public static Inventory load(Path file)
+        throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Load an Inventory from a channel (read to its end).
+     *
+     * @param channel source (left open)
+     *
+     * @return Inventory equal to the one that was saved
+     *
+     * @throws IOException if an input error occurs or the data is not a
+     *     valid snapshot
+     */
+    public static Inventory read(ReadableByteChannel channel)
+        throws IOException
+    {
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+
+        while (channel.read(bytes) >= 0) {
+            if (!bytes.hasRemaining()) {
+                final ByteBuffer larger = ByteBuffer.allocate(bytes.capacity() * 2);
+                bytes.flip();
+                larger.put(bytes);
+                bytes = larger;
+            }
+        }
+
+        bytes.flip();
+        return decode(bytes);
+    }
+
+    /**
+     * Check the header, footer and checksum of a snapshot.
+     *
+     * @param bytes entire snapshot
+     *
+     * @return offset of the index
+     *
+     * @throws IOException if *bytes* is not a valid snapshot
+     */
+    static long verify(ByteBuffer bytes)
+        throws IOException
+    {
+        final ByteBuffer data = bytes.duplicate().order(ByteOrder.BIG_ENDIAN);
+        final int end = data.limit();
+
+        if (end < 5 + FOOTER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("not an inventory snapshot");
+        }
+
+        if (data.get(4) != VERSION) {
+            throw new IOException("unsupported snapshot version " + data.get(4));
+        }
+
+        final CRC32 crc = new CRC32();
+        data.limit(end - 4);
+        crc.update(data);
+
+        if ((int) crc.getValue() != bytes.getInt(end - 4)) {
+            throw new IOException("snapshot checksum mismatch");
+        }
+
+        return bytes.getLong(end - FOOTER_SIZE);
+    }
+
+    /**
+     * Decode a complete snapshot. The String and slot counts are checked
+     * against the footer, and against the bytes left before the index,
+     * before anything is allocated for them.
+     */
+    private static Inventory decode(ByteBuffer bytes)
+        throws IOException
+    {
+        final long indexOffset = verify(bytes);
+
+        final int footerOffset = bytes.limit() - FOOTER_SIZE;
+        final int stringCount = bytes.getInt(footerOffset + 8);
+        final int slotCount = bytes.getInt(footerOffset + 12);
+
+        if (stringCount < 0 || slotCount < 0 || indexOffset < 5
+            || indexOffset + 8L * (stringCount + (long) slotCount) != footerOffset) {
+            throw new IOException("corrupt inventory snapshot footer");
+        }
+
+        final Decoder in = new Decoder(bytes);
+
+        try {
+            in.skip(5);
+
+            final Inventory inventory = new Inventory(in.getVarint());
+
+            // Every String takes at least its length byte.
+            final int stringsRead = in.getVarint();
+            if (stringsRead != stringCount || stringsRead > indexOffset - in.position()) {
+                throw new IOException("bad string count in inventory snapshot");
+            }
+
+            final String[] strings = new String[stringsRead];
+
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.getString();
+            }
+
+            final StringTable table = reference -> {
+                if (reference == 0) {
+                    return null;
+                }
+                if (reference > strings.length) {
+                    throw new IOException("bad string reference in inventory snapshot");
+                }
+                return strings[reference - 1];
+            };
+
+            // Every slot takes at least a tag, a quantity and a name.
+            final int slotsRead = in.getVarint();
+            if (slotsRead != slotCount || 3L * slotsRead > indexOffset - in.position()) {
+                throw new IOException("bad slot count in inventory snapshot");
+            }
+
+            for (int i = 0; i < slotsRead; i++) {
+                final ItemStack stack = in.getStack(table);
+
+                if (!inventory.addItems(stack)) {
+                    throw new IOException("snapshot holds more slots than its capacity");
+                }
+            }
+
+            return inventory;
+        }
+        catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("truncated inventory snapshot", e);
+        }
+    }
+
+    /**
+     * Record the index of a String the first time it is seen.
+     */
+    private static void addString(String str, Map<String, Integer> ids, List<String> strings)
+    {
+        if (str != null && !ids.containsKey(str)) {
+            ids.put(str, strings.size());
+            strings.add(str);
+        }
+    }
+
+    /**
+     * Retrieve the reference written for a String (0 for null).
+     */
+    private static int stringRef(String str, Map<String, Integer> ids)
+    {
+        return str == null ? 0 : ids.get(str) + 1;
+    }
+
+    /**
+     * Buffered writer that tracks its position and checksum.
+     */
+    static final class Encoder {
+        /**
+         * Destination of all bytes.
+         */
+        private final WritableByteChannel channel;
+
+        /**
+         * Bytes not yet written to *channel*.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Checksum of all bytes written so far.
+         */
+        private final CRC32 crc;
+
+        /**
+         * Number of bytes already written to *channel*.
+         */
+        private long flushed;
+
+        Encoder(WritableByteChannel destination)
+        {
+            this(destination, BUFFER_SIZE);
+        }
+
+        Encoder(WritableByteChannel destination, int bufferSize)
+        {
+            this.channel = destination;
+            this.buffer  = ByteBuffer.allocate(bufferSize);
+            this.crc     = new CRC32();
+        }
+
+        long position()
+        {
+            return this.flushed + this.buffer.position();
+        }
+
+        void putByte(byte value)
+            throws IOException
+        {
+            this.reserve(1);
+            this.buffer.put(value);
+        }
+
+        void putInt(int value)
+            throws IOException
+        {
+            this.reserve(4);
+            this.buffer.putInt(value);
+        }
+
+        void putLong(long value)
+            throws IOException
+        {
+            this.reserve(8);
+            this.buffer.putLong(value);
+        }
+
+        void putVarint(int value)
+            throws IOException
+        {
+            this.reserve(5);
+
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                this.buffer.put((byte) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            this.buffer.put((byte) remaining);
+        }
+
+        void putZigzag(int value)
+            throws IOException
+        {
+            this.putVarint((value << 1) ^ (value >> 31));
+        }
+
+        void putBytes(byte[] bytes)
+            throws IOException
+        {
+            if (bytes.length > this.buffer.remaining()) {
+                this.flush();
+            }
+
+            if (bytes.length > this.buffer.capacity()) {
+                this.drain(ByteBuffer.wrap(bytes));
+            }
+            else {
+                this.buffer.put(bytes);
+            }
+        }
+
+        /**
+         * Write the checksum and everything still buffered.
+         */
+        void finish()
+            throws IOException
+        {
+            this.flush();
+            this.buffer.putInt((int) this.crc.getValue());
+            this.buffer.flip();
+            this.drainRaw(this.buffer);
+            this.buffer.clear();
+        }
+
+        private void reserve(int bytes)
+            throws IOException
+        {
+            if (this.buffer.remaining() < bytes) {
+                this.flush();
+            }
+        }
+
+        /**
+         * Write everything buffered so far.
+         */
+        void flush()
+            throws IOException
+        {
+            this.buffer.flip();
+            this.drain(this.buffer);
+            this.buffer.clear();
+        }
+
+        private void drain(ByteBuffer bytes)
+            throws IOException
+        {
+            this.crc.update(bytes.duplicate());
+            this.flushed += bytes.remaining();
+            this.drainRaw(bytes);
+        }
+
+        private void drainRaw(ByteBuffer bytes)
+            throws IOException
+        {
+            while (bytes.hasRemaining()) {
+                this.channel.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Reader over a (verified) snapshot.
+     */
+    static final class Decoder {
+        /**
+         * Bytes being decoded.
+         */
+        private final ByteBuffer bytes;
+
+        Decoder(ByteBuffer source)
+        {
+            this.bytes = source.duplicate().order(ByteOrder.BIG_ENDIAN);
+        }
+
+        void skip(int count)
+        {
+            this.bytes.position(this.bytes.position() + count);
+        }
+
+        byte getByte()
+        {
+            return this.bytes.get();
+        }
+
+        int getVarint()
+            throws IOException
+        {
+            int value = 0;
+
+            for (int shift = 0; shift < 35; shift += 7) {
+                final byte next = this.bytes.get();
+                value |= (next & 0x7F) << shift;
+
+                if (next >= 0) {
+                    return value;
+                }
+            }
+
+            throw new IOException("malformed varint in inventory snapshot");
+        }
+
+        int getZigzag()
+            throws IOException
+        {
+            final int value = this.getVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int position()
+        {
+            return this.bytes.position();
+        }
+
+        String getString()
+            throws IOException
+        {
+            return this.getBytes(this.getVarint());
+        }
+
+        /**
+         * Decode *length* bytes of UTF-8.
+         */
+        String getBytes(int length)
+        {
+            if (length < 0 || length > this.bytes.remaining()) {
+                throw new BufferUnderflowException();
+            }
+
+            final String str;
+
+            if (this.bytes.hasArray()) {
+                str = new String(
+                    this.bytes.array(),
+                    this.bytes.arrayOffset() + this.bytes.position(),
+                    length,
+                    StandardCharsets.UTF_8
+                );
+                this.skip(length);
+            }
+            else {
+                final byte[] raw = new byte[length];
+                this.bytes.get(raw);
+                str = new String(raw, StandardCharsets.UTF_8);
+            }
+
+            return str;
+        }
+
+        /**
+         * Decode one slot (the Item is adopted by the new stack).
+         */
+        ItemStack getStack(StringTable strings)
+            throws IOException
+        {
+            final byte tag = this.bytes.get();
+            final int quantity = this.getVarint();
+            final Item item;
+
+            if (tag == ARMOUR_TAG) {
+                final String name = strings.lookup(this.getVarint());
+                final String material = strings.lookup(this.getVarint());
+                final int durability = this.getZigzag();
+                final int defense = this.getZigzag();
+                final String modifier = strings.lookup(this.getVarint());
+                final int level = this.getZigzag();
+                final String element = strings.lookup(this.getVarint());
+
+                item = new Armour(name, material, durability, defense, modifier, level, element);
+            }
+            else if (tag == CONSUMABLE_TAG) {
+                final String name = strings.lookup(this.getVarint());
+                final String effect = strings.lookup(this.getVarint());
+
+                item = new Consumable(name, effect, this.getZigzag());
+            }
+            else {
+                throw new IOException("unknown item type tag " + tag);
+            }
+
+            return ItemStack.adopt(item, quantity);
+        }
+
+    }
+
+    /**
+     * Source of the Strings referenced by slot records.
+     */
+    @FunctionalInterface
+    interface StringTable {
+        /**
+         * Retrieve a String by reference.
+         *
+         * @param reference 1 + index of the String (0 for null)
+         *
+         * @return the referenced String
+         *
+         * @throws IOException if *reference* is out of range or the String
+         *     can not be read
+         */
+        String lookup(int reference)
+            throws IOException;
+    }
+}
@@ -0,0 +1,392 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collector;
+
+/**
+ * Aggregate statistics over ItemStacks--e.g., the contents of an
+ * {@link Inventory}:
+ * <ul>
+ *   <li>uses of every Consumable (total uses is the sum of uses times
+ *       quantity)</li>
+ *   <li>defense of all Armour, and of the Armour of each material</li>
+ *   <li>number of pieces of Armour of each element (a histogram)</li>
+ * </ul>
+ * Every piece counts--a stack of *n* Items is tallied as *n* Items.
+ * <p>
+ * Like IntSummaryStatistics, an InventoryStatistics is a mutable
+ * accumulator: {@link #accept(ItemStack)} adds one stack and
+ * {@link #combine(InventoryStatistics)} merges the statistics of another
+ * (e.g., from another part of a parallel stream). Values are tallied as
+ * primitives--nothing is boxed per stack. It is not thread-safe; use
+ * {@link #collector()} (or {@link Inventory#statistics()}) to compute the
+ * statistics in parallel.
+ */
+@SuppressWarnings("PMD.LawOfDemeter")
+public final class InventoryStatistics
+{
+    /**
+     * Count, sum, minimum and maximum of a set of int values, each of
+     * which may occur more than once (its *weight*). Only InventoryStatistics
+     * adds values--every Tally it hands out is a copy.
+     */
+    public static final class Tally
+    {
+        /**
+         * Number of values (the sum of the weights).
+         */
+        private long count;
+
+        /**
+         * Sum of the values (each times its weight).
+         */
+        private long sum;
+
+        /**
+         * Smallest value (Integer.MAX_VALUE if none).
+         */
+        private int min = Integer.MAX_VALUE;
+
+        /**
+         * Largest value (Integer.MIN_VALUE if none).
+         */
+        private int max = Integer.MIN_VALUE;
+
+        /**
+         * Create an empty tally.
+         */
+        Tally()
+        {
+        }
+
+        /**
+         * Create a copy of *other*.
+         *
+         * @param other tally to copy
+         */
+        Tally(Tally other)
+        {
+            this.count = other.count;
+            this.sum   = other.sum;
+            this.min   = other.min;
+            this.max   = other.max;
+        }
+
+        /**
+         * Add a value that occurs *weight* times.
+         *
+         * @param value value to add
+         * @param weight number of occurrences (ignored unless positive)
+         */
+        void accept(int value, long weight)
+        {
+            if (weight <= 0) {
+                return;
+            }
+
+            this.count += weight;
+            this.sum   += value * weight;
+            this.min    = Math.min(this.min, value);
+            this.max    = Math.max(this.max, value);
+        }
+
+        /**
+         * Merge another tally into this one.
+         *
+         * @param other tally to merge (it is not modified)
+         */
+        void combine(Tally other)
+        {
+            this.count += other.count;
+            this.sum   += other.sum;
+            this.min    = Math.min(this.min, other.min);
+            this.max    = Math.max(this.max, other.max);
+        }
+
+        /**
+         * Retrieve the number of values.
+         *
+         * @return number of values
+         */
+        public long getCount()
+        {
+            return this.count;
+        }
+
+        /**
+         * Retrieve the sum of the values.
+         *
+         * @return sum (0 if there are no values)
+         */
+        public long getSum()
+        {
+            return this.sum;
+        }
+
+        /**
+         * Retrieve the smallest value.
+         *
+         * @return minimum (Integer.MAX_VALUE if there are no values)
+         */
+        public int getMin()
+        {
+            return this.min;
+        }
+
+        /**
+         * Retrieve the largest value.
+         *
+         * @return maximum (Integer.MIN_VALUE if there are no values)
+         */
+        public int getMax()
+        {
+            return this.max;
+        }
+
+        /**
+         * Retrieve the mean of the values.
+         *
+         * @return average (0 if there are no values)
+         */
+        public double getAverage()
+        {
+            return this.count > 0 ? (double) this.sum / this.count : 0.0;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format(
+                "count=%d, sum=%d, min=%d, average=%f, max=%d",
+                this.count, this.sum, this.min, this.getAverage(), this.max
+            );
+        }
+    }
+
+    /**
+     * Number of stacks accepted.
+     */
+    private long stacks;
+
+    /**
+     * Uses of every Consumable.
+     */
+    private final Tally uses;
+
+    /**
+     * Defense of all Armour.
+     */
+    private final Tally defense;
+
+    /**
+     * Defense of the Armour of each material.
+     */
+    private final Map<String, Tally> defenseByMaterial;
+
+    /**
+     * Defense of the Armour of each element.
+     */
+    private final Map<String, Tally> defenseByElement;
+
+    /**
+     * Create empty statistics.
+     */
+    public InventoryStatistics()
+    {
+        this.uses              = new Tally();
+        this.defense           = new Tally();
+        this.defenseByMaterial = new HashMap<>();
+        this.defenseByElement  = new HashMap<>();
+    }
+
+    /**
+     * Create a Collector that gathers the statistics of a stream of
+     * stacks. Each part of a parallel stream is tallied separately, and
+     * the parts are combined.
+     *
+     * @return new Collector
+     */
+    public static Collector<ItemStack, InventoryStatistics, InventoryStatistics> collector()
+    {
+        return Collector.of(
+            InventoryStatistics::new,
+            InventoryStatistics::accept,
+            InventoryStatistics::combine,
+            Collector.Characteristics.IDENTITY_FINISH,
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * Add one stack.
+     *
+     * @param stack stack to add
+     */
+    public void accept(ItemStack stack)
+    {
+        final Item item = stack.getItem();
+        final int quantity = stack.size();
+
+        this.stacks++;
+
+        if (item instanceof Consumable) {
+            this.uses.accept(((Consumable) item).getNumberOfUses(), quantity);
+        }
+        else if (item instanceof Armour) {
+            final Armour piece = (Armour) item;
+            final int def = piece.getDefense();
+
+            this.defense.accept(def, quantity);
+            tallyFor(this.defenseByMaterial, piece.getMaterial()).accept(def, quantity);
+            tallyFor(this.defenseByElement, piece.getElement()).accept(def, quantity);
+        }
+    }
+
+    /**
+     * Merge the statistics of other stacks into these.
+     *
+     * @param other statistics to merge (they are not modified)
+     *
+     * @return these statistics
+     */
+    public InventoryStatistics combine(InventoryStatistics other)
+    {
+        this.stacks += other.stacks;
+        this.uses.combine(other.uses);
+        this.defense.combine(other.defense);
+
+        combine(this.defenseByMaterial, other.defenseByMaterial);
+        combine(this.defenseByElement, other.defenseByElement);
+
+        return this;
+    }
+
+    /**
+     * Retrieve the number of stacks (i.e., slots) accepted.
+     *
+     * @return number of stacks
+     */
+    public long getStackCount()
+    {
+        return this.stacks;
+    }
+
+    /**
+     * Retrieve the uses of every Consumable--one value per Consumable.
+     *
+     * @return copy of the uses
+     */
+    public Tally getUses()
+    {
+        return new Tally(this.uses);
+    }
+
+    /**
+     * Retrieve the total number of uses--the sum of uses times quantity of
+     * every stack of Consumables.
+     *
+     * @return total uses
+     */
+    public long getTotalUses()
+    {
+        return this.uses.getSum();
+    }
+
+    /**
+     * Retrieve the defense of all Armour--one value per piece.
+     *
+     * @return copy of the defense
+     */
+    public Tally getDefense()
+    {
+        return new Tally(this.defense);
+    }
+
+    /**
+     * Retrieve the defense of the Armour of each material.
+     *
+     * @return copy of the defense by material (a null material is a key
+     *     like any other)
+     */
+    public Map<String, Tally> getDefenseByMaterial()
+    {
+        final Map<String, Tally> copies = new HashMap<>();
+
+        for (Map.Entry<String, Tally> entry : this.defenseByMaterial.entrySet()) {
+            copies.put(entry.getKey(), new Tally(entry.getValue()));
+        }
+
+        return Collections.unmodifiableMap(copies);
+    }
+
+    /**
+     * Retrieve the average defense of the Armour of each material.
+     *
+     * @return average defense by material
+     */
+    public Map<String, Double> getAverageDefenseByMaterial()
+    {
+        final Map<String, Double> averages = new HashMap<>();
+
+        for (Map.Entry<String, Tally> entry : this.defenseByMaterial.entrySet()) {
+            averages.put(entry.getKey(), entry.getValue().getAverage());
+        }
+
+        return averages;
+    }
+
+    /**
+     * Retrieve the number of pieces of Armour of each element.
+     *
+     * @return histogram of elements (a null element is a key like any
+     *     other)
+     */
+    public Map<String, Long> getElementHistogram()
+    {
+        final Map<String, Long> histogram = new HashMap<>();
+
+        for (Map.Entry<String, Tally> entry : this.defenseByElement.entrySet()) {
+            histogram.put(entry.getKey(), entry.getValue().getCount());
+        }
+
+        return histogram;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+            "stacks=%d, uses={%s}, defense={%s}, materials=%d, elements=%d",
+            this.stacks, this.uses, this.defense,
+            this.defenseByMaterial.size(), this.defenseByElement.size()
+        );
+    }
+
+    /**
+     * Retrieve the tally for *key*, creating it on first use.
+     */
+    private static Tally tallyFor(Map<String, Tally> tallies, String key)
+    {
+        Tally tally = tallies.get(key);
+
+        if (tally == null) {
+            tally = new Tally();
+            tallies.put(key, tally);
+        }
+
+        return tally;
+    }
+
+    /**
+     * Merge every tally of *source* into the tally with the same key in
+     * *target*.
+     */
+    private static void combine(Map<String, Tally> target, Map<String, Tally> source)
+    {
+        for (Map.Entry<String, Tally> entry : source.entrySet()) {
+            tallyFor(target, entry.getKey()).combine(entry.getValue());
+        }
+    }
+}
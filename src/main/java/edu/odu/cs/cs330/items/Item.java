@@ -1,5 +1,12 @@
 package edu.odu.cs.cs330.items;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 /**
@@ -14,6 +21,11 @@ import java.util.Scanner;
     "PMD.ShortClassName",
 })
 public abstract class Item implements Cloneable {
+    /**
+     * Size of the buffer used to write text to a channel.
+     */
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 16;
+
     /**
      * Short title--e.g., HP Potion.
      */
@@ -24,6 +36,11 @@ public abstract class Item implements Cloneable {
      */
     protected boolean stackable;
 
+    /**
+     * Result of the last {@link #toString()} (null until rendered and after
+     * any change).
+     */
+    private String rendered;
 
     /**
      * Create an Item with name = Air and stackable = true.
@@ -77,6 +94,7 @@ public abstract class Item implements Cloneable {
     public void setName(final String nme)
     {
         this.name = nme;
+        this.changed();
     }
 
     /**
@@ -116,6 +134,13 @@ public abstract class Item implements Cloneable {
      */
     public abstract void read(Scanner snr);
 
+    /**
+     * Read an item from the current line of an ItemTokenizer.
+     *
+     * @param tokens source from which to read
+     */
+    public abstract void read(ItemTokenizer tokens);
+
     /**
      * Duplicate this item.
      */
@@ -123,13 +148,159 @@ public abstract class Item implements Cloneable {
     public abstract Item clone();
 
     /**
-     * *Print* an Item.
+     * *Print* an Item. The text is built by {@link #write(Appendable)} and
+     * reused until the Item changes.
      */
     @Override
     public String toString()
     {
-        return String.format(" %s", this.name);
+        String str = this.rendered;
+
+        if (str == null) {
+            str = this.render();
+            this.rendered = str;
+        }
+
+        return str;
+    }
+
+    /**
+     * *Print* an Item to *out*--the same text as {@link #toString()},
+     * written piece by piece (unless the text is already cached).
+     *
+     * @param out destination
+     *
+     * @throws IOException if *out* can not be written
+     */
+    public void writeTo(Appendable out)
+        throws IOException
+    {
+        final String str = this.rendered;
+
+        if (str == null) {
+            this.write(out);
+        }
+        else {
+            out.append(str);
+        }
+    }
+
+    /**
+     * *Print* an Item to a channel (as UTF-8).
+     *
+     * @param channel destination (left open)
+     *
+     * @throws IOException if *channel* can not be written
+     */
+    public void writeTo(WritableByteChannel channel)
+        throws IOException
+    {
+        final Writer out = newChannelWriter(channel);
+
+        this.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Write the text of this Item. Subclasses override this--rather than
+     * toString--so that both toString (which caches the text) and
+     * writeTo print the same thing.
+     *
+     * @param out destination
+     *
+     * @throws IOException if *out* can not be written
+     */
+    protected void write(Appendable out)
+        throws IOException
+    {
+        out.append(' ').append(this.name);
     }
-}
 
+    /**
+     * Discard the cached text. Every method that changes an attribute
+     * printed by {@link #write(Appendable)} must call this.
+     */
+    protected void changed()
+    {
+        this.rendered = null;
+    }
+
+    /**
+     * Retrieve the cached text without building it.
+     *
+     * @return the last result of toString, or null if the Item changed
+     *     since (or was never printed)
+     */
+    String cachedText()
+    {
+        return this.rendered;
+    }
+
+    /**
+     * Build the text returned by {@link #toString()}.
+     */
+    private String render()
+    {
+        final StringBuilder strBld = new StringBuilder(128);
 
+        try {
+            this.write(strBld);
+        }
+        catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+
+        return strBld.toString();
+    }
+
+    /**
+     * Write an int in decimal without creating a String.
+     *
+     * @param out destination
+     * @param value number to write
+     *
+     * @throws IOException if *out* can not be written
+     */
+    protected static void appendInt(Appendable out, int value)
+        throws IOException
+    {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+            return;
+        }
+
+        long remaining = value;
+
+        if (remaining < 0) {
+            out.append('-');
+            remaining = -remaining;
+        }
+
+        // Most significant digit first (an int has at most 10 digits)
+        long divisor = 1;
+        while (divisor * 10 <= remaining) {
+            divisor *= 10;
+        }
+
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + remaining / divisor % 10));
+        }
+    }
+
+    /**
+     * Create a buffered UTF-8 Writer on a channel. The caller must flush
+     * it (closing it would close the channel).
+     *
+     * @param channel destination
+     *
+     * @return new Writer
+     */
+    static Writer newChannelWriter(WritableByteChannel channel)
+    {
+        return new BufferedWriter(
+            Channels.newWriter(channel, StandardCharsets.UTF_8),
+            CHANNEL_BUFFER_SIZE
+        );
+    }
+}
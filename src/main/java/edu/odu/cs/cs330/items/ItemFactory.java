@@ -1,6 +1,11 @@
 package edu.odu.cs.cs330.items;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Scanner;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * This class handles all Item creation and lookup logic.
@@ -8,33 +13,40 @@ import java.util.Scanner;
 public final class ItemFactory {
 
     /**
-     * Name Item Pair 2-tuple(type, model)
+     * Item Type 2-tuple(maker, parser)
      *
      * Simulate a c++ struct by making all attributes public
      */
-    private static class ItemPair {
-        public String type;  ///< Name of the item to clone
-        public Item   model; ///< Model of the item to clone
+    private static class ItemType {
+        public final Supplier<Item> maker;                  ///< Creates an empty Item
+        public final Function<ItemTokenizer, Item> parser;  ///< Creates a populated Item
 
         /**
-         * Default Constructor - Used as sentinel
+         * Non-Default Constructor
+         *
+         * @param theMaker creates an empty Item
+         * @param theParser reads a complete Item from the current line
          */
-        public ItemPair()
+        public ItemType(Supplier<Item> theMaker, Function<ItemTokenizer, Item> theParser)
         {
-            type  = null;
-            model = null;
+            maker  = theMaker;
+            parser = theParser;
         }
 
         /**
-         * Non-Default Constructor
+         * Derive a parser from an Item maker--i.e., create an empty Item
+         * and then read() it.
          *
-         * @param type the type of anqq item
-         * @param item a cloneable item
+         * @param theMaker creates an empty Item
          */
-        public ItemPair(String theType, Item theItem)
+        public ItemType(Supplier<Item> theMaker)
         {
-            type  = theType;
-            model = theItem;
+            this(theMaker, (ItemTokenizer tokens) -> {
+                Item item = theMaker.get();
+                item.read(tokens);
+
+                return item;
+            });
         }
     }
 
@@ -47,17 +59,125 @@ public final class ItemFactory {
         // do not allow ItemFactory to be instantiated.
     }
 
+    private static final ItemType ARMOUR_TYPE =
+        new ItemType(Armour::new, ItemFactory::parseArmour);
+
+    private static final ItemType CONSUMABLE_TYPE =
+        new ItemType(Consumable::new, ItemFactory::parseConsumable);
+
     /**
-     * Listing of known items
+     * Listing of known items--keyword to Item type. The map is never
+     * modified; register() replaces it with an updated copy.
      */
-    private static ItemPair[] knownItems = {
-        new ItemPair("Armour", new Armour()),
-        new ItemPair("Armor", new Armour()),
-        //new ItemPair("Tool", new Tool()),
-        new ItemPair("Food", new Consumable()),
-        new ItemPair("Potion", new Consumable()),
-        new ItemPair("Disposable", new Consumable()),
-    };
+    private static volatile Map<String, ItemType> knownItems = Map.of(
+        "Armour", ARMOUR_TYPE,
+        "Armor", ARMOUR_TYPE,
+        //"Tool", new ItemType(Tool::new),
+        "Food", CONSUMABLE_TYPE,
+        "Potion", CONSUMABLE_TYPE,
+        "Disposable", CONSUMABLE_TYPE
+    );
+
+    /**
+     * Read a complete Armour in one constructor call.
+     */
+    private static Item parseArmour(ItemTokenizer tokens)
+    {
+        // Arguments are evaluated left to right--i.e., in file order.
+        return new Armour(
+            tokens.nextSymbol(),
+            tokens.nextSymbol(),
+            tokens.nextInt(),
+            tokens.nextInt(),
+            tokens.nextSymbol(),
+            tokens.nextInt(),
+            tokens.nextSymbol()
+        );
+    }
+
+    /**
+     * Read a complete Consumable in one constructor call.
+     */
+    private static Item parseConsumable(ItemTokenizer tokens)
+    {
+        return new Consumable(tokens.nextSymbol(), tokens.nextSymbol(), tokens.nextInt());
+    }
+
+    /**
+     * Add (or replace) a known item type.
+     *
+     * @param keyword the type keyword as it appears in item files
+     * @param maker creates a new (empty) Item of the desired type
+     */
+    public static void register(String keyword, Supplier<Item> maker)
+    {
+        Objects.requireNonNull(maker, "maker");
+
+        addType(keyword, new ItemType(maker));
+    }
+
+    /**
+     * Add (or replace) a known item type, including a parser that builds a
+     * complete Item directly from an ItemTokenizer.
+     *
+     * @param keyword the type keyword as it appears in item files
+     * @param maker creates a new (empty) Item of the desired type
+     * @param parser reads the attributes that follow *keyword* on a line
+     *     and returns a fully initialized Item
+     */
+    public static void register(
+        String keyword,
+        Supplier<Item> maker,
+        Function<ItemTokenizer, Item> parser
+    )
+    {
+        Objects.requireNonNull(maker, "maker");
+        Objects.requireNonNull(parser, "parser");
+
+        addType(keyword, new ItemType(maker, parser));
+    }
+
+    /**
+     * Swap in a copy of *knownItems* with *keyword* added (or replaced).
+     */
+    private static synchronized void addType(String keyword, ItemType type)
+    {
+        Objects.requireNonNull(keyword, "keyword");
+
+        Map<String, ItemType> updated = new HashMap<>(knownItems);
+        updated.put(keyword, type);
+
+        knownItems = Map.copyOf(updated);
+    }
+
+    /**
+     * Swap in a copy of *knownItems* without *keyword*--e.g., to undo a
+     * register() in a test.
+     *
+     * @param keyword the type keyword to forget
+     */
+    static synchronized void unregister(String keyword)
+    {
+        Map<String, ItemType> updated = new HashMap<>(knownItems);
+        updated.remove(keyword);
+
+        knownItems = Map.copyOf(updated);
+    }
+
+    /**
+     * Retrieve the type registered for *keyword*. Map.of/Map.copyOf maps
+     * reject null keys even in get(), so null is checked here.
+     *
+     * @return the registered type, or null if *keyword* is null or unknown
+     */
+    private static ItemType lookup(String keyword)
+    {
+        if (keyword == null) {
+            return null;
+        }
+
+        return knownItems.get(keyword);
+    }
 
     /**
      * Create an Item.
@@ -68,13 +188,13 @@ public final class ItemFactory {
      */
     public static Item createItem(String type)
     {
-        for (ItemPair pair : knownItems) {
-            if (pair.type.equals(type)) {
-                return pair.model.clone();
-            }
+        ItemType known = lookup(type);
+
+        if (known == null) {
+            return null;
         }
 
-        return null;
+        return known.maker.get();
     }
 
     /**
@@ -86,13 +206,57 @@ public final class ItemFactory {
      */
     public static boolean isKnown(String type)
     {
-        for (ItemPair pair : knownItems) {
-            if (pair.type.equals(type)) {
-                return true;
-            }
+        return lookup(type) != null;
+    }
+
+    /**
+     * Determine the line layout of a keyword--i.e., whether the attributes
+     * that follow it are read by the built-in Armour or Consumable parser.
+     *
+     * @param keyword the type keyword as it appears in item files
+     *
+     * @return Armour.class or Consumable.class for the built-in types,
+     *     Item.class for any other known type and null if *keyword* is
+     *     unknown
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    static Class<? extends Item> layoutOf(String keyword)
+    {
+        ItemType known = lookup(keyword);
+
+        if (known == null) {
+            return null;
+        }
+
+        if (known == ARMOUR_TYPE) {
+            return Armour.class;
+        }
+
+        if (known == CONSUMABLE_TYPE) {
+            return Consumable.class;
+        }
+
+        return Item.class;
+    }
+
+    /**
+     * Create a fully initialized Item from the attributes that follow
+     * *keyword* on the current line.
+     *
+     * @param keyword the type of item to create
+     * @param tokens input from which to read the Item attributes
+     *
+     * @return an initialized Item object, or null if *keyword* is unknown
+     */
+    public static Item parse(String keyword, ItemTokenizer tokens)
+    {
+        ItemType known = lookup(keyword);
+
+        if (known == null) {
+            return null;
         }
 
-        return false;
+        return known.parser.apply(tokens);
     }
 
     /**
@@ -107,18 +271,33 @@ public final class ItemFactory {
     public static Item parseItemLine(Scanner scanner)
     {
         String keyword = scanner.next();
+        Item item = createItem(keyword);
 
-        if (!isKnown(keyword)) {
+        if (item == null) {
             scanner.nextLine();
             return null;
         }
 
-        Item item = createItem(keyword);
         item.read(scanner);
 
         return item;
     }
 
+    /**
+     * Create the appropriate Item class from the current line of an
+     * ItemTokenizer. Unknown keywords are skipped (the remainder of the
+     * line is discarded by the next call to
+     * {@link ItemTokenizer#nextLine()}).
+     *
+     * @param tokens input from which to read in the Item
+     *
+     * @return an initialized Item object, or null
+     */
+    public static Item parseItemLine(ItemTokenizer tokens)
+    {
+        return parse(tokens.next(), tokens);
+    }
+
 }
 
 
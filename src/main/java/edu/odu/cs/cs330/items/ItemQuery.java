@@ -0,0 +1,613 @@
+package edu.odu.cs.cs330.items;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An ad-hoc query over Items--a type and a conjunction of conditions on
+ * Item attributes--run against an {@link Inventory} or an item file.
+ * <p>
+ * Either source yields a Stream of ItemStacks, so results are projected
+ * and aggregated with the usual Stream operations:
+ * <pre>
+ *   // total uses of every Heal-5 Consumable with at least 3 uses
+ *   ItemQuery.consumables()
+ *       .effect("Heal-5")
+ *       .uses(3, Integer.MAX_VALUE)
+ *       .select(inventory)
+ *       .mapToLong(stack -&gt; (long) stack.size() * ((Consumable) stack.getItem()).getNumberOfUses())
+ *       .sum();
+ * </pre>
+ * When reading an item file, conditions are *pushed down* into the
+ * parser: each line of a built-in type (Armour or Consumable) is checked
+ * token by token, and an Item is only created for a line that satisfies
+ * every condition. Lines of other (registered) types are parsed and then
+ * checked. Conditions added with {@link #where(Predicate)} can not be
+ * pushed down--they are checked once an Item exists.
+ * <p>
+ * A condition on an attribute that an Item lacks (e.g., a material for a
+ * Consumable) excludes the Item.
+ */
+@SuppressWarnings({
+    "PMD.LawOfDemeter",
+    "PMD.TooManyMethods",
+    "PMD.CompareObjectsWithEquals"
+})
+public final class ItemQuery
+{
+    /**
+     * Attributes that may be queried. *position* is the index of the
+     * attribute's token (after the keyword) in an item file line.
+     */
+    private enum Field
+    {
+        NAME(Item.class, 0, Item::getName, null),
+        MATERIAL(Armour.class, 1, item -> ((Armour) item).getMaterial(), null),
+        DURABILITY(Armour.class, 2, null, item -> ((Armour) item).getDurability()),
+        DEFENSE(Armour.class, 3, null, item -> ((Armour) item).getDefense()),
+        MODIFIER(Armour.class, 4, item -> ((Armour) item).getModifier(), null),
+        MODIFIER_LEVEL(Armour.class, 5, null, item -> ((Armour) item).getModifierLevel()),
+        ELEMENT(Armour.class, 6, item -> ((Armour) item).getElement(), null),
+        EFFECT(Consumable.class, 1, item -> ((Consumable) item).getEffect(), null),
+        USES(Consumable.class, 2, null, item -> ((Consumable) item).getNumberOfUses());
+
+        /**
+         * Type of Item that has the attribute.
+         */
+        final Class<? extends Item> owner;
+
+        /**
+         * Token index of the attribute within a line.
+         */
+        final int position;
+
+        /**
+         * Retrieve a text attribute (null for numbers).
+         */
+        final Function<Item, String> text;
+
+        /**
+         * Retrieve a numeric attribute (null for text).
+         */
+        final ToIntFunction<Item> number;
+
+        Field(
+            Class<? extends Item> type,
+            int index,
+            Function<Item, String> textOf,
+            ToIntFunction<Item> numberOf
+        )
+        {
+            this.owner    = type;
+            this.position = index;
+            this.text     = textOf;
+            this.number   = numberOf;
+        }
+    }
+
+    /**
+     * Number of attribute tokens on an Armour line.
+     */
+    private static final int ARMOUR_TOKENS = 7;
+
+    /**
+     * Number of attribute tokens on a Consumable line.
+     */
+    private static final int CONSUMABLE_TOKENS = 3;
+
+    /**
+     * Number of distinct keywords reused (rather than re-created) while
+     * reading an item file.
+     */
+    private static final int KEYWORD_CACHE_SIZE = 8;
+
+    /**
+     * A condition on one attribute--text equal to *value* or a number
+     * within *min* to *max* (inclusive).
+     */
+    private static final class Condition
+    {
+        final Field field;
+
+        final String value;
+
+        final int min;
+
+        final int max;
+
+        Condition(Field attribute, String text, int low, int high)
+        {
+            this.field = attribute;
+            this.value = text;
+            this.min   = low;
+            this.max   = high;
+        }
+
+        /**
+         * Determine whether an Item (which has the attribute) satisfies
+         * the condition.
+         */
+        boolean test(Item item)
+        {
+            if (this.field.text != null) {
+                return Objects.equals(this.value, this.field.text.apply(item));
+            }
+
+            final int num = this.field.number.applyAsInt(item);
+
+            return num >= this.min && num <= this.max;
+        }
+    }
+
+    /**
+     * Type of Item selected.
+     */
+    private final Class<? extends Item> type;
+
+    /**
+     * Conditions on attributes (all must hold).
+     */
+    private final List<Condition> conditions;
+
+    /**
+     * Conditions that can not be pushed down (all must hold).
+     */
+    private final List<Predicate<? super Item>> residuals;
+
+    /**
+     * Create a query with no conditions.
+     *
+     * @param selected type of Item selected
+     */
+    private ItemQuery(Class<? extends Item> selected)
+    {
+        this.type       = selected;
+        this.conditions = new ArrayList<>();
+        this.residuals  = new ArrayList<>();
+    }
+
+    /**
+     * Start a query over all Items.
+     *
+     * @return new query
+     */
+    public static ItemQuery items()
+    {
+        return new ItemQuery(Item.class);
+    }
+
+    /**
+     * Start a query over Armour.
+     *
+     * @return new query
+     */
+    public static ItemQuery armour()
+    {
+        return new ItemQuery(Armour.class);
+    }
+
+    /**
+     * Start a query over Consumables.
+     *
+     * @return new query
+     */
+    public static ItemQuery consumables()
+    {
+        return new ItemQuery(Consumable.class);
+    }
+
+    /**
+     * Require a name.
+     *
+     * @param value name
+     *
+     * @return this query
+     */
+    public ItemQuery name(String value)
+    {
+        return this.equal(Field.NAME, value);
+    }
+
+    /**
+     * Require an Armour material.
+     *
+     * @param value base material
+     *
+     * @return this query
+     */
+    public ItemQuery material(String value)
+    {
+        return this.equal(Field.MATERIAL, value);
+    }
+
+    /**
+     * Require an Armour durability within a range.
+     *
+     * @param min lowest durability (inclusive)
+     * @param max highest durability (inclusive)
+     *
+     * @return this query
+     */
+    public ItemQuery durability(int min, int max)
+    {
+        return this.between(Field.DURABILITY, min, max);
+    }
+
+    /**
+     * Require an Armour defense within a range.
+     *
+     * @param min lowest defense (inclusive)
+     * @param max highest defense (inclusive)--e.g., Integer.MAX_VALUE
+     *
+     * @return this query
+     */
+    public ItemQuery defense(int min, int max)
+    {
+        return this.between(Field.DEFENSE, min, max);
+    }
+
+    /**
+     * Require an Armour modifier.
+     *
+     * @param value buff/debuff
+     *
+     * @return this query
+     */
+    public ItemQuery modifier(String value)
+    {
+        return this.equal(Field.MODIFIER, value);
+    }
+
+    /**
+     * Require an Armour modifier level within a range.
+     *
+     * @param min lowest level (inclusive)
+     * @param max highest level (inclusive)
+     *
+     * @return this query
+     */
+    public ItemQuery modifierLevel(int min, int max)
+    {
+        return this.between(Field.MODIFIER_LEVEL, min, max);
+    }
+
+    /**
+     * Require an Armour element.
+     *
+     * @param value element
+     *
+     * @return this query
+     */
+    public ItemQuery element(String value)
+    {
+        return this.equal(Field.ELEMENT, value);
+    }
+
+    /**
+     * Require a Consumable effect.
+     *
+     * @param value effect
+     *
+     * @return this query
+     */
+    public ItemQuery effect(String value)
+    {
+        return this.equal(Field.EFFECT, value);
+    }
+
+    /**
+     * Require a number of Consumable uses within a range.
+     *
+     * @param min fewest uses (inclusive)
+     * @param max most uses (inclusive)
+     *
+     * @return this query
+     */
+    public ItemQuery uses(int min, int max)
+    {
+        return this.between(Field.USES, min, max);
+    }
+
+    /**
+     * Require an arbitrary condition. It is checked only once an Item has
+     * been created (i.e., it is not pushed down).
+     *
+     * @param condition condition on an Item
+     *
+     * @return this query
+     */
+    public ItemQuery where(Predicate<? super Item> condition)
+    {
+        this.residuals.add(Objects.requireNonNull(condition, "condition"));
+
+        return this;
+    }
+
+    /**
+     * Determine whether an Item satisfies the query.
+     *
+     * @param item Item to check
+     *
+     * @return true if *item* is of the selected type and satisfies every
+     *     condition
+     */
+    public boolean test(Item item)
+    {
+        if (!this.type.isInstance(item)) {
+            return false;
+        }
+
+        for (Condition condition : this.conditions) {
+            if (!condition.field.owner.isInstance(item) || !condition.test(item)) {
+                return false;
+            }
+        }
+
+        for (Predicate<? super Item> residual : this.residuals) {
+            if (!residual.test(item)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Select the matching stacks of an Inventory.
+     *
+     * @param inventory Inventory to query
+     *
+     * @return stacks (those in the Inventory--not copies) in slot order
+     */
+    public Stream<ItemStack> select(Inventory inventory)
+    {
+        return StreamSupport.stream(inventory.spliterator(), false)
+            .filter(stack -> this.test(stack.getItem()));
+    }
+
+    /**
+     * Select the matching Items of an item file--each as a new stack of
+     * one. The stream must be closed (e.g., with try-with-resources) to
+     * close the file. Read errors surface as UncheckedIOException.
+     *
+     * @param file item file to query
+     *
+     * @return sequential, ordered stream of stacks in file order
+     *
+     * @throws IOException if the file can not be opened
+     */
+    public Stream<ItemStack> select(Path file)
+        throws IOException
+    {
+        final ItemTokenizer tokens = new ItemTokenizer(new FileReader(file.toFile()));
+
+        return this.select(tokens)
+            .onClose(() -> {
+                try {
+                    tokens.close();
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    /**
+     * Select the matching Items of every remaining line of an
+     * ItemTokenizer--each as a new stack of one.
+     *
+     * @param tokens item file lines (nextLine() has not yet been called for
+     *     the first line to read)
+     *
+     * @return sequential, ordered stream of stacks in line order
+     */
+    public Stream<ItemStack> select(ItemTokenizer tokens)
+    {
+        final Condition[] armourPlan = this.plan(Armour.class, ARMOUR_TOKENS);
+        final Condition[] consumablePlan = this.plan(Consumable.class, CONSUMABLE_TOKENS);
+        final String[] keywords = new String[KEYWORD_CACHE_SIZE];
+
+        final Spliterator<ItemStack> stacks = new Spliterators.AbstractSpliterator<ItemStack>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL
+        ) {
+            @Override
+            public boolean tryAdvance(Consumer<? super ItemStack> action)
+            {
+                while (tokens.nextLine()) {
+                    final Item item = scanLine(tokens, keywords, armourPlan, consumablePlan);
+
+                    if (item != null) {
+                        action.accept(ItemStack.adopt(item, 1));
+                        return true;
+                    }
+                }
+
+                return false;
+            }
+        };
+
+        return StreamSupport.stream(stacks, false);
+    }
+
+    /**
+     * Add an equality condition.
+     */
+    private ItemQuery equal(Field field, String value)
+    {
+        this.conditions.add(new Condition(field, value, 0, 0));
+
+        return this;
+    }
+
+    /**
+     * Add a range condition.
+     */
+    private ItemQuery between(Field field, int min, int max)
+    {
+        this.conditions.add(new Condition(field, null, min, max));
+
+        return this;
+    }
+
+    /**
+     * Arrange the conditions for one line layout by token position.
+     *
+     * @param layout Armour or Consumable
+     * @param tokenCount number of attribute tokens on a line
+     *
+     * @return one condition per position (null for none) with ranges
+     *     intersected--up to the last position with a condition--or null
+     *     if no line of this layout can match
+     */
+    private Condition[] plan(Class<? extends Item> layout, int tokenCount)
+    {
+        if (!this.type.isAssignableFrom(layout)) {
+            return null;
+        }
+
+        final Condition[] plan = new Condition[tokenCount];
+
+        for (Condition condition : this.conditions) {
+            final Field field = condition.field;
+
+            // A missing attribute--or a null value, which no token equals
+            if (!field.owner.isAssignableFrom(layout)
+                || field.text != null && condition.value == null) {
+                return null;
+            }
+
+            final Condition previous = plan[field.position];
+
+            if (previous == null) {
+                plan[field.position] = condition;
+            }
+            else if (field.text != null) {
+                if (!previous.value.equals(condition.value)) {
+                    return null;
+                }
+            }
+            else {
+                plan[field.position] = new Condition(
+                    field,
+                    null,
+                    Math.max(previous.min, condition.min),
+                    Math.min(previous.max, condition.max)
+                );
+            }
+        }
+
+        int length = tokenCount;
+
+        while (length > 0 && plan[length - 1] == null) {
+            length--;
+        }
+
+        return Arrays.copyOf(plan, length);
+    }
+
+    /**
+     * Read the current line, creating an Item only if it matches.
+     *
+     * @param keywords known keywords read so far (null entries are unused)
+     *
+     * @return matching Item or null
+     */
+    private Item scanLine(
+        ItemTokenizer tokens,
+        String[] keywords,
+        Condition[] armourPlan,
+        Condition[] consumablePlan
+    )
+    {
+        final String keyword = tokens.next(keywords);
+        final Class<? extends Item> layout = ItemFactory.layoutOf(keyword);
+
+        if (layout == null) {
+            return null;
+        }
+
+        remember(keywords, keyword);
+
+        if (layout != Item.class) {
+            final Condition[] plan = layout == Armour.class ? armourPlan : consumablePlan;
+
+            if (plan == null) {
+                return null;
+            }
+
+            tokens.mark();
+
+            if (!matches(tokens, plan)) {
+                return null;
+            }
+
+            tokens.reset();
+        }
+
+        final Item item = ItemFactory.parse(keyword, tokens);
+
+        // Pushed-down lines only need the residual conditions, but checking
+        // everything is cheap once an Item exists.
+        return item != null && this.test(item) ? item : null;
+    }
+
+    /**
+     * Add a keyword to the cache (unless it is there or the cache is full).
+     */
+    private static void remember(String[] keywords, String keyword)
+    {
+        for (int i = 0; i < keywords.length; i++) {
+            if (keywords[i] == keyword) {
+                return;
+            }
+
+            if (keywords[i] == null) {
+                keywords[i] = keyword;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Check the attribute tokens of a line against a plan, stopping at the
+     * first failed condition.
+     */
+    private static boolean matches(ItemTokenizer tokens, Condition[] plan)
+    {
+        for (int pos = 0; pos < plan.length; pos++) {
+            final Condition condition = plan[pos];
+
+            if (condition == null) {
+                tokens.skip();
+            }
+            else if (condition.field.text != null) {
+                if (!tokens.nextEquals(condition.value)) {
+                    return false;
+                }
+            }
+            else {
+                final int num = tokens.nextInt();
+
+                if (num < condition.min || num > condition.max) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
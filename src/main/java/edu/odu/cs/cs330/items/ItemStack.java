@@ -1,5 +1,9 @@
 package edu.odu.cs.cs330.items;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+
 /**
  * A Homogeneous--i.e., uniform--stack of Items.
  */
@@ -8,6 +12,7 @@ package edu.odu.cs.cs330.items;
     "PMD.LawOfDemeter",
     "PMD.BeanMembersShouldSerialize",
     "PMD.NullAssignment",
+    "PMD.CompareObjectsWithEquals",
 })
 public class ItemStack implements Cloneable {
     /**
@@ -20,6 +25,43 @@ public class ItemStack implements Cloneable {
      */
     private int quantity;
 
+    /**
+     * Result of the last {@link #toString()} of a stackable stack (or
+     * null).
+     */
+    private Rendering rendering;
+
+    /**
+     * Text of a stack and the Item text and quantity it was built from.
+     */
+    private static final class Rendering {
+        /**
+         * Item text (as returned by Item.toString).
+         */
+        final String item;
+
+        /**
+         * Quantity printed.
+         */
+        final int quantity;
+
+        /**
+         * Complete text of the stack.
+         */
+        final String text;
+
+        Rendering(final String itemStr, final int qty)
+        {
+            this.item     = itemStr;
+            this.quantity = qty;
+            this.text     = new StringBuilder(itemStr.length() + 16)
+                .append(itemStr)
+                .append("  Qty: ").append(qty)
+                .append(System.lineSeparator())
+                .toString();
+        }
+    }
+
     /**
      * Create an empty stack composed of Air.
      */
@@ -47,10 +89,37 @@ public class ItemStack implements Cloneable {
      */
     public ItemStack(final Item base, final int count)
     {
-        this.item     = base.clone();
+        this(base, count, false);
+    }
+
+    /**
+     * Create a stack of the desired type, optionally taking ownership of
+     * *base*.
+     *
+     * @param base Item out of which the stack is composed
+     * @param count number of items in this stack
+     * @param adopt use *base* itself (true) or a clone of it (false)
+     */
+    ItemStack(final Item base, final int count, final boolean adopt)
+    {
+        this.item     = adopt ? base : base.clone();
         this.quantity = count;
     }
 
+    /**
+     * Create a stack that takes ownership of *base* (i.e., without cloning
+     * it). Only for Items that no one else will modify.
+     *
+     * @param base Item out of which the stack is composed
+     * @param count number of items in this stack
+     *
+     * @return new stack that shares *base*
+     */
+    static ItemStack adopt(final Item base, final int count)
+    {
+        return new ItemStack(base, count, true);
+    }
+
     /**
      * Retrieve the Item out of which the stack is composed.
      *
@@ -85,6 +154,40 @@ public class ItemStack implements Cloneable {
         this.quantity += qty;
     }
 
+    /**
+     * Remove up to *qty* items.
+     *
+     * @param qty maximum number of items to remove
+     *
+     * @return number of items actually removed
+     */
+    public int removeItems(final int qty)
+    {
+        final int removed = Math.max(0, Math.min(qty, this.quantity));
+
+        this.quantity -= removed;
+
+        return removed;
+    }
+
+    /**
+     * Remove exactly *qty* items--or none if fewer are available.
+     *
+     * @param qty number of items to remove
+     *
+     * @return true if *qty* items were removed and false otherwise
+     */
+    public boolean tryTake(final int qty)
+    {
+        if (qty < 0 || qty > this.quantity) {
+            return false;
+        }
+
+        this.quantity -= qty;
+
+        return true;
+    }
+
     /**
      * Does the Item contained in this stack permit stacking?
      * <p>
@@ -128,23 +231,80 @@ public class ItemStack implements Cloneable {
     @Override
     public ItemStack clone()
     {
-        final ItemStack cpy = new ItemStack(this.item, this.quantity);
+        final ItemStack cpy = new ItemStack(this.item, this.size());
 
         return cpy;
     }
 
     /**
-     * Print the ItemStack directly.
+     * Print the ItemStack directly. The text is reused until the quantity
+     * or the Item (which caches its own text) changes.
      */
     @Override
     public String toString()
     {
-        String outs = this.item.toString();
+        final String itemStr = this.item.toString();
+
+        if (!this.permitsStacking()) {
+            return itemStr;
+        }
+
+        final int qty = this.size();
+        Rendering last = this.rendering;
+
+        // An unchanged Item returns the very same String.
+        if (last == null || last.item != itemStr || last.quantity != qty) {
+            last = new Rendering(itemStr, qty);
+            this.rendering = last;
+        }
+
+        return last.text;
+    }
+
+    /**
+     * *Print* the ItemStack to *out*--the same text as
+     * {@link #toString()}, written piece by piece (cached text is reused,
+     * but nothing new is cached).
+     *
+     * @param out destination
+     *
+     * @throws IOException if *out* can not be written
+     */
+    public void writeTo(final Appendable out)
+        throws IOException
+    {
+        if (!this.permitsStacking()) {
+            this.item.writeTo(out);
+            return;
+        }
+
+        final int qty = this.size();
+        final Rendering last = this.rendering;
 
-        if (this.permitsStacking()) {
-            outs += String.format("  Qty: %d%n", this.quantity);
+        if (last != null && last.quantity == qty && last.item == this.item.cachedText()) {
+            out.append(last.text);
+            return;
         }
 
-        return outs;
+        this.item.writeTo(out);
+        out.append("  Qty: ");
+        Item.appendInt(out, qty);
+        out.append(System.lineSeparator());
+    }
+
+    /**
+     * *Print* the ItemStack to a channel (as UTF-8).
+     *
+     * @param channel destination (left open)
+     *
+     * @throws IOException if *channel* can not be written
+     */
+    public void writeTo(final WritableByteChannel channel)
+        throws IOException
+    {
+        final Writer out = Item.newChannelWriter(channel);
+
+        this.writeTo(out);
+        out.flush();
     }
 }
@@ -0,0 +1,484 @@
+package edu.odu.cs.cs330.items;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * A line-oriented, whitespace-delimited tokenizer for item files.
+ * <p>
+ * This fills the same role as a Scanner constructed for each line, but
+ * reads through one reusable character buffer and parses integers
+ * directly from that buffer--no regular expressions and no per-line
+ * allocation.
+ * <p>
+ * Tokens never span lines. Call {@link #nextLine()} to move to the next
+ * line (discarding anything left on the current one), then read tokens
+ * with {@link #next()} and {@link #nextInt()}.
+ */
+@SuppressWarnings({
+    "PMD.AvoidLiteralsInIfCondition",
+    "PMD.OnlyOneReturn"
+})
+public final class ItemTokenizer implements Closeable {
+    /**
+     * Number of chars read from the source at a time.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Marker returned by peek when no input remains.
+     */
+    private static final int EOF = -1;
+
+    /**
+     * Source of characters (null if the whole input is in *buffer*).
+     */
+    private final Reader source;
+
+    /**
+     * Characters read from *source* but not yet consumed.
+     */
+    private char[] buffer;
+
+    /**
+     * Index of the next unconsumed char in *buffer*.
+     */
+    private int position;
+
+    /**
+     * Number of valid chars in *buffer*.
+     */
+    private int limit;
+
+    /**
+     * Scratch space for the token currently being read.
+     */
+    private char[] token;
+
+    /**
+     * Has nextLine() been called at least once?
+     */
+    private boolean started;
+
+    /**
+     * Index in *buffer* to which {@link #reset()} returns (-1 for none).
+     */
+    private int mark;
+
+    /**
+     * Optional table through which nextSymbol() deduplicates tokens.
+     */
+    private SymbolTable symbols;
+
+    /**
+     * Tokenize everything readable from a Reader.
+     *
+     * @param src source from which to read
+     */
+    public ItemTokenizer(final Reader src)
+    {
+        this.source = src;
+        this.buffer = new char[BUFFER_SIZE];
+        this.token  = new char[64];
+        this.mark   = -1;
+    }
+
+    /**
+     * Tokenize a String (e.g., a single item line).
+     *
+     * @param text input to tokenize
+     */
+    public ItemTokenizer(final String text)
+    {
+        this.source = null;
+        this.buffer = text.toCharArray();
+        this.limit  = this.buffer.length;
+        this.token  = new char[64];
+        this.mark   = -1;
+    }
+
+    /**
+     * Move to the start of the next line, discarding any unread tokens on
+     * the current line.
+     *
+     * @return true if another line exists and false at end of input
+     */
+    public boolean nextLine()
+    {
+        this.mark = -1;
+
+        if (this.started) {
+            skipLine();
+        }
+
+        this.started = true;
+
+        return peek() != EOF;
+    }
+
+    /**
+     * Determine whether another token remains on the current line.
+     *
+     * @return true if next() would succeed
+     */
+    public boolean hasNext()
+    {
+        skipSpaces();
+
+        final int chr = peek();
+        return chr != EOF && !isLineEnd(chr);
+    }
+
+    /**
+     * Read the next token on the current line.
+     *
+     * @return the next token
+     *
+     * @throws NoSuchElementException if the current line has no more tokens
+     */
+    public String next()
+    {
+        final int len = readToken();
+
+        return new String(this.token, 0, len);
+    }
+
+    /**
+     * Read the next token on the current line, deduplicated through the
+     * symbol table (if one is set).
+     *
+     * @return the next token
+     *
+     * @throws NoSuchElementException if the current line has no more tokens
+     */
+    public String nextSymbol()
+    {
+        final String str = this.next();
+
+        if (this.symbols == null) {
+            return str;
+        }
+
+        return this.symbols.intern(str);
+    }
+
+    /**
+     * Deduplicate the tokens returned by nextSymbol().
+     *
+     * @param table symbol table to use (or null to disable deduplication)
+     */
+    public void setSymbolTable(final SymbolTable table)
+    {
+        this.symbols = table;
+    }
+
+    /**
+     * Read the next token on the current line as an int.
+     *
+     * @return the next token as an int
+     *
+     * @throws InputMismatchException if the token is not a valid int
+     * @throws NoSuchElementException if the current line has no more tokens
+     */
+    public int nextInt()
+    {
+        final int len = readToken();
+
+        int idx = 0;
+        boolean negative = false;
+
+        if (this.token[0] == '-' || this.token[0] == '+') {
+            negative = this.token[0] == '-';
+            idx = 1;
+        }
+
+        if (idx == len) {
+            throw new InputMismatchException(new String(this.token, 0, len));
+        }
+
+        // Accumulate negatively (like Integer.parseInt) so MIN_VALUE fits.
+        final int bound = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int result = 0;
+
+        for (; idx < len; idx++) {
+            final int digit = this.token[idx] - '0';
+
+            if (digit < 0 || digit > 9
+                || result < bound / 10
+                || result * 10 < bound + digit) {
+                throw new InputMismatchException(new String(this.token, 0, len));
+            }
+
+            result = result * 10 - digit;
+        }
+
+        return negative ? result : -result;
+    }
+
+    /**
+     * Skip the next token on the current line (without creating a String).
+     *
+     * @throws NoSuchElementException if the current line has no more tokens
+     */
+    void skip()
+    {
+        readToken();
+    }
+
+    /**
+     * Read the next token on the current line and compare it with a
+     * String (without creating a String).
+     *
+     * @param str expected token
+     *
+     * @return true if the token equals *str*
+     *
+     * @throws NoSuchElementException if the current line has no more tokens
+     */
+    boolean nextEquals(final String str)
+    {
+        return tokenEquals(readToken(), str);
+    }
+
+    /**
+     * Read the next token on the current line, returning the equal String
+     * from *known* (if there is one) rather than creating a new one.
+     *
+     * @param known Strings to reuse (null entries are ignored)
+     *
+     * @return the next token
+     *
+     * @throws NoSuchElementException if the current line has no more tokens
+     */
+    String next(final String[] known)
+    {
+        final int len = readToken();
+
+        for (final String str : known) {
+            if (str != null && tokenEquals(len, str)) {
+                return str;
+            }
+        }
+
+        return new String(this.token, 0, len);
+    }
+
+    /**
+     * Remember the current position on the current line. Everything read
+     * from here on is kept until the next line is started, so that
+     * {@link #reset()} can return to it.
+     */
+    void mark()
+    {
+        this.mark = this.position;
+    }
+
+    /**
+     * Return to the position saved by {@link #mark()}--e.g., to read the
+     * tokens of a line a second time.
+     *
+     * @throws IllegalStateException if no position is marked on this line
+     */
+    void reset()
+    {
+        if (this.mark < 0) {
+            throw new IllegalStateException("no mark");
+        }
+
+        this.position = this.mark;
+    }
+
+    /**
+     * Close the underlying Reader (if any).
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        if (this.source != null) {
+            this.source.close();
+        }
+    }
+
+    /**
+     * Copy the next token into *token*.
+     *
+     * @return length of the token
+     */
+    private int readToken()
+    {
+        skipSpaces();
+
+        int chr = peek();
+
+        if (chr == EOF || isLineEnd(chr)) {
+            throw new NoSuchElementException();
+        }
+
+        int len = 0;
+
+        while (chr != EOF && !Character.isWhitespace(chr)) {
+            // Copy every token char already in the buffer at once.
+            int end = this.position + 1;
+
+            while (end < this.limit && !Character.isWhitespace(this.buffer[end])) {
+                end++;
+            }
+
+            final int run = end - this.position;
+
+            if (len + run > this.token.length) {
+                this.token = Arrays.copyOf(this.token, Math.max(len + run, len * 2));
+            }
+
+            System.arraycopy(this.buffer, this.position, this.token, len, run);
+            len += run;
+            this.position = end;
+
+            chr = peek();
+        }
+
+        return len;
+    }
+
+    /**
+     * Consume the rest of the current line, including its terminator.
+     */
+    private void skipLine()
+    {
+        while (peek() != EOF) {
+            final char[] buf = this.buffer;
+            final int end = this.limit;
+            int pos = this.position;
+
+            while (pos < end && buf[pos] != '\n' && buf[pos] != '\r') {
+                pos++;
+            }
+
+            if (pos == end) {
+                // No line end buffered--read more.
+                this.position = pos;
+                continue;
+            }
+
+            this.position = pos + 1;
+
+            if (buf[pos] == '\r' && peek() == '\n') {
+                this.position++;
+            }
+
+            return;
+        }
+    }
+
+    /**
+     * Compare the token just read (the first *len* chars of *token*) with
+     * a String.
+     */
+    private boolean tokenEquals(final int len, final String str)
+    {
+        if (len != str.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < len; i++) {
+            if (this.token[i] != str.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Skip whitespace up to (but not including) the end of the current line.
+     */
+    private void skipSpaces()
+    {
+        int chr = peek();
+
+        while (chr != EOF && !isLineEnd(chr) && Character.isWhitespace(chr)) {
+            this.position++;
+            chr = peek();
+        }
+    }
+
+    /**
+     * Look at the next char without consuming it.
+     *
+     * @return the next char or EOF
+     */
+    private int peek()
+    {
+        if (this.position == this.limit && !fill()) {
+            return EOF;
+        }
+
+        return this.buffer[this.position];
+    }
+
+    /**
+     * Refill *buffer* from *source*. Characters from the mark (if any) on
+     * are kept--moved to the front of *buffer*, which grows if the marked
+     * text fills it.
+     *
+     * @return false if no more input is available
+     */
+    private boolean fill()
+    {
+        if (this.source == null) {
+            return false;
+        }
+
+        int kept = 0;
+
+        if (this.mark >= 0) {
+            kept = this.limit - this.mark;
+
+            if (kept == this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, 2 * this.buffer.length);
+            }
+            else {
+                System.arraycopy(this.buffer, this.mark, this.buffer, 0, kept);
+            }
+
+            this.mark = 0;
+        }
+
+        // The kept chars were already read--reading continues after them.
+        this.position = kept;
+        this.limit    = kept;
+
+        try {
+            int count = 0;
+
+            while (count == 0) {
+                count = this.source.read(this.buffer, kept, this.buffer.length - kept);
+            }
+
+            if (count < 0) {
+                return false;
+            }
+
+            this.limit += count;
+
+            return true;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Is *chr* a line terminator?
+     */
+    private static boolean isLineEnd(final int chr)
+    {
+        return chr == '\n' || chr == '\r';
+    }
+}
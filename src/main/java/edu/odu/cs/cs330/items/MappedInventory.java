@@ -0,0 +1,372 @@
+package edu.odu.cs.cs330.items;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+/**
+ * A read-only view of an Inventory snapshot (see {@link InventorySnapshot}).
+ * <p>
+ * The snapshot is memory-mapped, and nothing is decoded when it is
+ * opened--beyond the header and footer. Each ItemStack is decoded from the
+ * mapping when it is requested, and only the Strings it references are
+ * read. Opening a large snapshot is therefore (nearly) instant, and memory
+ * use grows only with the stacks and Strings actually touched.
+ * <p>
+ * Stacks returned by a view are copies--modifying them does not change
+ * the snapshot. Like {@link Inventory}, a view is not thread-safe.
+ */
+@SuppressWarnings({
+    "PMD.LawOfDemeter",
+    "PMD.AvoidLiteralsInIfCondition"
+})
+public class MappedInventory implements SlotCounts, Iterable<ItemStack>, Closeable
+{
+    /**
+     * Bytes per mapped segment (a single mapping is limited to 2 GB).
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    /**
+     * Extra bytes mapped past the end of each segment, so that records
+     * starting near the end of a segment need no second mapping.
+     */
+    private static final int SEGMENT_OVERLAP = 1 << 16;
+
+    /**
+     * Largest possible slot record (tag, quantity and 7 fields).
+     */
+    private static final int MAX_SLOT_SIZE = 1 + 8 * 5;
+
+    /**
+     * Largest possible varint.
+     */
+    private static final int MAX_VARINT_SIZE = 5;
+
+    /**
+     * Open snapshot file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Size of the snapshot in bytes.
+     */
+    private final long fileSize;
+
+    /**
+     * Segments mapped so far (null until first touched).
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Total number of slots in the saved Inventory.
+     */
+    private final int capacity;
+
+    /**
+     * Offset of the String and slot offset index.
+     */
+    private final long indexOffset;
+
+    /**
+     * Number of Strings in the string table.
+     */
+    private final int stringCount;
+
+    /**
+     * Number of slots in use.
+     */
+    private final int slotCount;
+
+    /**
+     * Strings decoded so far, by reference.
+     */
+    private final Map<Integer, String> strings;
+
+    /**
+     * Open a snapshot. The file stays open until {@link #close()}.
+     * <p>
+     * Only the header and footer are checked--call {@link #verify()} to
+     * check the whole snapshot against its checksum.
+     *
+     * @param file snapshot written by {@link InventorySnapshot#save}
+     *
+     * @throws IOException if the file can not be read or is not a
+     *     snapshot
+     */
+    public MappedInventory(Path file)
+        throws IOException
+    {
+        this.channel  = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = this.channel.size();
+        this.segments = new MappedByteBuffer[(int) ((this.fileSize + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        this.strings  = new HashMap<>();
+
+        try {
+            if (this.fileSize < 5 + InventorySnapshot.FOOTER_SIZE) {
+                throw new IOException("not an inventory snapshot");
+            }
+
+            final ByteBuffer header = this.window(0, 5 + MAX_VARINT_SIZE);
+
+            if (header.getInt(header.position()) != InventorySnapshot.MAGIC) {
+                throw new IOException("not an inventory snapshot");
+            }
+
+            if (header.get(header.position() + 4) != InventorySnapshot.VERSION) {
+                throw new IOException(
+                    "unsupported snapshot version " + header.get(header.position() + 4)
+                );
+            }
+
+            final InventorySnapshot.Decoder in = new InventorySnapshot.Decoder(header);
+            in.skip(5);
+            this.capacity = in.getVarint();
+
+            final long footerOffset = this.fileSize - InventorySnapshot.FOOTER_SIZE;
+            final ByteBuffer footer = this.window(footerOffset, InventorySnapshot.FOOTER_SIZE);
+            final int base = footer.position();
+
+            this.indexOffset = footer.getLong(base);
+            this.stringCount = footer.getInt(base + 8);
+            this.slotCount   = footer.getInt(base + 12);
+
+            if (this.indexOffset < 0
+                || this.indexOffset + 8L * (this.stringCount + (long) this.slotCount) != footerOffset) {
+                throw new IOException("corrupt inventory snapshot footer");
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the total number of slots (inventory size).
+     *
+     * @return maximum size
+     */
+    @Override
+    public int totalSlots()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Get the number of currently filled (used) slots.
+     *
+     * @return number of slots in use
+     */
+    @Override
+    public int utilizedSlots()
+    {
+        return this.slotCount;
+    }
+
+    /**
+     * Decode one slot.
+     *
+     * @param slot index of the slot (in slot order)
+     *
+     * @return a copy of the stack in *slot*
+     *
+     * @throws IndexOutOfBoundsException if *slot* is not in use
+     * @throws UncheckedIOException if the snapshot can not be read
+     */
+    public ItemStack get(int slot)
+    {
+        if (slot < 0 || slot >= this.slotCount) {
+            throw new IndexOutOfBoundsException("slot " + slot);
+        }
+
+        try {
+            final long offset = this.indexEntry(this.stringCount + (long) slot);
+
+            return new InventorySnapshot.Decoder(this.window(offset, MAX_SLOT_SIZE))
+                .getStack(this::lookup);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Check the whole snapshot against its checksum.
+     *
+     * @throws IOException if the snapshot can not be read or is corrupt
+     */
+    public void verify()
+        throws IOException
+    {
+        final CRC32 crc = new CRC32();
+        final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        final long end = this.fileSize - 4;
+
+        long position = 0;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+
+            final int count = this.channel.read(buffer, position);
+            if (count < 0) {
+                throw new IOException("truncated inventory snapshot");
+            }
+
+            buffer.flip();
+            crc.update(buffer);
+            position += count;
+        }
+
+        final ByteBuffer stored = this.window(end, 4);
+        if ((int) crc.getValue() != stored.getInt(stored.position())) {
+            throw new IOException("snapshot checksum mismatch");
+        }
+    }
+
+    /**
+     * Iterate over all slots in slot order, decoding each as it is reached.
+     */
+    @Override
+    public Iterator<ItemStack> iterator()
+    {
+        return new Iterator<ItemStack>() {
+            private int next;
+
+            @Override
+            public boolean hasNext()
+            {
+                return this.next < slotCount;
+            }
+
+            @Override
+            public ItemStack next()
+            {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return get(this.next++);
+            }
+        };
+    }
+
+    /**
+     * Unmap (eventually) and close the snapshot.
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        this.channel.close();
+    }
+
+    /**
+     * *Print* a Summary of the Inventory and all Items contained within
+     * (this decodes every slot).
+     */
+    @Override
+    public String toString()
+    {
+        return Inventory.summarize(this.percentFilled(), this.capacity, this);
+    }
+
+    /**
+     * Retrieve a String by reference, decoding it on first use.
+     */
+    private String lookup(int reference)
+        throws IOException
+    {
+        if (reference == 0) {
+            return null;
+        }
+
+        if (reference > this.stringCount) {
+            throw new IOException("bad string reference in inventory snapshot");
+        }
+
+        String str = this.strings.get(reference);
+
+        if (str == null) {
+            final long offset = this.indexEntry(reference - 1L);
+            final InventorySnapshot.Decoder in = new InventorySnapshot.Decoder(
+                this.window(offset, MAX_VARINT_SIZE)
+            );
+            final int start = in.position();
+            final int length = in.getVarint();
+
+            str = new InventorySnapshot.Decoder(
+                this.window(offset + in.position() - start, length)
+            ).getBytes(length);
+
+            this.strings.put(reference, str);
+        }
+
+        return str;
+    }
+
+    /**
+     * Read entry *i* of the offset index.
+     */
+    private long indexEntry(long i)
+        throws IOException
+    {
+        final ByteBuffer entry = this.window(this.indexOffset + 8 * i, 8);
+
+        return entry.getLong(entry.position());
+    }
+
+    /**
+     * Access *length* bytes at *offset* (fewer if the file ends first).
+     *
+     * @return buffer positioned at *offset*--a view of the mapping if the
+     *     bytes lie within one segment, otherwise a copy
+     */
+    private ByteBuffer window(long offset, int length)
+        throws IOException
+    {
+        final int wanted = (int) Math.min(length, this.fileSize - offset);
+        final int index = (int) (offset / SEGMENT_SIZE);
+        final long start = index * SEGMENT_SIZE;
+
+        if (offset - start + wanted <= SEGMENT_SIZE + SEGMENT_OVERLAP) {
+            MappedByteBuffer segment = this.segments[index];
+
+            if (segment == null) {
+                segment = this.channel.map(
+                    FileChannel.MapMode.READ_ONLY,
+                    start,
+                    Math.min(this.fileSize - start, SEGMENT_SIZE + SEGMENT_OVERLAP)
+                );
+                this.segments[index] = segment;
+            }
+
+            final ByteBuffer view = segment.duplicate().order(ByteOrder.BIG_ENDIAN);
+            view.position((int) (offset - start));
+
+            return view;
+        }
+
+        // Spans two segments (e.g., a very long String)--copy it.
+        final ByteBuffer copy = ByteBuffer.allocate(wanted);
+        while (copy.hasRemaining()) {
+            if (this.channel.read(copy, offset + copy.position()) < 0) {
+                throw new IOException("truncated inventory snapshot");
+            }
+        }
+        copy.flip();
+
+        return copy;
+    }
+}
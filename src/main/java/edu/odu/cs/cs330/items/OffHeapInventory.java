@@ -0,0 +1,413 @@
+package edu.odu.cs.cs330.items;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An Inventory whose slots live outside the Java heap.
+ * <p>
+ * Every slot is a fixed-width record in a direct ByteBuffer:
+ * <pre>
+ *   0  type tag (int--Armour or Consumable)
+ *   4  quantity
+ *   8  name id
+ *   Armour:      12 material id, 16 durability, 20 defense,
+ *                24 modifier id, 28 modifier level, 32 element id
+ *   Consumable:  12 effect id, 16 uses
+ * </pre>
+ * Strings are stored once, on the heap, in a table of distinct Strings;
+ * records refer to them by id (0 for null). Buffers of up to 65,536
+ * records are allocated as slots are claimed. The garbage collector
+ * therefore sees a handful of objects per buffer and per distinct
+ * String--not an ItemStack, an Item and its Strings per slot.
+ * <p>
+ * Items are added with the same rules as {@link Inventory}. Stacks and
+ * Items are only created when requested ({@link #get(int)} and
+ * iteration); each is a new copy--modifying it does not change the
+ * Inventory. Like Inventory, an OffHeapInventory is not thread-safe.
+ */
+@SuppressWarnings({
+    "PMD.LawOfDemeter",
+    "PMD.AvoidLiteralsInIfCondition"
+})
+public class OffHeapInventory implements SlotCounts, Iterable<ItemStack>
+{
+    /**
+     * Size of one slot record in bytes.
+     */
+    static final int RECORD_SIZE = 36;
+
+    /**
+     * Number of records per buffer (as a power of 2).
+     */
+    private static final int CHUNK_SHIFT = 16;
+
+    /**
+     * Number of records per buffer.
+     */
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+
+    /**
+     * Record offsets (fields common to all records).
+     */
+    private static final int TAG = 0;
+    private static final int QUANTITY = 4;
+    private static final int NAME = 8;
+
+    /**
+     * Record offsets (Armour fields).
+     */
+    private static final int MATERIAL = 12;
+    private static final int DURABILITY = 16;
+    private static final int DEFENSE = 20;
+    private static final int MODIFIER = 24;
+    private static final int MODIFIER_LEVEL = 28;
+    private static final int ELEMENT = 32;
+
+    /**
+     * Record offsets (Consumable fields).
+     */
+    private static final int EFFECT = 12;
+    private static final int USES = 16;
+
+    /**
+     * Total number of slots.
+     */
+    private final int capacity;
+
+    /**
+     * Number of slots in use.
+     */
+    private int slotCount;
+
+    /**
+     * Record buffers (allocated as needed).
+     */
+    private ByteBuffer[] chunks;
+
+    /**
+     * Distinct Strings by id (id 0 is null).
+     */
+    private final List<String> symbols;
+
+    /**
+     * Id of each distinct String.
+     */
+    private final Map<String, Integer> symbolIds;
+
+    /**
+     * First slot holding each name, by name id (-1 for none).
+     */
+    private int[] firstSlots;
+
+    /**
+     * Default to an inventory with {@link Inventory#DEFAULT_SIZE} slots.
+     */
+    public OffHeapInventory()
+    {
+        this(Inventory.DEFAULT_SIZE);
+    }
+
+    /**
+     * Create an inventory with n slots. Off-heap memory is allocated as
+     * slots are claimed--an empty inventory is small no matter its size.
+     *
+     * @param desiredCapacity size of the new Inventory
+     */
+    public OffHeapInventory(int desiredCapacity)
+    {
+        this.capacity   = desiredCapacity;
+        this.chunks     = new ByteBuffer[0];
+        this.symbols    = new ArrayList<>();
+        this.symbolIds  = new HashMap<>();
+        this.firstSlots = new int[16];
+
+        this.symbols.add(null);
+        Arrays.fill(this.firstSlots, -1);
+    }
+
+    /**
+     * Get the total number of slots (inventory size).
+     *
+     * @return maximum size
+     */
+    @Override
+    public int totalSlots()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Get the number of currently filled (used) slots.
+     *
+     * @return number of slots in use
+     */
+    @Override
+    public int utilizedSlots()
+    {
+        return this.slotCount;
+    }
+
+    /**
+     * Add one item to the inventory. Only its attributes are
+     * kept--*oneItem* itself is not retained.
+     *
+     * @param oneItem item to add
+     *
+     * @return true if *oneItem* was added and false otherwise
+     *
+     * @throws IllegalArgumentException if *oneItem* is not an Armour or
+     *     Consumable
+     */
+    public boolean addItem(Item oneItem)
+    {
+        return this.add(oneItem, 1);
+    }
+
+    /**
+     * Add one or more items to the inventory.
+     *
+     * @param stack new stack of items to add (it is not retained)
+     *
+     * @return true if *stack* was added and false otherwise
+     *
+     * @throws IllegalArgumentException if the Item in *stack* is not an
+     *     Armour or Consumable
+     */
+    public boolean addItems(ItemStack stack)
+    {
+        return this.add(stack.getItem(), stack.size());
+    }
+
+    /**
+     * Create a copy of the stack in one slot.
+     *
+     * @param slot slot number (in insertion order)
+     *
+     * @return new ItemStack equal to the one in slot *slot*
+     *
+     * @throws IndexOutOfBoundsException if *slot* is not in use
+     */
+    public ItemStack get(int slot)
+    {
+        if (slot < 0 || slot >= this.slotCount) {
+            throw new IndexOutOfBoundsException("slot " + slot);
+        }
+
+        final ByteBuffer chunk = this.chunks[slot >>> CHUNK_SHIFT];
+        final int base = (slot & (CHUNK_RECORDS - 1)) * RECORD_SIZE;
+        final Item item;
+
+        if (chunk.getInt(base + TAG) == InventorySnapshot.ARMOUR_TAG) {
+            item = new Armour(
+                this.symbols.get(chunk.getInt(base + NAME)),
+                this.symbols.get(chunk.getInt(base + MATERIAL)),
+                chunk.getInt(base + DURABILITY),
+                chunk.getInt(base + DEFENSE),
+                this.symbols.get(chunk.getInt(base + MODIFIER)),
+                chunk.getInt(base + MODIFIER_LEVEL),
+                this.symbols.get(chunk.getInt(base + ELEMENT))
+            );
+        }
+        else {
+            item = new Consumable(
+                this.symbols.get(chunk.getInt(base + NAME)),
+                this.symbols.get(chunk.getInt(base + EFFECT)),
+                chunk.getInt(base + USES)
+            );
+        }
+
+        return ItemStack.adopt(item, chunk.getInt(base + QUANTITY));
+    }
+
+    /**
+     * Retrieve the number of off-heap bytes allocated for slot records.
+     *
+     * @return allocated bytes
+     */
+    public long allocatedBytes()
+    {
+        long bytes = 0;
+
+        for (ByteBuffer chunk : this.chunks) {
+            bytes += chunk.capacity();
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Iterate over all slots in insertion order, creating each stack as it
+     * is reached.
+     */
+    @Override
+    public Iterator<ItemStack> iterator()
+    {
+        return new Iterator<ItemStack>() {
+            private int next;
+
+            @Override
+            public boolean hasNext()
+            {
+                return this.next < slotCount;
+            }
+
+            @Override
+            public ItemStack next()
+            {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return get(this.next++);
+            }
+        };
+    }
+
+    /**
+     * *Print* a Summary of the Inventory and all Items contained within.
+     */
+    @Override
+    public String toString()
+    {
+        return Inventory.summarize(this.percentFilled(), this.capacity, this);
+    }
+
+    /**
+     * Merge *qty* copies of *item* into the first stack with the same name
+     * (if it permits stacking) or place them in the next empty slot.
+     */
+    private boolean add(Item item, int qty)
+    {
+        final boolean armour = item.getClass() == Armour.class;
+
+        if (!armour && item.getClass() != Consumable.class) {
+            throw new IllegalArgumentException(
+                "can not store " + item.getClass().getName() + " " + item.getName()
+            );
+        }
+
+        // Look the name up without assigning an id--a rejected Item must
+        // not leave its Strings behind in the (on-heap) symbol table.
+        final int knownId = this.knownSymbolId(item.getName());
+
+        if (knownId >= 0 && this.firstSlots[knownId] >= 0) {
+            final int first = this.firstSlots[knownId];
+            final ByteBuffer chunk = this.chunks[first >>> CHUNK_SHIFT];
+            final int base = (first & (CHUNK_RECORDS - 1)) * RECORD_SIZE;
+
+            if (chunk.getInt(base + TAG) == InventorySnapshot.CONSUMABLE_TAG) {
+                chunk.putInt(base + QUANTITY, chunk.getInt(base + QUANTITY) + qty);
+
+                return true;
+            }
+        }
+
+        if (this.isFull()) {
+            return false;
+        }
+
+        final int nameId = knownId >= 0 ? knownId : this.symbolId(item.getName());
+        final int slot = this.slotCount;
+
+        if ((slot >>> CHUNK_SHIFT) == this.chunks.length) {
+            this.chunks = Arrays.copyOf(this.chunks, this.chunks.length + 1);
+            this.chunks[this.chunks.length - 1] = ByteBuffer
+                .allocateDirect(Math.min(CHUNK_RECORDS, this.capacity - slot) * RECORD_SIZE)
+                .order(ByteOrder.nativeOrder());
+        }
+
+        final ByteBuffer chunk = this.chunks[slot >>> CHUNK_SHIFT];
+        final int base = (slot & (CHUNK_RECORDS - 1)) * RECORD_SIZE;
+
+        chunk.putInt(base + QUANTITY, qty);
+        chunk.putInt(base + NAME, nameId);
+
+        if (armour) {
+            final Armour piece = (Armour) item;
+
+            chunk.putInt(base + TAG, InventorySnapshot.ARMOUR_TAG);
+            chunk.putInt(base + MATERIAL, this.symbolId(piece.getMaterial()));
+            chunk.putInt(base + DURABILITY, piece.getDurability());
+            chunk.putInt(base + DEFENSE, piece.getDefense());
+            chunk.putInt(base + MODIFIER, this.symbolId(piece.getModifier()));
+            chunk.putInt(base + MODIFIER_LEVEL, piece.getModifierLevel());
+            chunk.putInt(base + ELEMENT, this.symbolId(piece.getElement()));
+        }
+        else {
+            final Consumable consumable = (Consumable) item;
+
+            chunk.putInt(base + TAG, InventorySnapshot.CONSUMABLE_TAG);
+            chunk.putInt(base + EFFECT, this.symbolId(consumable.getEffect()));
+            chunk.putInt(base + USES, consumable.getNumberOfUses());
+        }
+
+        if (this.firstSlots[nameId] < 0) {
+            this.firstSlots[nameId] = slot;
+        }
+
+        this.slotCount++;
+
+        return true;
+    }
+
+    /**
+     * Retrieve the id of a String without assigning one.
+     *
+     * @return the id of *str* (0 for null) or -1 if it has none yet
+     */
+    private int knownSymbolId(String str)
+    {
+        if (str == null) {
+            return 0;
+        }
+
+        final Integer id = this.symbolIds.get(str);
+
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Retrieve the number of distinct Strings stored (including null).
+     *
+     * @return size of the symbol table
+     */
+    int symbolCount()
+    {
+        return this.symbols.size();
+    }
+
+    /**
+     * Retrieve the id of a String, assigning the next id on first use.
+     */
+    private int symbolId(String str)
+    {
+        if (str == null) {
+            return 0;
+        }
+
+        Integer id = this.symbolIds.get(str);
+
+        if (id == null) {
+            id = this.symbols.size();
+            this.symbols.add(str);
+            this.symbolIds.put(str, id);
+
+            if (id == this.firstSlots.length) {
+                final int length = this.firstSlots.length;
+
+                this.firstSlots = Arrays.copyOf(this.firstSlots, 2 * length);
+                Arrays.fill(this.firstSlots, length, 2 * length, -1);
+            }
+        }
+
+        return id;
+    }
+}
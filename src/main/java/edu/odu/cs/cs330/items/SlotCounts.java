@@ -0,0 +1,53 @@
+package edu.odu.cs.cs330.items;
+
+/**
+ * Slot accounting shared by every kind of Inventory. An implementation
+ * supplies its capacity and the number of slots in use; every other count
+ * is derived from those two.
+ */
+public interface SlotCounts
+{
+    /**
+     * Get the total number of slots (inventory size).
+     *
+     * @return maximum size
+     */
+    int totalSlots();
+
+    /**
+     * Get the number of currently filled (used) slots.
+     *
+     * @return number of slots in use
+     */
+    int utilizedSlots();
+
+    /**
+     * Get the number of empty (unused) slots.
+     *
+     * @return number of available slots
+     */
+    default int emptySlots()
+    {
+        return this.totalSlots() - this.utilizedSlots();
+    }
+
+    /**
+     * Determine if all slots are in use.
+     *
+     * @return true if all slots contain an ItemStack and false otherwise
+     */
+    default boolean isFull()
+    {
+        return this.emptySlots() <= 0;
+    }
+
+    /**
+     * Return the percent filled rounded to the nearest whole number (integer).
+     *
+     * @return percent of slots in use
+     */
+    default int percentFilled()
+    {
+        return (int) Math.round(100.0 * this.utilizedSlots() / this.totalSlots());
+    }
+}
@@ -0,0 +1,150 @@
+package edu.odu.cs.cs330.items;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe table of canonical Strings.
+ * <p>
+ * Item files draw names, materials, modifiers, elements and effects from a
+ * small vocabulary. Passing each parsed token through {@link #intern}
+ * lets every Item share one copy of each String instead of holding its
+ * own.
+ * <p>
+ * Once *capacity* distinct Strings are stored, new Strings are returned
+ * as-is (nothing is evicted).
+ */
+public final class SymbolTable {
+    /**
+     * Default maximum number of distinct Strings.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * Estimated fixed cost of one String: a 24 byte String object plus a
+     * 16 byte array header (64-bit JVM, compressed oops).
+     */
+    private static final int STRING_OVERHEAD = 24 + 16;
+
+    /**
+     * Canonical copy of each String.
+     */
+    private final ConcurrentHashMap<String, String> symbols;
+
+    /**
+     * Maximum number of distinct Strings.
+     */
+    private final int capacity;
+
+    /**
+     * Number of intern calls answered with an existing String.
+     */
+    private final LongAdder hits;
+
+    /**
+     * Estimated bytes no longer retained because of those hits.
+     */
+    private final LongAdder bytesSaved;
+
+    /**
+     * Create a table holding up to {@link #DEFAULT_CAPACITY} Strings.
+     */
+    public SymbolTable()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a table holding up to *maxSymbols* Strings.
+     *
+     * @param maxSymbols maximum number of distinct Strings
+     */
+    public SymbolTable(int maxSymbols)
+    {
+        this.symbols    = new ConcurrentHashMap<>();
+        this.capacity   = maxSymbols;
+        this.hits       = new LongAdder();
+        this.bytesSaved = new LongAdder();
+    }
+
+    /**
+     * Retrieve the canonical copy of a String.
+     *
+     * @param str String to look up
+     *
+     * @return the stored String equal to *str*, or *str* itself if this is
+     *     the first occurrence (or the table is full)
+     */
+    public String intern(String str)
+    {
+        String existing = this.symbols.get(str);
+
+        if (existing == null) {
+            if (this.symbols.mappingCount() >= this.capacity) {
+                return str;
+            }
+
+            existing = this.symbols.putIfAbsent(str, str);
+
+            if (existing == null) {
+                return str;
+            }
+        }
+
+        this.hits.increment();
+        this.bytesSaved.add(estimateSize(existing));
+
+        return existing;
+    }
+
+    /**
+     * Retrieve the number of distinct Strings stored.
+     *
+     * @return number of Strings
+     */
+    public int size()
+    {
+        return this.symbols.size();
+    }
+
+    /**
+     * Retrieve the number of intern calls that returned an existing String.
+     *
+     * @return number of deduplicated Strings
+     */
+    public long hits()
+    {
+        return this.hits.sum();
+    }
+
+    /**
+     * Retrieve the estimated number of bytes deduplicated.
+     *
+     * @return bytes no longer retained
+     */
+    public long bytesSaved()
+    {
+        return this.bytesSaved.sum();
+    }
+
+    /**
+     * Estimate the retained size of a String (assuming one byte per
+     * char--i.e., compact Latin-1 Strings).
+     */
+    private static long estimateSize(String str)
+    {
+        return (STRING_OVERHEAD + str.length() + 7) & ~7L;
+    }
+
+    /**
+     * *Print* usage statistics.
+     */
+    @Override
+    public String toString()
+    {
+        return String.format(
+            "%d symbols, %d duplicates removed, ~%d bytes saved",
+            this.size(), this.hits(), this.bytesSaved()
+        );
+    }
+}
@@ -0,0 +1,221 @@
+package edu.odu.cs.cs330;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import edu.odu.cs.cs330.items.Inventory;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ *
+ * This is technically an Integration Test.
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestBatchStorage
+{
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Render one file the way Storage.main does.
+     */
+    private static String renderOne(Path file, int size)
+        throws IOException
+    {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+
+        Inventory inv = Storage.createInventory(
+            Storage.readItemsFromFile(file.toString()), size, out, Storage.LogMode.FULL
+        );
+        out.println("Player Storage Summary:");
+        out.println(inv);
+        out.flush();
+
+        return text.toString();
+    }
+
+    @Test
+    public void testRunMatchesSingleFiles()
+        throws IOException
+    {
+        Path dir = Files.createDirectory(tempDir.resolve("dumps"));
+        Path first = dir.resolve("a.txt");
+        Path second = dir.resolve("b.txt");
+
+        Files.write(first, Arrays.asList(
+            "Armour Boots Diamond 100 10 FeatherFalling 4 lightning",
+            "Food Tomato Hunger-10 2",
+            "Food Tomato Hunger-10 2"
+        ), StandardCharsets.UTF_8);
+        Files.write(second, Arrays.asList(
+            "Potion Speed-II-Potion Spd*2 1",
+            "LOLNOTAVALIDITEM potato 7"
+        ), StandardCharsets.UTF_8);
+
+        Path missing = tempDir.resolve("missing.txt");
+
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+
+        int failed = BatchStorage.run(
+            Arrays.asList(dir.toString(), missing.toString()), 2, Storage.LogMode.FULL, null, out
+        );
+        out.flush();
+
+        String output = text.toString();
+
+        assertThat(failed, equalTo(1));
+        assertThat(output, stringContainsInOrder(Arrays.asList(
+            "==> " + first + " <==",
+            renderOne(first, 2),
+            "==> " + second + " <==",
+            renderOne(second, 2),
+            "==> " + missing + " <==",
+            "could not be opened or read",
+            "Batch Timing Report:",
+            "Files:   3 (1 failed)",
+            "Items:   4"
+        )));
+    }
+
+    /**
+     * More files than are processed at once are still all written, in
+     * input order.
+     */
+    @Test
+    public void testRunManyFilesInOrder()
+        throws IOException
+    {
+        Path dir = Files.createDirectory(tempDir.resolve("many"));
+        int count = 4 * Runtime.getRuntime().availableProcessors() + 3;
+        List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Path file = dir.resolve(String.format("%03d.txt", i));
+
+            Files.write(file, Arrays.asList(
+                "Food Apple-" + i + " Hunger-10 " + (i + 1)
+            ), StandardCharsets.UTF_8);
+
+            expected.add("==> " + file + " <==");
+            expected.add(renderOne(file, 2));
+        }
+
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+
+        int failed = BatchStorage.run(
+            Arrays.asList(dir.toString()), 2, Storage.LogMode.FULL, null, out
+        );
+        out.flush();
+
+        expected.add("Files:   " + count + " (0 failed)");
+
+        assertThat(failed, equalTo(0));
+        assertThat(text.toString(), stringContainsInOrder(expected));
+    }
+
+    /**
+     * A malformed line fails only its own file.
+     */
+    @Test
+    public void testMalformedFileDoesNotAbortBatch()
+        throws IOException
+    {
+        Path good = tempDir.resolve("a.txt");
+        Path badNumber = tempDir.resolve("b.txt");
+        Path truncated = tempDir.resolve("c.txt");
+        Path last = tempDir.resolve("d.txt");
+
+        Files.write(good, Arrays.asList("Food Tomato Hunger-10 2"), StandardCharsets.UTF_8);
+        Files.write(badNumber, Arrays.asList(
+            "Food Tomato Hunger-10 2",
+            "Armour Boots Diamond lots 10 FeatherFalling 4 lightning"
+        ), StandardCharsets.UTF_8);
+        Files.write(truncated, Arrays.asList("Armour Boots Diamond"), StandardCharsets.UTF_8);
+        Files.write(last, Arrays.asList("Potion Speed-II-Potion Spd*2 1"), StandardCharsets.UTF_8);
+
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+
+        int failed = BatchStorage.run(
+            Arrays.asList(good.toString(), badNumber.toString(), truncated.toString(), last.toString()),
+            2, Storage.LogMode.FULL, null, out
+        );
+        out.flush();
+
+        assertThat(failed, equalTo(2));
+        assertThat(text.toString(), stringContainsInOrder(Arrays.asList(
+            "==> " + good + " <==",
+            renderOne(good, 2),
+            "==> " + badNumber + " <==",
+            "Error: " + badNumber + " is malformed (expected a number, found \"lots\")",
+            "==> " + truncated + " <==",
+            "Error: " + truncated + " is malformed",
+            "==> " + last + " <==",
+            renderOne(last, 2),
+            "Files:   4 (2 failed)"
+        )));
+    }
+
+    @Test
+    public void testListFiles()
+        throws IOException
+    {
+        Path dir = Files.createDirectory(tempDir.resolve("dumps"));
+        Files.createDirectory(dir.resolve("nested"));
+        Files.write(dir.resolve("z.txt"), new byte[0]);
+        Files.write(dir.resolve("m.txt"), new byte[0]);
+
+        List<Path> files = BatchStorage.listFiles(Arrays.asList("single.txt", dir.toString()));
+
+        assertThat(files, contains(
+            tempDir.getFileSystem().getPath("single.txt"), dir.resolve("m.txt"), dir.resolve("z.txt")
+        ));
+    }
+
+    @Test
+    public void testNewExecutor()
+        throws Exception
+    {
+        ExecutorService executor = BatchStorage.newExecutor();
+
+        try {
+            assertThat(executor.submit(() -> 330).get(), equalTo(330));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}
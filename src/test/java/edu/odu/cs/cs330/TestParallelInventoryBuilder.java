@@ -0,0 +1,158 @@
+package edu.odu.cs.cs330;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.odu.cs.cs330.items.Armour;
+import edu.odu.cs.cs330.items.Consumable;
+import edu.odu.cs.cs330.items.Inventory;
+import edu.odu.cs.cs330.items.Item;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ *
+ * The parallel builder must reproduce the sequential result exactly.
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestParallelInventoryBuilder
+{
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    /**
+     * Generate *count* Items drawn from *distinct* names. Every third name
+     * is (non-stackable) Armour--unless *mixed*, in which case each Item
+     * picks its type at random.
+     */
+    private static List<Item> generate(long seed, int count, int distinct, boolean mixed)
+    {
+        Random random = new Random(seed);
+        List<Item> items = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            int id = random.nextInt(distinct);
+            boolean armour = mixed ? random.nextBoolean() : id % 3 == 0;
+
+            if (armour) {
+                items.add(new Armour("Item-" + id, "Steel", 10, 5, "None", 0, "earth"));
+            }
+            else {
+                items.add(new Consumable("Item-" + id, "Hunger-1", 1));
+            }
+        }
+
+        return items;
+    }
+
+    /**
+     * Build sequentially and in parallel, then compare the per-Item results
+     * and the rendered Inventories.
+     */
+    private static void assertMatchesSequential(List<Item> items, int size, int chunkSize)
+    {
+        StringBuilder expectedLog = new StringBuilder();
+        Inventory expected = new Inventory(size);
+        for (Item item : items) {
+            expectedLog.append(expected.adoptItem(item) ? 'S' : 'D');
+        }
+
+        StringBuilder actualLog = new StringBuilder();
+        Inventory actual = new ParallelInventoryBuilder(POOL, chunkSize).build(
+            items, size, (item, stored) -> actualLog.append(stored ? 'S' : 'D')
+        );
+
+        assertThat(actualLog.toString(), equalTo(expectedLog.toString()));
+        assertThat(actual.toString(), equalTo(expected.toString()));
+    }
+
+    @ParameterizedTest(name = "{index} => chunkSize=''{0}''")
+    @ValueSource(ints = {1, 3, 17, 100, 5000})
+    public void testMatchesSequential(int chunkSize)
+    {
+        for (int size : new int[] {1, 5, 20, 60, 200}) {
+            assertMatchesSequential(generate(size, 2000, 100, false), size, chunkSize);
+        }
+    }
+
+    /**
+     * Items with the same name but different stacking rules.
+     */
+    @ParameterizedTest(name = "{index} => chunkSize=''{0}''")
+    @ValueSource(ints = {1, 7, 5000})
+    public void testMixedTypesMatchSequential(int chunkSize)
+    {
+        assertMatchesSequential(generate(330L, 500, 20, true), 15, chunkSize);
+    }
+
+    /**
+     * An Inventory of zero (or negative) size stores nothing, however it
+     * is built.
+     */
+    @ParameterizedTest(name = "{index} => size=''{0}''")
+    @ValueSource(ints = {0, -1, -300})
+    public void testNoCapacityMatchesSequential(int size)
+    {
+        assertMatchesSequential(generate(3L, 2000, 100, false), size, 256);
+        assertMatchesSequential(generate(330L, 500, 20, true), size, 7);
+    }
+
+    @Test
+    public void testEmpty()
+    {
+        Inventory inv = new ParallelInventoryBuilder().build(
+            new ArrayList<>(), 4, (item, stored) -> { }
+        );
+
+        assertThat(inv.utilizedSlots(), equalTo(0));
+    }
+
+    /**
+     * A list without random access (read by position, it would take
+     * quadratic time) must give the same result.
+     */
+    @Test
+    public void testLinkedList()
+    {
+        List<Item> items = new LinkedList<>(generate(11L, 20000, 500, false));
+
+        assertMatchesSequential(items, 300, 256);
+    }
+
+    /**
+     * Repeated builds on a shared pool must always produce the same result.
+     */
+    @Test
+    public void testRepeatable()
+    {
+        List<Item> items = generate(7L, 20000, 500, false);
+
+        for (int run = 0; run < 5; run++) {
+            assertMatchesSequential(items, 300, 256);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package edu.odu.cs.cs330;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import edu.odu.cs.cs330.items.Item;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ *
+ * This is technically an Integration Test.
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestParallelItemReader
+{
+    private static final String ITEM_LINES =
+        "Tool Pickaxe Diamond 100 1 Fortune 5\n"
+        + "LOLNOTAVALIDITEM potato 7\n"
+        + "Disposable PotatoCamera ImageQuality-97% 5\r\n"
+        + "Potion Speed-II-Potion Spd*2 1\n"
+        + "Food Tomato Hunger-10 2\n"
+        + "Disposable PotatoCamera ImageQuality-97% 5\n"
+        + "Armour Boots Diamond 100 10 Protection 3 lightning\n"
+        + "Armor Boots Diamond 100 10 Protection 3 lightning";
+
+    @TempDir
+    Path tempDir;
+
+    private static List<String> render(List<Item> items)
+    {
+        return items.stream()
+            .map(Item::toString)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Chunk sizes from 1 byte (a chunk per line) up to larger than the file
+     * must all match the sequential reader.
+     */
+    @ParameterizedTest(name = "{index} => chunkSize=''{0}''")
+    @ValueSource(ints = {1, 2, 7, 30, 64, 4096})
+    public void testMatchesSequential(int chunkSize)
+        throws IOException
+    {
+        Path file = tempDir.resolve("items.txt");
+        Files.write(file, ITEM_LINES.getBytes(StandardCharsets.UTF_8));
+
+        List<Item> expected = Storage.readItemsFromFile(file.toString());
+        List<Item> actual = new ParallelItemReader(ForkJoinPool.commonPool(), chunkSize)
+            .read(file);
+
+        assertThat(actual.size(), equalTo(6));
+        assertThat(render(actual), equalTo(render(expected)));
+    }
+
+    @Test
+    public void testEmptyFile()
+        throws IOException
+    {
+        Path file = tempDir.resolve("empty.txt");
+        Files.write(file, new byte[0]);
+
+        assertThat(new ParallelItemReader().read(file), is(empty()));
+    }
+}
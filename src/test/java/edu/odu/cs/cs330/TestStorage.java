@@ -10,9 +10,19 @@ import org.junit.jupiter.params.provider.ValueSource;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.io.TempDir;
 
 import static edu.odu.cs.cs330.items.Inventory.DEFAULT_SIZE;
 import edu.odu.cs.cs330.items.Inventory;
@@ -125,5 +135,104 @@ public class TestStorage
         assertThat(invAsStr, stringContainsInOrder(Arrays.asList("100%", "of", "2", "slots")));
         assertThat(invAsStr, stringContainsInOrder(itemsAsStrings));
     }
-}
 
+    @Test
+    public void testCreateInventoryLogModes()
+    {
+        List<Item> items = Arrays.asList(boots, tomato, tomato, boots);
+        String nl = System.lineSeparator();
+
+        StringWriter full = new StringWriter();
+        Storage.createInventory(items, 2, new PrintWriter(full), Storage.LogMode.FULL);
+        assertThat(full.toString(), equalTo(
+            "Processing Log:" + nl
+            + " (S) Boots" + nl
+            + " (S) Tomato" + nl
+            + " (S) Tomato" + nl
+            + " (D) Boots" + nl
+            + nl
+        ));
+
+        StringWriter summary = new StringWriter();
+        Storage.createInventory(items, 2, new PrintWriter(summary), Storage.LogMode.SUMMARY);
+        assertThat(summary.toString(), equalTo(
+            "Processing Log:" + nl
+            + " Stored: 3" + nl
+            + " Discarded: 1" + nl
+            + nl
+        ));
+
+        StringWriter none = new StringWriter();
+        Inventory inv = Storage.createInventory(items, 2, new PrintWriter(none), Storage.LogMode.NONE);
+        assertThat(none.toString(), is(emptyString()));
+        assertThat(inv.utilizedSlots(), equalTo(2));
+    }
+
+    @Test
+    public void testCreateInventoryCopiesItems()
+    {
+        List<Item> items = Arrays.asList(boots, boots, tomato);
+
+        Inventory copied = Storage.createInventory(
+            items, 4, new PrintWriter(new StringWriter()), Storage.LogMode.NONE
+        );
+        List<Item> copies = copied.stream()
+            .map(stack -> stack.getItem())
+            .collect(Collectors.toList());
+
+        // Both Boots are stored, each in its own copy
+        assertThat(copies.size(), equalTo(3));
+        assertThat(copies.get(0), not(sameInstance(boots)));
+        assertThat(copies.get(1), not(sameInstance(boots)));
+        assertThat(copies.get(0), not(sameInstance(copies.get(1))));
+        assertThat(copies.get(2), not(sameInstance(tomato)));
+
+        Inventory adopted = Storage.createInventoryAdopting(
+            Arrays.asList(boots, tomato), 4, new PrintWriter(new StringWriter()), Storage.LogMode.NONE
+        );
+        List<Item> originals = adopted.stream()
+            .map(stack -> stack.getItem())
+            .collect(Collectors.toList());
+
+        assertThat(originals.get(0), sameInstance(boots));
+        assertThat(originals.get(1), sameInstance(tomato));
+    }
+
+    @Test
+    public void testGetLogMode()
+    {
+        assertThat(Storage.getLogMode(new String[]{"file.txt"}), equalTo(Storage.LogMode.FULL));
+        assertThat(Storage.getLogMode(new String[]{"--log=summary", "file.txt"}),
+                   equalTo(Storage.LogMode.SUMMARY));
+        assertThat(Storage.getLogMode(new String[]{"file.txt", "5", "--log=none"}),
+                   equalTo(Storage.LogMode.NONE));
+        assertThat(Storage.getLogMode(new String[]{"--log=loud", "file.txt"}),
+                   equalTo(Storage.LogMode.FULL));
+    }
+
+    @Test
+    public void testStreamItemsFromFile(@TempDir Path tempDir)
+        throws IOException
+    {
+        Path file = tempDir.resolve("items.txt");
+        Files.write(file, Arrays.asList(
+            "Armour Boots Diamond 100 10 FeatherFalling 4 lightning",
+            "LOLNOTAVALIDITEM potato 7",
+            "Food Tomato Hunger-10 2",
+            "Food Tomato Hunger-10 2"
+        ), StandardCharsets.UTF_8);
+
+        List<String> expected = Storage.readItemsFromFile(file.toString()).stream()
+            .map(Item::toString)
+            .collect(Collectors.toList());
+
+        try (Stream<Item> items = Storage.streamItemsFromFile(file.toString(), null)) {
+            List<String> actual = items
+                .map(Item::toString)
+                .collect(Collectors.toList());
+
+            assertThat(actual, equalTo(expected));
+            assertThat(actual, contains(boots.toString(), tomato.toString(), tomato.toString()));
+        }
+    }
+}
@@ -11,7 +11,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import org.hamcrest.core.IsNull;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 /**
@@ -123,6 +128,42 @@ public class TestArmour
         assertThat(fancyArmour.toString(), equalTo(expected));
     }
 
+    @Test
+    public void testWriteTo()
+        throws IOException
+    {
+        Armour fancyArmour = new Armour("Fancy", "Vibranium", -9001, 62, null, Integer.MIN_VALUE, "H20");
+
+        String expected = "  Nme: Fancy\n"
+                        + "  Dur: -9001\n"
+                        + "  Def: 62\n"
+                        + "  Mtl: Vibranium\n"
+                        + "  Mdr: null (Lvl -2147483648)\n"
+                        + "  Emt: H20\n";
+
+        // Before and after the text is cached by toString
+        StringWriter out = new StringWriter();
+        fancyArmour.writeTo(out);
+        assertThat(out.toString(), equalTo(expected));
+
+        assertThat(fancyArmour.toString(), equalTo(expected));
+
+        out = new StringWriter();
+        fancyArmour.writeTo(out);
+        assertThat(out.toString(), equalTo(expected));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        fancyArmour.writeTo(Channels.newChannel(bytes));
+        assertThat(bytes.toString(StandardCharsets.UTF_8), equalTo(expected));
+
+        // Changes are printed
+        fancyArmour.setDefense(7);
+        out = new StringWriter();
+        fancyArmour.writeTo(out);
+        assertThat(out.toString(), containsString("  Def: 7\n"));
+        assertThat(fancyArmour.toString(), equalTo(out.toString()));
+    }
+
     @Test
     public void testRead()
     {
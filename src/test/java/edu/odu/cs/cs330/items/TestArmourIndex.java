@@ -0,0 +1,250 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestArmourIndex
+{
+    static final String[] ELEMENTS = {"fire", "ice", "lightning", null};
+
+    static final String[] MATERIALS = {"Diamond", "Gold", "Iron"};
+
+    static final String[] MODIFIERS = {"Fortune", "Protection", "Thorns", "Unbreaking", "FeatherFalling"};
+
+    Inventory inventory;
+
+    /**
+     * Fill an Inventory with Armour (and a few Consumables) whose
+     * attributes cycle through small vocabularies.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+        inventory = new Inventory(200);
+
+        for (int i = 0; i < 150; i++) {
+            if (i % 10 == 0) {
+                inventory.addItem(new Consumable("Potion-" + i, "Heal-5", 1));
+            }
+            else {
+                inventory.addItem(armour(i));
+            }
+        }
+    }
+
+    static Armour armour(int id)
+    {
+        return new Armour(
+            "Armour-" + id,
+            MATERIALS[id % MATERIALS.length],
+            10 + id % 90,
+            1 + id % 20,
+            MODIFIERS[id % MODIFIERS.length],
+            1 + id % 5,
+            ELEMENTS[id % ELEMENTS.length]
+        );
+    }
+
+    /**
+     * Select the matching Armour the slow way--by scanning every slot.
+     */
+    List<ItemStack> scan(Predicate<Armour> condition)
+    {
+        List<ItemStack> matches = new ArrayList<>();
+
+        for (ItemStack stack : inventory) {
+            if (stack.getItem() instanceof Armour && condition.test((Armour) stack.getItem())) {
+                matches.add(stack);
+            }
+        }
+
+        return matches;
+    }
+
+    @Test
+    public void testEmptyQuery()
+    {
+        ArmourIndex index = inventory.armourIndex();
+
+        assertThat(index.size(), equalTo(135));
+        assertThat(index.query().count(), equalTo(135));
+        assertThat(index.query().list(), equalTo(scan(piece -> true)));
+        assertThat(inventory.armourIndex(), sameInstance(index));
+    }
+
+    @Test
+    public void testHashConditions()
+    {
+        ArmourIndex index = inventory.armourIndex();
+
+        for (String value : ELEMENTS) {
+            List<ItemStack> expected = scan(piece -> Objects.equals(piece.getElement(), value));
+
+            assertThat(index.query().element(value).list(), equalTo(expected));
+            assertThat(index.query().element(value).count(), equalTo(expected.size()));
+        }
+
+        for (String value : MATERIALS) {
+            assertThat(
+                index.query().material(value).list(),
+                equalTo(scan(piece -> value.equals(piece.getMaterial())))
+            );
+        }
+
+        assertThat(
+            index.query().modifier("Fortune").list(),
+            equalTo(scan(piece -> "Fortune".equals(piece.getModifier())))
+        );
+
+        assertThat(index.query().element("earth").count(), equalTo(0));
+        assertThat(index.query().material("Wood").list(), is(empty()));
+    }
+
+    @Test
+    public void testRangeConditions()
+    {
+        ArmourIndex index = inventory.armourIndex();
+
+        assertThat(
+            index.query().defense(10, Integer.MAX_VALUE).list(),
+            equalTo(scan(piece -> piece.getDefense() >= 10))
+        );
+        assertThat(
+            index.query().defense(10, Integer.MAX_VALUE).count(),
+            equalTo(scan(piece -> piece.getDefense() >= 10).size())
+        );
+        assertThat(
+            index.query().durability(20, 40).list(),
+            equalTo(scan(piece -> piece.getDurability() >= 20 && piece.getDurability() <= 40))
+        );
+        assertThat(index.query().defense(5, 5).count(), equalTo(scan(piece -> piece.getDefense() == 5).size()));
+
+        assertThat(index.query().defense(21, 100).count(), equalTo(0));
+        assertThat(index.query().durability(40, 20).list(), is(empty()));
+    }
+
+    @Test
+    public void testConjunction()
+    {
+        ArmourIndex index = inventory.armourIndex();
+
+        List<ItemStack> expected = scan(
+            piece -> "fire".equals(piece.getElement()) && piece.getDefense() >= 10
+        );
+
+        assertThat(expected, is(not(empty())));
+        assertThat(index.query().element("fire").defense(10, Integer.MAX_VALUE).list(), equalTo(expected));
+        assertThat(index.query().defense(10, Integer.MAX_VALUE).element("fire").count(), equalTo(expected.size()));
+
+        expected = scan(
+            piece -> "Diamond".equals(piece.getMaterial())
+                && "Thorns".equals(piece.getModifier())
+                && piece.getDurability() >= 50
+                && piece.getDefense() <= 12
+        );
+
+        assertThat(
+            index.query()
+                .material("Diamond")
+                .modifier("Thorns")
+                .durability(50, Integer.MAX_VALUE)
+                .defense(Integer.MIN_VALUE, 12)
+                .list(),
+            equalTo(expected)
+        );
+
+        // Contradictory conditions
+        assertThat(index.query().element("fire").element("ice").count(), equalTo(0));
+    }
+
+    @Test
+    public void testSlots()
+    {
+        int[] slots = inventory.armourIndex().query().element("ice").slots();
+
+        assertThat(slots.length, equalTo(scan(piece -> "ice".equals(piece.getElement())).size()));
+
+        for (int i = 0; i < slots.length; i++) {
+            Armour piece = (Armour) inventory.getSlot(slots[i]).getItem();
+
+            assertThat(piece.getElement(), equalTo("ice"));
+
+            if (i > 0) {
+                assertThat(slots[i], greaterThan(slots[i - 1]));
+            }
+        }
+    }
+
+    @Test
+    public void testUpdatedOnInsert()
+    {
+        ArmourIndex index = inventory.armourIndex();
+        int fire = index.query().element("fire").count();
+
+        inventory.addItem(new Armour("Cape", "Silk", 20, 7, null, 0, "fire"));
+        inventory.addItem(new Armour("Cloak", "Silk", 20, 7, null, 0, "earth"));
+        inventory.addItem(new Consumable("Tea", "Wake-Up", 1));
+
+        assertThat(index.size(), equalTo(137));
+        assertThat(index.query().element("fire").count(), equalTo(fire + 1));
+        assertThat(index.query().element("earth").list(), equalTo(scan(piece -> "earth".equals(piece.getElement()))));
+        assertThat(index.query().material("Silk").defense(7, 7).count(), equalTo(2));
+
+        // addAll fills slots through the same path
+        List<Item> more = new ArrayList<>();
+        for (int i = 150; i < 170; i++) {
+            more.add(armour(i));
+        }
+        inventory.addAll(more);
+
+        assertThat(index.size(), equalTo(inventory.utilizedSlots() - 16));
+        assertThat(
+            index.query().element("lightning").durability(0, 80).list(),
+            equalTo(scan(piece -> "lightning".equals(piece.getElement()) && piece.getDurability() <= 80))
+        );
+    }
+
+    @Test
+    public void testFullInventory()
+    {
+        Inventory small = new Inventory(2);
+        ArmourIndex index = small.armourIndex();
+
+        small.addItem(armour(1));
+        small.addItem(armour(2));
+        assertFalse(small.addItem(armour(3)));
+
+        assertThat(index.size(), equalTo(2));
+        assertThat(index.query().count(), equalTo(2));
+    }
+}
@@ -0,0 +1,165 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Iterator;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestArmourTable
+{
+    Armour boots;
+
+    Armour cape;
+
+    ArmourTable table;
+
+    Inventory inventory;
+
+    @BeforeEach
+    public void setUp()
+    {
+        boots = new Armour("Boots", "Diamond", 100, 10, "FeatherFalling", 4, "lightning");
+        cape = new Armour("Cape", "Silk", 20, 1, null, 0, "fire");
+
+        table = new ArmourTable(40);
+        inventory = new Inventory(40);
+
+        for (int i = 0; i < 30; i++) {
+            Armour piece = i % 3 == 0 ? cape : boots;
+
+            assertThat(table.addItem(piece), is(true));
+            inventory.addItem(piece);
+        }
+    }
+
+    @Test
+    public void testDefaultConstructor()
+    {
+        ArmourTable empty = new ArmourTable();
+
+        assertThat(empty.totalSlots(), equalTo(Inventory.DEFAULT_SIZE));
+        assertThat(empty.utilizedSlots(), equalTo(0));
+        assertThat(empty.isFull(), is(false));
+        assertThat(empty.iterator().hasNext(), is(false));
+        assertThat(empty.toString(), equalTo(new Inventory().toString()));
+    }
+
+    @Test
+    public void testMatchesInventory()
+    {
+        assertThat(table.totalSlots(), equalTo(40));
+        assertThat(table.utilizedSlots(), equalTo(30));
+        assertThat(table.emptySlots(), equalTo(10));
+        assertThat(table.percentFilled(), equalTo(inventory.percentFilled()));
+        assertThat(table.toString(), equalTo(inventory.toString()));
+        assertThat(table.toInventory().toString(), equalTo(inventory.toString()));
+
+        // Name, material, modifier and element of two pieces
+        assertThat(table.symbolCount(), equalTo(7));
+    }
+
+    @Test
+    public void testGet()
+    {
+        Armour first = table.get(0);
+
+        assertThat(first.getName(), equalTo("Cape"));
+        assertThat(first.getModifier(), is(nullValue()));
+        assertThat(first.toString(), equalTo(cape.toString()));
+        assertThat(table.get(1).toString(), equalTo(boots.toString()));
+
+        // Each call creates a new copy
+        assertThat(table.get(0), not(sameInstance(first)));
+        first.setDurability(0);
+        assertThat(table.getDurability(0), equalTo(20));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(30));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(-1));
+    }
+
+    @Test
+    public void testColumns()
+    {
+        assertThat(table.getName(1), equalTo("Boots"));
+        assertThat(table.getMaterial(1), equalTo("Diamond"));
+        assertThat(table.getDurability(1), equalTo(100));
+        assertThat(table.getDefense(1), equalTo(10));
+        assertThat(table.getModifier(1), equalTo("FeatherFalling"));
+        assertThat(table.getModifierLevel(1), equalTo(4));
+        assertThat(table.getElement(1), equalTo("lightning"));
+
+        table.setDurability(1, 99);
+        assertThat(table.get(1).getDurability(), equalTo(99));
+        assertThat(table.getDurability(2), equalTo(100));
+    }
+
+    @Test
+    public void testFull()
+    {
+        for (int i = 0; i < 10; i++) {
+            assertThat(table.addItem(boots), is(true));
+        }
+
+        assertThat(table.isFull(), is(true));
+        assertThat(table.addItem(boots), is(false));
+        assertThat(table.utilizedSlots(), equalTo(40));
+    }
+
+    @Test
+    public void testIterator()
+    {
+        Iterator<ItemStack> it = table.iterator();
+
+        ItemStack stack = it.next();
+        assertThat(stack.size(), equalTo(1));
+        assertThat(stack.getItem().getName(), equalTo("Cape"));
+
+        int count = 1;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+
+        assertThat(count, equalTo(30));
+    }
+
+    @Test
+    public void testRejectsSubclass()
+    {
+        Armour shiny = new Armour() {
+            @Override
+            public Item clone()
+            {
+                return this;
+            }
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> table.addItem(shiny));
+        assertThat(table.utilizedSlots(), equalTo(30));
+    }
+}
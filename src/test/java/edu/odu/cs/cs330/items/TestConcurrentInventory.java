@@ -0,0 +1,189 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ *
+ * This is technically an Integration Test.
+ */
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestConcurrentInventory
+{
+    private static final int THREADS = 8;
+
+    private static final int ITEMS_PER_THREAD = 10000;
+
+    Item[] TEST_ITEMS;
+
+    @BeforeEach
+    public void setUp()
+    {
+        Armour boots = new Armour();
+        boots.read(
+            new Scanner("Boots Diamond 100 10 FeatherFalling 4 lightning")
+        );
+
+        Consumable tomato = new Consumable();
+        tomato.read(
+            new Scanner("Tomato Hunger-10 2")
+        );
+
+        TEST_ITEMS = new Item[] {
+            boots,
+            tomato
+        };
+    }
+
+    /**
+     * Single-threaded use must match Inventory.
+     */
+    @Test
+    public void testMatchesInventory()
+    {
+        Inventory expected = new Inventory(2);
+        ConcurrentInventory actual = new ConcurrentInventory(2);
+
+        Item[] toAdd = {TEST_ITEMS[0], TEST_ITEMS[1], TEST_ITEMS[1], TEST_ITEMS[0]};
+
+        for (Item item : toAdd) {
+            assertThat(actual.addItem(item), equalTo(expected.addItem(item)));
+        }
+
+        assertTrue(actual.isFull());
+        assertThat(actual.utilizedSlots(), equalTo(expected.utilizedSlots()));
+        assertThat(actual.toString(), equalTo(expected.toString()));
+
+        Iterator<ItemStack> it = actual.iterator();
+        it.next();
+        assertThrows(UnsupportedOperationException.class, it::remove);
+    }
+
+    /**
+     * Many threads merging into one stack must not lose any items.
+     */
+    @Test
+    public void testConcurrentMerges()
+        throws Exception
+    {
+        ConcurrentInventory inv = new ConcurrentInventory(4);
+
+        runConcurrently(() -> {
+            for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                inv.addItem(TEST_ITEMS[1]);
+            }
+        });
+
+        assertThat(inv.utilizedSlots(), equalTo(1));
+        assertThat(inv.iterator().next().size(), equalTo(THREADS * ITEMS_PER_THREAD));
+    }
+
+    /**
+     * Many threads adding distinct Items must never exceed the capacity.
+     */
+    @Test
+    public void testCapacityIsNeverExceeded()
+        throws Exception
+    {
+        ConcurrentInventory inv = new ConcurrentInventory(100);
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger nextId = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 50; i++) {
+                Consumable item = new Consumable();
+                item.setName("Item-" + nextId.getAndIncrement());
+
+                if (inv.addItem(item)) {
+                    added.incrementAndGet();
+                }
+            }
+        });
+
+        assertTrue(inv.isFull());
+        assertThat(inv.utilizedSlots(), equalTo(100));
+        assertThat(added.get(), equalTo(100));
+
+        int count = 0;
+        for (ItemStack stack : inv) {
+            count++;
+        }
+        assertThat(count, equalTo(100));
+    }
+
+    /**
+     * Threads racing to add the first stack of a stackable Item must all
+     * succeed--only one slot is needed, so none may be rejected as full.
+     */
+    @Test
+    public void testRaceForLastSlot()
+        throws Exception
+    {
+        for (int round = 0; round < 200; round++) {
+            ConcurrentInventory inv = new ConcurrentInventory(1);
+            CyclicBarrier start = new CyclicBarrier(THREADS);
+            AtomicInteger rejected = new AtomicInteger();
+
+            runConcurrently(() -> {
+                try {
+                    start.await();
+                }
+                catch (InterruptedException | BrokenBarrierException err) {
+                    throw new IllegalStateException(err);
+                }
+
+                if (!inv.addItem(TEST_ITEMS[1])) {
+                    rejected.incrementAndGet();
+                }
+            });
+
+            assertThat(rejected.get(), equalTo(0));
+            assertThat(inv.utilizedSlots(), equalTo(1));
+            assertThat(inv.iterator().next().size(), equalTo(THREADS));
+        }
+    }
+
+    private static void runConcurrently(Runnable task)
+        throws Exception
+    {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(task));
+            }
+
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ *
+ * 1 Test per mutator
+ */
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestConcurrentItemStack
+{
+    private static final int THREADS = 8;
+
+    private Consumable tomato;
+
+    @BeforeEach
+    public void setUp()
+    {
+        tomato = new Consumable("Tomato", "Hunger-10", 2);
+    }
+
+    @Test
+    public void testMatchesItemStack()
+    {
+        ConcurrentItemStack stack = new ConcurrentItemStack(tomato, 3);
+        ItemStack plain = new ItemStack(tomato, 3);
+
+        assertThat(stack, equalTo(plain));
+        assertThat(stack.getItem(), not(sameInstance(tomato)));
+        assertThat(stack.toString(), equalTo(plain.toString()));
+
+        ItemStack copy = stack.clone();
+        assertThat(copy, instanceOf(ConcurrentItemStack.class));
+        assertThat(copy.size(), equalTo(3));
+    }
+
+    @Test
+    public void testOverflow()
+    {
+        ConcurrentItemStack stack = new ConcurrentItemStack(tomato, Integer.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> stack.addItems(1));
+        assertThat(stack.size(), equalTo(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testRemoveAndTake()
+    {
+        ConcurrentItemStack stack = new ConcurrentItemStack(tomato, 5);
+
+        assertFalse(stack.tryTake(6));
+        assertTrue(stack.tryTake(2));
+        assertThat(stack.removeItems(10), equalTo(3));
+        assertThat(stack.size(), equalTo(0));
+        assertFalse(stack.tryTake(1));
+    }
+
+    /**
+     * Concurrent adds and takes must balance exactly.
+     */
+    @Test
+    public void testConcurrentAddAndTake()
+        throws Exception
+    {
+        ConcurrentItemStack stack = new ConcurrentItemStack(tomato, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(() -> {
+                    int taken = 0;
+
+                    for (int i = 0; i < 10000; i++) {
+                        stack.addItems(2);
+
+                        if (stack.tryTake(1)) {
+                            taken++;
+                        }
+                    }
+
+                    return taken;
+                }));
+            }
+
+            int taken = 0;
+            for (Future<Integer> result : results) {
+                taken += result.get();
+            }
+
+            assertThat(taken, equalTo(THREADS * 10000));
+            assertThat(stack.size(), equalTo(THREADS * 10000));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -11,7 +11,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import org.hamcrest.core.IsNull;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.Scanner;
 
 /**
@@ -102,6 +104,27 @@ public class TestConsumable
         assertThat(tea.toString(), equalTo(expected));
     }
 
+    @Test
+    public void testWriteTo()
+        throws IOException
+    {
+        Consumable tea = new Consumable("Green Tea", "Wake Up", 10);
+
+        String expected = "  Nme: Green Tea\n"
+                        + "  Eft: Wake Up\n"
+                        + "  Use: 10\n";
+
+        StringBuilder out = new StringBuilder();
+        tea.writeTo(out);
+        assertThat(out.toString(), equalTo(expected));
+
+        StringWriter writer = new StringWriter();
+        tea.setNumberOfUses(-3);
+        tea.writeTo(writer);
+        assertThat(writer.toString(), containsString("  Use: -3\n"));
+        assertThat(writer.toString(), equalTo(tea.toString()));
+    }
+
     @Test
     public void testRead()
     {
@@ -11,6 +11,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import org.hamcrest.core.IsNull;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Iterator;
@@ -219,6 +224,184 @@ public class TestInventory
         assertThat(it.hasNext(), is(false));
     }
 
+    /**
+     * Non-stackable duplicates occupy their own slot, and stackable Items
+     * still merge into the first matching slot afterwards.
+     */
+    @Test
+    public void testAddItemNonStackableDuplicateTakesNewSlot()
+    {
+        Inventory aBag = new Inventory(4);
+
+        assertThat(aBag.addItem(TEST_ITEMS[0]), is(true));
+        assertThat(aBag.addItem(TEST_ITEMS[1]), is(true));
+        assertThat(aBag.addItem(TEST_ITEMS[0]), is(true));
+        assertThat(aBag.addItem(TEST_ITEMS[1]), is(true));
+
+        assertThat(aBag.utilizedSlots(), equalTo(3));
+
+        Iterator<ItemStack> it = aBag.iterator();
+
+        assertThat(it.next().getItem(), equalTo(TEST_ITEMS[0]));
+        assertThat(it.next().size(), equalTo(2));
+        assertThat(it.next().getItem(), equalTo(TEST_ITEMS[0]));
+        assertThat(it.hasNext(), is(false));
+    }
+
+    @Test
+    public void testAdoptItem()
+    {
+        Inventory aBag = new Inventory(2);
+
+        assertThat(aBag.adoptItem(TEST_ITEMS[0]), is(true));
+        assertThat(aBag.adoptItem(TEST_ITEMS[1]), is(true));
+        assertThat(aBag.adoptItem(TEST_ITEMS[1]), is(true));
+        assertThat(aBag.adoptItem(TEST_ITEMS[0]), is(false));
+
+        Iterator<ItemStack> it = aBag.iterator();
+
+        // Adopted Items are stored as-is (not copied)
+        assertThat(it.next().getItem(), sameInstance(TEST_ITEMS[0]));
+
+        ItemStack tomatoes = it.next();
+        assertThat(tomatoes.getItem(), sameInstance(TEST_ITEMS[1]));
+        assertThat(tomatoes.size(), equalTo(2));
+
+        // addItem still copies
+        Inventory otherBag = new Inventory(2);
+        otherBag.addItem(TEST_ITEMS[0]);
+
+        assertThat(otherBag.iterator().next().getItem(), not(sameInstance(TEST_ITEMS[0])));
+    }
+
+    /**
+     * addAll must match a loop of addItem calls--results, slot order,
+     * quantities and the capacity cut-off.
+     */
+    @Test
+    public void testAddAllMatchesAddItem()
+    {
+        Consumable apple = new Consumable();
+        apple.read(new Scanner("Apple Hunger-5 1"));
+
+        List<Item> itemsToAdd = Arrays.asList(
+            TEST_ITEMS[1], TEST_ITEMS[0], TEST_ITEMS[1], TEST_ITEMS[0],
+            apple, TEST_ITEMS[1], apple
+        );
+
+        Inventory expected = new Inventory(3);
+        List<Boolean> expectedResults = new java.util.ArrayList<>();
+        for (Item item : itemsToAdd) {
+            expectedResults.add(expected.addItem(item));
+        }
+
+        Inventory aBag = new Inventory(3);
+        List<Boolean> results = new java.util.ArrayList<>();
+        long added = aBag.addAll(itemsToAdd, (item, success) -> results.add(success));
+
+        assertThat(results, equalTo(expectedResults));
+        assertThat(results, contains(true, true, true, true, false, true, false));
+        assertThat(added, equalTo(5L));
+        assertThat(aBag.toString(), equalTo(expected.toString()));
+
+        Iterator<ItemStack> it = aBag.iterator();
+        assertThat(it.next().size(), equalTo(3));
+        assertThat(it.next().getItem(), not(sameInstance(TEST_ITEMS[0])));
+    }
+
+    /**
+     * An Inventory without room (zero or negative capacity) is full--
+     * addAll and addItem must both refuse every Item.
+     */
+    @Test
+    public void testAddAllWithoutCapacity()
+    {
+        List<Item> itemsToAdd = Arrays.asList(TEST_ITEMS[1], TEST_ITEMS[0], TEST_ITEMS[1]);
+
+        for (int capacity : new int[]{0, -1}) {
+            Inventory expected = new Inventory(capacity);
+            List<Boolean> expectedResults = new java.util.ArrayList<>();
+            for (Item item : itemsToAdd) {
+                expectedResults.add(expected.addItem(item));
+            }
+
+            Inventory aBag = new Inventory(capacity);
+            List<Boolean> results = new java.util.ArrayList<>();
+            long added = aBag.addAll(itemsToAdd, (item, success) -> results.add(success));
+
+            assertThat(results, equalTo(expectedResults));
+            assertThat(results, contains(false, false, false));
+            assertThat(added, equalTo(0L));
+            assertThat(aBag.utilizedSlots(), equalTo(expected.utilizedSlots()));
+            assertTrue(aBag.isFull());
+        }
+    }
+
+    /**
+     * A stackable Item whose name already belongs to a non-stackable slot
+     * gets a slot of its own every time--it must not become the target of
+     * later merges.
+     */
+    @Test
+    public void testAddAllStackableAfterNonStackableName()
+    {
+        Consumable boots = new Consumable();
+        boots.read(new Scanner("Boots Kick-2 3"));
+
+        List<Item> itemsToAdd = Arrays.asList(TEST_ITEMS[0], boots, boots, boots);
+
+        Inventory expected = new Inventory(5);
+        for (Item item : itemsToAdd) {
+            expected.addItem(item);
+        }
+
+        Inventory aBag = new Inventory(5);
+        aBag.addAll(itemsToAdd);
+
+        assertThat(aBag.utilizedSlots(), equalTo(expected.utilizedSlots()));
+        assertThat(aBag.utilizedSlots(), equalTo(4));
+        assertThat(aBag.toString(), equalTo(expected.toString()));
+
+        for (ItemStack stack : aBag) {
+            assertThat(stack.size(), equalTo(1));
+        }
+    }
+
+    @Test
+    public void testAddAllStacks()
+    {
+        List<ItemStack> stacksToAdd = Arrays.asList(
+            new ItemStack(TEST_ITEMS[1], 2),
+            new ItemStack(TEST_ITEMS[0]),
+            new ItemStack(TEST_ITEMS[1], 3),
+            new ItemStack(TEST_ITEMS[0])
+        );
+
+        Inventory aBag = new Inventory(2);
+
+        assertThat(aBag.addAll(stacksToAdd), equalTo(3L));
+
+        Iterator<ItemStack> it = aBag.iterator();
+
+        assertThat(it.next(), sameInstance(stacksToAdd.get(0)));
+        assertThat(stacksToAdd.get(0).size(), equalTo(5));
+        assertThat(it.next(), sameInstance(stacksToAdd.get(1)));
+        assertThat(it.hasNext(), is(false));
+    }
+
+    @Test
+    public void testIteratorDoesNotPermitRemoval()
+    {
+        Inventory aBag = new Inventory(4);
+        aBag.addItem(TEST_ITEMS[0]);
+
+        Iterator<ItemStack> it = aBag.iterator();
+        it.next();
+
+        assertThrows(UnsupportedOperationException.class, it::remove);
+        assertThat(aBag.utilizedSlots(), equalTo(1));
+    }
+
     @Test
     public void testToString()
     {
@@ -241,5 +424,55 @@ public class TestInventory
         assertThat(aBagAsStr, stringContainsInOrder(Arrays.asList("75%", "of", "4", "slots")));
         assertThat(aBagAsStr, stringContainsInOrder(itemsAsStrings));
     }
-}
 
+    @Test
+    public void testToStringCached()
+    {
+        Inventory aBag = new Inventory(4);
+        aBag.addItem(TEST_ITEMS[0]);
+        aBag.addItem(TEST_ITEMS[1]);
+
+        String before = aBag.toString();
+        assertThat(aBag.toString(), sameInstance(before));
+
+        // Merge changes a quantity
+        aBag.addItem(TEST_ITEMS[1]);
+        String merged = aBag.toString();
+        assertThat(merged, not(equalTo(before)));
+        assertThat(merged, containsString("Qty: 2"));
+
+        // A new slot
+        aBag.addItem(TEST_ITEMS[0]);
+        assertThat(aBag.toString(), containsString("75%"));
+
+        // Changing an Item through its stack
+        Iterator<ItemStack> it = aBag.iterator();
+        ((Armour) it.next().getItem()).setDurability(7);
+        assertThat(aBag.toString(), containsString("Dur: 7"));
+
+        it.next().removeItems(2);
+        assertThat(aBag.toString(), containsString("Qty: 0"));
+    }
+
+    @Test
+    public void testWriteTo()
+        throws IOException
+    {
+        Inventory aBag = new Inventory(4);
+        aBag.addItem(TEST_ITEMS[0]);
+        aBag.addItems(new ItemStack(TEST_ITEMS[1], 3));
+        aBag.addItem(TEST_ITEMS[0]);
+
+        StringWriter out = new StringWriter();
+        aBag.writeTo(out);
+        assertThat(out.toString(), equalTo(aBag.toString()));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        aBag.writeTo(Channels.newChannel(bytes));
+        assertThat(bytes.toString(StandardCharsets.UTF_8), equalTo(aBag.toString()));
+
+        StringBuilder empty = new StringBuilder();
+        EMPTY_INVENTORY.writeTo(empty);
+        assertThat(empty.toString(), equalTo(EMPTY_INVENTORY.toString()));
+    }
+}
@@ -0,0 +1,256 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestInventoryJournal
+{
+    @TempDir
+    Path tempDir;
+
+    Armour boots;
+
+    Consumable tomato;
+
+    Consumable bread;
+
+    @BeforeEach
+    public void setUp()
+    {
+        boots = new Armour("Boots", "Diamond", 100, 10, "FeatherFalling", 4, "lightning");
+        tomato = new Consumable("Tomato", "Hunger-10", 2);
+        bread = new Consumable("Bread", "Hunger-5", 1);
+    }
+
+    private List<String> fileNames()
+        throws IOException
+    {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.map(file -> file.getFileName().toString())
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private Path journalFile()
+        throws IOException
+    {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.toString().endsWith(".log"))
+                .findFirst()
+                .get();
+        }
+    }
+
+    @Test
+    public void testRecover()
+        throws IOException
+    {
+        String expected;
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 3)) {
+            assertThat(journal.addItem(tomato), is(true));
+            assertThat(journal.addItem(boots), is(true));
+            assertThat(journal.addItem(tomato), is(true));
+            assertThat(journal.addItems(new ItemStack(tomato, 5)), is(true));
+            assertThat(journal.addItem(boots), is(true));
+            assertThat(journal.addItem(bread), is(false));
+            assertThat(journal.removeItems(0, 2), equalTo(2));
+
+            expected = journal.getInventory().toString();
+        }
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 99)) {
+            Inventory inventory = journal.getInventory();
+
+            assertThat(inventory.toString(), equalTo(expected));
+            assertThat(inventory.totalSlots(), equalTo(3));
+
+            Iterator<ItemStack> it = inventory.iterator();
+            assertThat(it.next().size(), equalTo(5));
+            assertThat(it.next().getItem().getName(), equalTo("Boots"));
+            assertThat(it.next().getItem().getName(), equalTo("Boots"));
+
+            // Merges still go to the first Tomato slot
+            assertThat(journal.addItem(tomato), is(true));
+            assertThat(inventory.iterator().next().size(), equalTo(6));
+        }
+    }
+
+    @Test
+    public void testUncommittedChangesAreLost()
+        throws IOException
+    {
+        InventoryJournal journal = new InventoryJournal(tempDir, 4, 0, Long.MAX_VALUE);
+        journal.addItem(tomato);
+        journal.commit();
+        journal.addItem(boots);
+
+        // "Crash" without closing
+        try (InventoryJournal recovered = new InventoryJournal(tempDir, 4)) {
+            assertThat(recovered.getInventory().utilizedSlots(), equalTo(1));
+        }
+    }
+
+    @Test
+    public void testTornRecordDiscarded()
+        throws IOException
+    {
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 4)) {
+            journal.addItem(tomato);
+            journal.addItem(tomato);
+        }
+
+        Path file = journalFile();
+        long intact = Files.size(file);
+        Files.write(file, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 4)) {
+            assertThat(journal.getInventory().iterator().next().size(), equalTo(2));
+            assertThat(Files.size(file), equalTo(intact));
+
+            journal.addItem(tomato);
+        }
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 4)) {
+            assertThat(journal.getInventory().iterator().next().size(), equalTo(3));
+        }
+    }
+
+    @Test
+    public void testCompact()
+        throws IOException
+    {
+        String expected;
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 4)) {
+            journal.addItem(boots);
+            journal.addItem(tomato);
+            journal.compact();
+
+            assertThat(fileNames(), contains("journal-1.log", "snapshot-1.snap"));
+
+            journal.addItem(tomato);
+            journal.addItem(bread);
+            expected = journal.getInventory().toString();
+        }
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 4)) {
+            assertThat(journal.getInventory().toString(), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void testAutomaticCompaction()
+        throws IOException
+    {
+        String expected;
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 10, 1, 64)) {
+            for (int i = 0; i < 50; i++) {
+                journal.addItem(i % 3 == 0 ? boots : tomato);
+            }
+
+            expected = journal.getInventory().toString();
+        }
+
+        List<String> files = fileNames();
+        assertThat(files, hasSize(2));
+        assertThat(files, not(hasItem("journal-0.log")));
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 10)) {
+            assertThat(journal.getInventory().toString(), equalTo(expected));
+        }
+    }
+
+    /**
+     * An Item the journal can not record must not change the Inventory.
+     */
+    @Test
+    public void testUnsupportedItemRejectedBeforeChange()
+        throws IOException
+    {
+        Consumable odd = new Consumable("Odd", "Strange", 1) {
+            @Override
+            public Item clone()
+            {
+                return this;
+            }
+        };
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 4)) {
+            journal.addItem(tomato);
+
+            assertThrows(IllegalArgumentException.class, () -> journal.addItem(odd));
+            assertThrows(IllegalArgumentException.class, () -> journal.addItems(new ItemStack(odd, 3)));
+
+            assertThat(journal.getInventory().utilizedSlots(), equalTo(1));
+
+            journal.addItem(bread);
+        }
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 4)) {
+            assertThat(journal.getInventory().utilizedSlots(), equalTo(2));
+        }
+    }
+
+    /**
+     * A journal that fails to open reports the error (and may be opened
+     * once the problem is gone).
+     */
+    @Test
+    public void testOpenFailure()
+        throws IOException
+    {
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 4)) {
+            journal.addItem(tomato);
+        }
+
+        // A stale ".tmp" entry that can not be removed
+        Path stale = Files.createDirectory(tempDir.resolve("snapshot-7.snap.tmp"));
+        Files.write(stale.resolve("blocker"), new byte[1]);
+
+        assertThrows(IOException.class, () -> new InventoryJournal(tempDir, 4));
+
+        Files.delete(stale.resolve("blocker"));
+
+        try (InventoryJournal journal = new InventoryJournal(tempDir, 4)) {
+            assertThat(journal.getInventory().utilizedSlots(), equalTo(1));
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.zip.CRC32;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestInventorySnapshot
+{
+    @TempDir
+    Path tempDir;
+
+    Inventory inventory;
+
+    @BeforeEach
+    public void setUp()
+    {
+        inventory = new Inventory(6);
+
+        inventory.addItem(new Armour("Boots", "Diamond", 100, 10, "FeatherFalling", 4, "lightning"));
+        inventory.addItems(new ItemStack(new Consumable("Tomato", "Hunger-10", 2), 7));
+        inventory.addItem(new Armour("Boots", "Diamond", -1, 10, "Protection", 3, "lightning"));
+        inventory.addItem(new Consumable("Bread", null, Integer.MIN_VALUE));
+        inventory.addItem(new Armour("Cape", "\u00dcnicode", 1 << 30, 0, "None", 0, "fire"));
+    }
+
+    @Test
+    public void testSaveLoad()
+        throws IOException
+    {
+        Path file = tempDir.resolve("inventory.snap");
+        InventorySnapshot.save(inventory, file);
+
+        Inventory loaded = InventorySnapshot.load(file);
+
+        assertThat(loaded.totalSlots(), equalTo(6));
+        assertThat(loaded.utilizedSlots(), equalTo(5));
+        assertThat(loaded.toString(), equalTo(inventory.toString()));
+
+        Iterator<ItemStack> it = loaded.iterator();
+        it.next();
+        assertThat(it.next().size(), equalTo(7));
+        it.next();
+        assertThat(((Consumable) it.next().getItem()).getEffect(), is(nullValue()));
+
+        // Stacks still merge after loading
+        assertThat(loaded.addItem(new Consumable("Tomato", "Hunger-10", 2)), is(true));
+        assertThat(loaded.utilizedSlots(), equalTo(5));
+    }
+
+    @Test
+    public void testWriteRead()
+        throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        InventorySnapshot.write(inventory, Channels.newChannel(bytes));
+
+        Inventory loaded = InventorySnapshot.read(
+            Channels.newChannel(new java.io.ByteArrayInputStream(bytes.toByteArray()))
+        );
+
+        assertThat(loaded.toString(), equalTo(inventory.toString()));
+
+        // Shared Strings are stored once
+        assertThat(bytes.size(), lessThan(inventory.toString().length()));
+    }
+
+    @Test
+    public void testEmpty()
+        throws IOException
+    {
+        Path file = tempDir.resolve("empty.snap");
+        InventorySnapshot.save(new Inventory(), file);
+
+        Inventory loaded = InventorySnapshot.load(file);
+
+        assertThat(loaded.totalSlots(), equalTo(Inventory.DEFAULT_SIZE));
+        assertThat(loaded.utilizedSlots(), equalTo(0));
+    }
+
+    @Test
+    public void testCorruptSnapshotRejected()
+        throws IOException
+    {
+        Path file = tempDir.resolve("inventory.snap");
+        InventorySnapshot.save(inventory, file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+
+        IOException error = assertThrows(IOException.class, () -> InventorySnapshot.load(file));
+        assertThat(error.getMessage(), containsString("checksum"));
+
+        Files.write(file, "Armour Boots Diamond 100 10 FeatherFalling 4 lightning".getBytes());
+        error = assertThrows(IOException.class, () -> InventorySnapshot.load(file));
+        assertThat(error.getMessage(), containsString("not an inventory snapshot"));
+    }
+
+    /**
+     * Recompute the checksum of a (modified) snapshot.
+     */
+    private static byte[] reseal(ByteBuffer bytes)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(bytes.array(), 0, bytes.limit() - 4);
+        bytes.putInt(bytes.limit() - 4, (int) crc.getValue());
+
+        return bytes.array();
+    }
+
+    /**
+     * Replace the String count (the one-byte varint after the capacity)
+     * with *count*, moving the index along with the bytes after it.
+     */
+    private static byte[] withStringCount(byte[] snapshot, byte[] count)
+    {
+        ByteBuffer bytes = ByteBuffer.allocate(snapshot.length + count.length - 1);
+        bytes.put(snapshot, 0, 6).put(count).put(snapshot, 7, snapshot.length - 7);
+
+        int footer = bytes.limit() - InventorySnapshot.FOOTER_SIZE;
+        bytes.putLong(footer, bytes.getLong(footer) + count.length - 1);
+
+        return reseal(bytes);
+    }
+
+    /**
+     * Counts that disagree with the footer (or with the size of the
+     * snapshot) are rejected before anything is allocated for them--even
+     * when the checksum matches.
+     */
+    @Test
+    public void testBadCountsRejected()
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InventorySnapshot.write(inventory, Channels.newChannel(out));
+        byte[] snapshot = out.toByteArray();
+
+        // Capacity 6 and the count of 12 distinct Strings take one byte each
+        assertThat(snapshot[5], equalTo((byte) 6));
+        assertThat(snapshot[6], equalTo((byte) 12));
+
+        byte[] negative = withStringCount(
+            snapshot, new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}
+        );
+        byte[] huge = withStringCount(
+            snapshot, new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}
+        );
+
+        for (byte[] crafted : new byte[][]{negative, huge}) {
+            IOException error = assertThrows(
+                IOException.class,
+                () -> InventorySnapshot.read(Channels.newChannel(new ByteArrayInputStream(crafted)))
+            );
+            assertThat(error.getMessage(), containsString("string count"));
+        }
+
+        ByteBuffer slots = ByteBuffer.wrap(snapshot.clone());
+        slots.putInt(slots.limit() - 8, Integer.MAX_VALUE);
+        byte[] crafted = reseal(slots);
+
+        Path file = tempDir.resolve("inventory.snap");
+        Files.write(file, crafted);
+
+        IOException error = assertThrows(IOException.class, () -> InventorySnapshot.load(file));
+        assertThat(error.getMessage(), containsString("footer"));
+    }
+
+    @Test
+    public void testUnsupportedVersionRejected()
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InventorySnapshot.write(inventory, Channels.newChannel(out));
+
+        ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray());
+        bytes.put(4, (byte) (InventorySnapshot.VERSION + 1));
+
+        IOException error = assertThrows(IOException.class, () -> InventorySnapshot.verify(bytes));
+        assertThat(error.getMessage(), containsString("version"));
+    }
+
+    /**
+     * A save that fails part way must leave the previous snapshot intact.
+     */
+    @Test
+    public void testFailedSaveKeepsPreviousSnapshot()
+        throws IOException
+    {
+        Path file = tempDir.resolve("inventory.snap");
+        InventorySnapshot.save(inventory, file);
+
+        // The unsupported Item is in the last slot--most of the snapshot
+        // has been written by the time it is rejected.
+        Inventory other = new Inventory(10);
+        for (ItemStack stack : inventory) {
+            other.addItems(stack.clone());
+        }
+        other.adoptItem(new Armour("Gloves", "Iron", 5, 5, "None", 0, "earth") { });
+
+        assertThrows(IllegalArgumentException.class, () -> InventorySnapshot.save(other, file));
+
+        assertThat(InventorySnapshot.load(file).toString(), equalTo(inventory.toString()));
+
+        try (java.util.stream.Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files.count(), equalTo(1L));
+        }
+    }
+
+    /**
+     * Subclasses are rejected by every part of the writer alike.
+     */
+    @Test
+    public void testSubclassRejected()
+    {
+        Item gloves = new Armour("Gloves", "Iron", 5, 5, "None", 0, "earth") { };
+
+        assertThrows(IllegalArgumentException.class, () -> InventorySnapshot.tagOf(gloves));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InventorySnapshot.forEachString(gloves, str -> { })
+        );
+        assertThat(
+            InventorySnapshot.tagOf(new Armour("Gloves", "Iron", 5, 5, "None", 0, "earth")),
+            equalTo(InventorySnapshot.ARMOUR_TAG)
+        );
+    }
+
+    @Test
+    public void testUnknownItemTypeRejected()
+    {
+        Inventory other = new Inventory();
+        other.addItem(new Consumable("Tomato", "Hunger-10", 2) {
+            @Override
+            public Item clone()
+            {
+                return this;
+            }
+        });
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> InventorySnapshot.write(other, Channels.newChannel(new ByteArrayOutputStream()))
+        );
+    }
+}
@@ -0,0 +1,337 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestInventoryStatistics
+{
+    static final String[] MATERIALS = {"Diamond", "Gold", "Iron", "Leather", null};
+
+    static final String[] ELEMENTS = {"fire", "ice", "lightning", "none", null};
+
+    Inventory small;
+
+    Inventory large;
+
+    @BeforeEach
+    public void setUp()
+    {
+        small = new Inventory();
+        small.addItems(new ItemStack(new Consumable("Tomato", "Hunger-10", 2), 3));
+        small.addItem(new Armour("Boots", "Diamond", 100, 10, "FeatherFalling", 4, "lightning"));
+        small.addItem(new Consumable("Speed", "Spd*2", 5));
+        small.addItem(new Armour("Helm", "Diamond", 80, 12, "Thorns", 1, "fire"));
+        small.addItem(new Armour("Cape", "Silk", 20, 1, "Thorns", 2, "fire"));
+
+        final Random rng = new Random(330L);
+
+        large = new Inventory(100_000);
+
+        for (int i = 0; i < 100_000; i++) {
+            switch (rng.nextInt(2)) {
+                case 0:
+                    large.addItems(new ItemStack(
+                        new Consumable("Potion-" + i, "Heal", 1 + rng.nextInt(10)),
+                        1 + rng.nextInt(64)
+                    ));
+                    break;
+
+                default:
+                    large.adoptItem(new Armour(
+                        "Armour-" + i,
+                        MATERIALS[rng.nextInt(MATERIALS.length)],
+                        1 + rng.nextInt(100),
+                        rng.nextInt(50),
+                        "Thorns",
+                        1,
+                        ELEMENTS[rng.nextInt(ELEMENTS.length)]
+                    ));
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Compute the statistics of *inventory* with a plain serial loop.
+     */
+    static InventoryStatistics reference(Inventory inventory)
+    {
+        InventoryStatistics stats = new InventoryStatistics();
+
+        for (ItemStack stack : inventory) {
+            stats.accept(stack);
+        }
+
+        return stats;
+    }
+
+    /**
+     * Compare two sets of statistics field by field.
+     */
+    static void assertSame(InventoryStatistics expected, InventoryStatistics actual)
+    {
+        assertThat(actual.toString(), equalTo(expected.toString()));
+        assertThat(actual.getStackCount(), equalTo(expected.getStackCount()));
+        assertThat(actual.getTotalUses(), equalTo(expected.getTotalUses()));
+        assertThat(actual.getUses().toString(), equalTo(expected.getUses().toString()));
+        assertThat(actual.getDefense().toString(), equalTo(expected.getDefense().toString()));
+        assertThat(actual.getElementHistogram(), equalTo(expected.getElementHistogram()));
+        assertThat(
+            actual.getAverageDefenseByMaterial(),
+            equalTo(expected.getAverageDefenseByMaterial())
+        );
+        assertThat(
+            actual.getDefenseByMaterial().keySet(),
+            equalTo(expected.getDefenseByMaterial().keySet())
+        );
+
+        for (Map.Entry<String, InventoryStatistics.Tally> entry : expected.getDefenseByMaterial().entrySet()) {
+            assertThat(
+                actual.getDefenseByMaterial().get(entry.getKey()).toString(),
+                equalTo(entry.getValue().toString())
+            );
+        }
+    }
+
+    @Test
+    public void testTally()
+    {
+        InventoryStatistics.Tally tally = new InventoryStatistics.Tally();
+
+        assertThat(tally.getCount(), equalTo(0L));
+        assertThat(tally.getSum(), equalTo(0L));
+        assertThat(tally.getMin(), equalTo(Integer.MAX_VALUE));
+        assertThat(tally.getMax(), equalTo(Integer.MIN_VALUE));
+        assertThat(tally.getAverage(), equalTo(0.0));
+
+        tally.accept(4, 3);
+        tally.accept(10, 1);
+        tally.accept(-7, 0);
+
+        assertThat(tally.getCount(), equalTo(4L));
+        assertThat(tally.getSum(), equalTo(22L));
+        assertThat(tally.getMin(), equalTo(4));
+        assertThat(tally.getMax(), equalTo(10));
+        assertThat(tally.getAverage(), closeTo(5.5, 1e-9));
+
+        InventoryStatistics.Tally other = new InventoryStatistics.Tally();
+        other.accept(Integer.MAX_VALUE, 2);
+
+        tally.combine(other);
+        assertThat(tally.getCount(), equalTo(6L));
+        assertThat(tally.getSum(), equalTo(22L + 2L * Integer.MAX_VALUE));
+        assertThat(tally.getMax(), equalTo(Integer.MAX_VALUE));
+        assertThat(other.getCount(), equalTo(2L));
+    }
+
+    @Test
+    public void testEmpty()
+    {
+        InventoryStatistics stats = new Inventory().statistics();
+
+        assertThat(stats.getStackCount(), equalTo(0L));
+        assertThat(stats.getTotalUses(), equalTo(0L));
+        assertThat(stats.getDefense().getCount(), equalTo(0L));
+        assertThat(stats.getElementHistogram().isEmpty(), is(true));
+        assertThat(stats.getDefenseByMaterial().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testStatistics()
+    {
+        InventoryStatistics stats = small.statistics();
+
+        assertThat(stats.getStackCount(), equalTo(5L));
+
+        // Tomato (2 uses) x3 and Speed (5 uses) x1
+        assertThat(stats.getTotalUses(), equalTo(2L * 3 + 5));
+        assertThat(stats.getUses().getCount(), equalTo(4L));
+        assertThat(stats.getUses().getMax(), equalTo(5));
+
+        assertThat(stats.getDefense().getCount(), equalTo(3L));
+        assertThat(stats.getDefense().getAverage(), closeTo(23.0 / 3, 1e-9));
+
+        Map<String, Double> averages = stats.getAverageDefenseByMaterial();
+        assertThat(averages.size(), equalTo(2));
+        assertThat(averages.get("Diamond"), closeTo(11.0, 1e-9));
+        assertThat(averages.get("Silk"), closeTo(1.0, 1e-9));
+
+        Map<String, Long> histogram = stats.getElementHistogram();
+        assertThat(histogram.size(), equalTo(2));
+        assertThat(histogram.get("fire"), equalTo(2L));
+        assertThat(histogram.get("lightning"), equalTo(1L));
+
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> stats.getDefenseByMaterial().clear()
+        );
+    }
+
+    /**
+     * The tallies handed out are copies--changing one leaves the
+     * statistics alone.
+     */
+    @Test
+    public void testTalliesAreCopies()
+    {
+        InventoryStatistics stats = small.statistics();
+        String before = stats.toString();
+
+        stats.getUses().accept(1000, 5);
+        stats.getDefense().combine(stats.getDefense());
+        stats.getDefenseByMaterial().get("Diamond").accept(-50, 10);
+
+        assertThat(stats.toString(), equalTo(before));
+        assertThat(stats.getTotalUses(), equalTo(2L * 3 + 5));
+        assertThat(stats.getDefense().getCount(), equalTo(3L));
+        assertThat(stats.getDefenseByMaterial().get("Diamond").getCount(), equalTo(2L));
+        assertThat(stats.getAverageDefenseByMaterial().get("Diamond"), closeTo(11.0, 1e-9));
+    }
+
+    @Test
+    public void testSpliterator()
+    {
+        Spliterator<ItemStack> whole = large.spliterator();
+
+        assertTrue(whole.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(whole.hasCharacteristics(Spliterator.SUBSIZED));
+        assertTrue(whole.hasCharacteristics(Spliterator.ORDERED));
+        assertThat(whole.getExactSizeIfKnown(), equalTo((long) large.utilizedSlots()));
+
+        Spliterator<ItemStack> firstHalf = whole.trySplit();
+
+        assertThat(firstHalf, not(nullValue()));
+        assertThat(firstHalf.estimateSize() + whole.estimateSize(), equalTo((long) large.utilizedSlots()));
+        assertThat(firstHalf.estimateSize(), equalTo(whole.estimateSize()));
+
+        // Slots are still read-only
+        assertThrows(UnsupportedOperationException.class, () -> large.iterator().remove());
+    }
+
+    @Test
+    public void testStream()
+    {
+        assertThat(large.stream().count(), equalTo((long) large.utilizedSlots()));
+        assertThat(
+            large.stream().parallel().collect(Collectors.toList()),
+            equalTo(large.stream().collect(Collectors.toList()))
+        );
+    }
+
+    @Test
+    public void testParallelMatchesSerial()
+        throws Exception
+    {
+        InventoryStatistics expected = reference(large);
+
+        assertSame(expected, large.statistics());
+        assertSame(expected, large.stream().collect(InventoryStatistics.collector()));
+
+        // Run on a pool with several workers, so that parts really are
+        // tallied concurrently however many cores are available.
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertSame(expected, pool.submit(() -> large.statistics()).get());
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testAgainstHandWrittenReport()
+    {
+        InventoryStatistics stats = large.statistics();
+
+        long totalUses = 0;
+        Map<String, long[]> defense = new HashMap<>();
+        Map<String, Long> histogram = new HashMap<>();
+
+        for (ItemStack stack : large) {
+            Item item = stack.getItem();
+
+            if (item instanceof Consumable) {
+                totalUses += (long) ((Consumable) item).getNumberOfUses() * stack.size();
+            }
+            else if (item instanceof Armour) {
+                Armour piece = (Armour) item;
+
+                long[] sumAndCount = defense.computeIfAbsent(piece.getMaterial(), key -> new long[2]);
+                sumAndCount[0] += piece.getDefense();
+                sumAndCount[1]++;
+
+                histogram.merge(piece.getElement(), 1L, Long::sum);
+            }
+        }
+
+        assertThat(stats.getTotalUses(), equalTo(totalUses));
+        assertThat(stats.getElementHistogram(), equalTo(histogram));
+
+        Map<String, Double> averages = stats.getAverageDefenseByMaterial();
+        assertThat(averages.keySet(), equalTo(defense.keySet()));
+
+        for (Map.Entry<String, long[]> entry : defense.entrySet()) {
+            long[] sumAndCount = entry.getValue();
+
+            assertThat(
+                averages.get(entry.getKey()),
+                closeTo((double) sumAndCount[0] / sumAndCount[1], 1e-9)
+            );
+        }
+    }
+
+    @Test
+    public void testCombine()
+    {
+        InventoryStatistics first = reference(small);
+        InventoryStatistics second = reference(large);
+
+        InventoryStatistics both = new InventoryStatistics();
+        both.combine(first).combine(second);
+
+        assertThat(both.getStackCount(), equalTo(first.getStackCount() + second.getStackCount()));
+        assertThat(both.getTotalUses(), equalTo(first.getTotalUses() + second.getTotalUses()));
+        assertThat(
+            both.getElementHistogram().get("fire"),
+            equalTo(first.getElementHistogram().get("fire") + second.getElementHistogram().get("fire"))
+        );
+
+        // The combined statistics are unchanged
+        assertSame(reference(small), first);
+    }
+}
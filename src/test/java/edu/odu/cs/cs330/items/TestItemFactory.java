@@ -53,6 +53,9 @@ public class TestItemFactory
         item = ItemFactory.createItem("This Is Not a valid Item Type");
         assertThat(item, is(nullValue()));
 
+        // No type at all
+        assertThat(ItemFactory.createItem(null), is(nullValue()));
+
     }
 
     @Test
@@ -61,6 +64,57 @@ public class TestItemFactory
         assertTrue(ItemFactory.isKnown("Food"));
         assertTrue(ItemFactory.isKnown("Armor"));
         assertFalse(ItemFactory.isKnown("PHP is an okay language. FALSE!"));
+        assertFalse(ItemFactory.isKnown(null));
+    }
+
+    @Test
+    public void testRegister()
+    {
+        assertFalse(ItemFactory.isKnown("Snack"));
+
+        ItemFactory.register("Snack", Consumable::new);
+
+        try {
+            assertTrue(ItemFactory.isKnown("Snack"));
+            assertThat(ItemFactory.createItem("Snack"), instanceOf(Consumable.class));
+
+            Item item = ItemFactory.parseItemLine(new Scanner("Snack Green-Tea Wake-Up 5"));
+            assertThat(item.toString(), equalTo(foodItem.toString()));
+
+            // Each call must produce a new Item
+            assertThat(ItemFactory.createItem("Snack"),
+                       not(sameInstance(ItemFactory.createItem("Snack"))));
+        }
+        finally {
+            // The registry is static--do not leak "Snack" into other tests
+            ItemFactory.unregister("Snack");
+        }
+
+        assertFalse(ItemFactory.isKnown("Snack"));
+        assertTrue(ItemFactory.isKnown("Food"));
+    }
+
+    @Test
+    public void testParse()
+    {
+        Item item = ItemFactory.parse("Potion", new ItemTokenizer("Green-Tea Wake-Up 5"));
+
+        assertThat(item, instanceOf(Consumable.class));
+        assertThat(item.toString(), equalTo(foodItem.toString()));
+
+        ItemTokenizer tokens = new ItemTokenizer("Boots Diamond 100 10 FeatherFalling 4 lightning");
+        Armour boots = (Armour) ItemFactory.parse("Armor", tokens);
+
+        assertThat(boots.getName(), equalTo("Boots"));
+        assertThat(boots.getMaterial(), equalTo("Diamond"));
+        assertThat(boots.getDurability(), equalTo(100));
+        assertThat(boots.getDefense(), equalTo(10));
+        assertThat(boots.getModifier(), equalTo("FeatherFalling"));
+        assertThat(boots.getModifierLevel(), equalTo(4));
+        assertThat(boots.getElement(), equalTo("lightning"));
+        assertFalse(boots.isStackable());
+
+        assertThat(ItemFactory.parse("Tool", new ItemTokenizer("Pickaxe")), is(nullValue()));
     }
 
     @Test
@@ -0,0 +1,229 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestItemQuery
+{
+    static final String ITEM_FILE = String.join(
+        System.lineSeparator(),
+        "Armour Boots Diamond 100 10 FeatherFalling 4 lightning",
+        "Food Tomato Hunger-10 2",
+        "Armor Cape Silk 20 1 Thorns 2 fire",
+        "Tool Pickaxe Diamond 100 1 Fortune 5",
+        "Potion Speed Spd*2 5",
+        "Armour Helm Diamond 80 12 Thorns 1 fire",
+        "Disposable Tissue Wipe 1",
+        "Food Tomato Hunger-10 2",
+        ""
+    );
+
+    List<Item> items;
+
+    Inventory inventory;
+
+    @BeforeEach
+    public void setUp()
+    {
+        items = new ArrayList<>();
+
+        ItemTokenizer tokens = new ItemTokenizer(ITEM_FILE);
+        while (tokens.nextLine()) {
+            Item item = ItemFactory.parseItemLine(tokens);
+
+            if (item != null) {
+                items.add(item);
+            }
+        }
+
+        inventory = new Inventory();
+        inventory.addAll(items);
+    }
+
+    /**
+     * Run a query over ITEM_FILE and over the parsed Items--the results
+     * must agree.
+     */
+    List<String> check(ItemQuery query)
+    {
+        List<String> expected = items.stream()
+            .filter(query::test)
+            .map(Item::getName)
+            .collect(Collectors.toList());
+
+        List<String> actual = query.select(new ItemTokenizer(ITEM_FILE))
+            .map(stack -> stack.getItem().getName())
+            .collect(Collectors.toList());
+
+        assertThat(actual, equalTo(expected));
+
+        return actual;
+    }
+
+    @Test
+    public void testTypes()
+    {
+        assertThat(check(ItemQuery.items()), hasSize(7));
+        assertThat(
+            check(ItemQuery.armour()),
+            contains("Boots", "Cape", "Helm")
+        );
+        assertThat(
+            check(ItemQuery.consumables()),
+            contains("Tomato", "Speed", "Tissue", "Tomato")
+        );
+    }
+
+    @Test
+    public void testTextConditions()
+    {
+        assertThat(check(ItemQuery.items().name("Tomato")), contains("Tomato", "Tomato"));
+        assertThat(check(ItemQuery.armour().material("Diamond")), contains("Boots", "Helm"));
+        assertThat(check(ItemQuery.armour().element("fire").modifier("Thorns")), contains("Cape", "Helm"));
+        assertThat(check(ItemQuery.consumables().effect("Spd*2")), contains("Speed"));
+        assertThat(check(ItemQuery.armour().element("water")), is(empty()));
+
+        // Contradictory conditions
+        assertThat(check(ItemQuery.armour().material("Diamond").material("Silk")), is(empty()));
+    }
+
+    @Test
+    public void testRangeConditions()
+    {
+        assertThat(check(ItemQuery.armour().defense(10, Integer.MAX_VALUE)), contains("Boots", "Helm"));
+        assertThat(check(ItemQuery.armour().durability(0, 80)), contains("Cape", "Helm"));
+        assertThat(check(ItemQuery.armour().modifierLevel(2, 4)), contains("Boots", "Cape"));
+        assertThat(check(ItemQuery.consumables().uses(2, 5)), contains("Tomato", "Speed", "Tomato"));
+
+        // Ranges on one attribute are intersected
+        assertThat(
+            check(ItemQuery.armour().defense(1, 11).defense(10, 20)),
+            contains("Boots")
+        );
+        assertThat(check(ItemQuery.armour().defense(5, 1)), is(empty()));
+    }
+
+    @Test
+    public void testMissingAttribute()
+    {
+        // Only Armour has a material; only Consumables have uses.
+        assertThat(check(ItemQuery.items().material("Diamond")), contains("Boots", "Helm"));
+        assertThat(check(ItemQuery.items().uses(1, 1)), contains("Tissue"));
+        assertThat(check(ItemQuery.armour().effect("Wipe")), is(empty()));
+        assertThat(check(ItemQuery.consumables().defense(0, 100)), is(empty()));
+    }
+
+    @Test
+    public void testWhere()
+    {
+        ItemQuery query = ItemQuery.armour()
+            .material("Diamond")
+            .where(item -> item.getName().startsWith("H"));
+
+        assertThat(check(query), contains("Helm"));
+        assertThat(check(ItemQuery.items().where(Item::isStackable)), hasSize(4));
+    }
+
+    @Test
+    public void testSelectInventory()
+    {
+        List<ItemStack> stacks = ItemQuery.consumables()
+            .name("Tomato")
+            .select(inventory)
+            .collect(Collectors.toList());
+
+        // The stacks themselves--Tomato was merged into one slot
+        assertThat(stacks, hasSize(1));
+        assertThat(stacks.get(0), sameInstance(inventory.getSlot(1)));
+        assertThat(stacks.get(0).size(), equalTo(2));
+
+        long totalUses = ItemQuery.consumables()
+            .select(inventory)
+            .mapToLong(stack -> (long) stack.size() * ((Consumable) stack.getItem()).getNumberOfUses())
+            .sum();
+
+        assertThat(totalUses, equalTo(2L * 2 + 5 + 1));
+
+        double averageDefense = ItemQuery.armour()
+            .select(inventory)
+            .mapToInt(stack -> ((Armour) stack.getItem()).getDefense())
+            .average()
+            .getAsDouble();
+
+        assertThat(averageDefense, closeTo(23.0 / 3, 1e-9));
+    }
+
+    @Test
+    public void testSelectFile(@TempDir Path tempDir)
+        throws IOException
+    {
+        Path file = tempDir.resolve("items.txt");
+        Files.writeString(file, ITEM_FILE);
+
+        try (Stream<ItemStack> stacks = ItemQuery.armour().element("fire").select(file)) {
+            List<ItemStack> matches = stacks.collect(Collectors.toList());
+
+            assertThat(matches, hasSize(2));
+            assertThat(matches.get(0).size(), equalTo(1));
+            assertThat(matches.get(0).getItem(), equalTo(items.get(2)));
+            assertThat(matches.get(1).getItem().toString(), equalTo(items.get(4).toString()));
+        }
+    }
+
+    @Test
+    public void testPushdownSkipsRejectedLines()
+    {
+        // The durability of the first line is not a number--it is never
+        // read, since the material has already excluded the line.
+        String lines = "Armour Boots Gold lots 10 Thorns 1 fire\nArmour Cape Diamond 20 1 Thorns 2 fire\n";
+
+        List<String> names = ItemQuery.armour()
+            .material("Diamond")
+            .select(new ItemTokenizer(lines))
+            .map(stack -> stack.getItem().getName())
+            .collect(Collectors.toList());
+
+        assertThat(names, contains("Cape"));
+
+        // Lines that get that far are parsed as usual.
+        assertThrows(
+            InputMismatchException.class,
+            () -> ItemQuery.armour().material("Gold").select(new ItemTokenizer(lines)).count()
+        );
+    }
+}
@@ -8,7 +8,12 @@ import org.junit.jupiter.api.BeforeEach;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Scanner;
 
@@ -149,4 +154,82 @@ public class TestItemStack
         assertThat(aStack.toString(), containsString(tomato.toString()));
         assertThat(aStack.toString(), stringContainsInOrder(Arrays.asList("Qty", "1")));
     }
+
+    @Test
+    public void testToStringCached()
+    {
+        ItemStack aStack = new ItemStack(tomato, 2);
+        String before = aStack.toString();
+
+        assertThat(aStack.toString(), sameInstance(before));
+
+        aStack.addItems(3);
+        assertThat(aStack.toString(), containsString("Qty: 5"));
+        assertThat(aStack.toString(), not(sameInstance(before)));
+
+        before = aStack.toString();
+        ((Consumable) aStack.getItem()).setNumberOfUses(9);
+        assertThat(aStack.toString(), containsString("Use: 9"));
+        assertThat(aStack.toString(), containsString("Qty: 5"));
+
+        aStack.removeItems(1);
+        assertThat(aStack.toString(), containsString("Qty: 4"));
+
+        ConcurrentItemStack concurrent = new ConcurrentItemStack(tomato, 2);
+        assertThat(concurrent.toString(), containsString("Qty: 2"));
+        concurrent.addItems(1);
+        assertThat(concurrent.toString(), containsString("Qty: 3"));
+    }
+
+    @Test
+    public void testWriteTo()
+        throws IOException
+    {
+        for (ItemStack aStack : Arrays.asList(new ItemStack(shield), new ItemStack(tomato, 12))) {
+            StringWriter out = new StringWriter();
+            aStack.writeTo(out);
+            assertThat(out.toString(), equalTo(aStack.toString()));
+
+            // Cached text is reused, but quantity changes are printed
+            aStack.addItems(1);
+            out = new StringWriter();
+            aStack.writeTo(out);
+            assertThat(out.toString(), equalTo(aStack.toString()));
+        }
+
+        ItemStack aStack = new ItemStack(tomato, 12);
+        aStack.toString();
+        aStack.addItems(1);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        aStack.writeTo(Channels.newChannel(bytes));
+        assertThat(bytes.toString(StandardCharsets.UTF_8), containsString("Qty: 13"));
+    }
+
+    @Test
+    public void testRemoveItems()
+    {
+        ItemStack stack = new ItemStack(tomato, 5);
+
+        assertThat(stack.removeItems(2), equalTo(2));
+        assertThat(stack.size(), equalTo(3));
+
+        assertThat(stack.removeItems(10), equalTo(3));
+        assertThat(stack.size(), equalTo(0));
+
+        assertThat(stack.removeItems(1), equalTo(0));
+        assertThat(stack.size(), equalTo(0));
+    }
+
+    @Test
+    public void testTryTake()
+    {
+        ItemStack stack = new ItemStack(tomato, 5);
+
+        assertThat(stack.tryTake(6), is(false));
+        assertThat(stack.size(), equalTo(5));
+
+        assertThat(stack.tryTake(5), is(true));
+        assertThat(stack.size(), equalTo(0));
+    }
 }
@@ -0,0 +1,186 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.StringReader;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ *
+ * 1 Test per mutator
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestItemTokenizer
+{
+    @Test
+    public void testEmptyInput()
+    {
+        ItemTokenizer tokens = new ItemTokenizer(new StringReader(""));
+
+        assertFalse(tokens.nextLine());
+    }
+
+    @Test
+    public void testTokensAndLines()
+    {
+        ItemTokenizer tokens = new ItemTokenizer(
+            new StringReader("Food  Tomato\tHunger-10 2\r\nPotion Speed Spd*2 -1\nLast")
+        );
+
+        assertTrue(tokens.nextLine());
+        assertThat(tokens.next(), equalTo("Food"));
+        assertThat(tokens.next(), equalTo("Tomato"));
+        assertThat(tokens.next(), equalTo("Hunger-10"));
+        assertThat(tokens.nextInt(), equalTo(2));
+        assertFalse(tokens.hasNext());
+
+        assertTrue(tokens.nextLine());
+        assertThat(tokens.next(), equalTo("Potion"));
+
+        // The rest of the line is discarded
+        assertTrue(tokens.nextLine());
+        assertThat(tokens.next(), equalTo("Last"));
+        assertFalse(tokens.hasNext());
+
+        assertFalse(tokens.nextLine());
+    }
+
+    @Test
+    public void testTrailingNewline()
+    {
+        ItemTokenizer tokens = new ItemTokenizer("Food Tomato Hunger-10 2\n");
+
+        assertTrue(tokens.nextLine());
+        assertFalse(tokens.nextLine());
+    }
+
+    @Test
+    public void testNextAtEndOfLine()
+    {
+        ItemTokenizer tokens = new ItemTokenizer("Food\nTomato");
+
+        assertTrue(tokens.nextLine());
+        tokens.next();
+
+        assertThrows(NoSuchElementException.class, tokens::next);
+    }
+
+    @Test
+    public void testNextInt()
+    {
+        ItemTokenizer tokens = new ItemTokenizer(
+            "7 -7 +7 2147483647 -2147483648 2147483648 12ab -"
+        );
+
+        assertTrue(tokens.nextLine());
+        assertThat(tokens.nextInt(), equalTo(7));
+        assertThat(tokens.nextInt(), equalTo(-7));
+        assertThat(tokens.nextInt(), equalTo(7));
+        assertThat(tokens.nextInt(), equalTo(Integer.MAX_VALUE));
+        assertThat(tokens.nextInt(), equalTo(Integer.MIN_VALUE));
+
+        assertThrows(InputMismatchException.class, tokens::nextInt);
+        assertThrows(InputMismatchException.class, tokens::nextInt);
+        assertThrows(InputMismatchException.class, tokens::nextInt);
+    }
+
+    @Test
+    public void testParseItemLine()
+    {
+        ItemTokenizer tokens = new ItemTokenizer(
+            "LOLNOTAVALIDITEM potato 7\nArmour Boots Diamond 100 10 FeatherFalling 4 lightning\n"
+        );
+
+        assertTrue(tokens.nextLine());
+        assertThat(ItemFactory.parseItemLine(tokens), is(nullValue()));
+
+        assertTrue(tokens.nextLine());
+        Item item = ItemFactory.parseItemLine(tokens);
+
+        assertThat(item, instanceOf(Armour.class));
+        assertThat(item.getName(), equalTo("Boots"));
+        assertThat(((Armour) item).getElement(), equalTo("lightning"));
+
+        assertFalse(tokens.nextLine());
+    }
+
+    @Test
+    public void testSkipAndNextEquals()
+    {
+        ItemTokenizer tokens = new ItemTokenizer("Armour Boots Diamond 100\nFood\n");
+
+        assertTrue(tokens.nextLine());
+        tokens.skip();
+        assertTrue(tokens.nextEquals("Boots"));
+        assertFalse(tokens.nextEquals("Diamonds"));
+        assertFalse(tokens.nextEquals("100 "));
+        assertThrows(NoSuchElementException.class, tokens::skip);
+
+        assertTrue(tokens.nextLine());
+        assertTrue(tokens.nextEquals("Food"));
+        assertThrows(NoSuchElementException.class, () -> tokens.nextEquals("Food"));
+    }
+
+    @Test
+    public void testMarkAndReset()
+    {
+        // The second line is longer than the read buffer--it is refilled
+        // (and must grow) while marked.
+        String longName = "x".repeat(100_000);
+        ItemTokenizer tokens = new ItemTokenizer(
+            new StringReader("Food Tea Wake-Up 1\nArmour " + longName + " Gold 5 6\nLast\n")
+        );
+
+        assertTrue(tokens.nextLine());
+        assertThrows(IllegalStateException.class, tokens::reset);
+        tokens.skip();
+        tokens.mark();
+        tokens.skip();
+        tokens.skip();
+        assertThat(tokens.nextInt(), equalTo(1));
+        tokens.reset();
+        assertThat(tokens.next(), equalTo("Tea"));
+
+        assertTrue(tokens.nextLine());
+        assertThrows(IllegalStateException.class, tokens::reset);
+        assertThat(tokens.next(), equalTo("Armour"));
+        tokens.mark();
+        assertTrue(tokens.nextEquals(longName));
+        tokens.skip();
+        assertThat(tokens.nextInt(), equalTo(5));
+        tokens.reset();
+        assertThat(tokens.next(), equalTo(longName));
+        assertThat(tokens.next(), equalTo("Gold"));
+        tokens.reset();
+        tokens.skip();
+        tokens.skip();
+        assertThat(tokens.nextInt(), equalTo(5));
+        assertThat(tokens.nextInt(), equalTo(6));
+
+        assertTrue(tokens.nextLine());
+        assertThat(tokens.next(), equalTo("Last"));
+        assertFalse(tokens.nextLine());
+    }
+}
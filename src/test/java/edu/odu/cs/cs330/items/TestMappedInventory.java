@@ -0,0 +1,144 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestMappedInventory
+{
+    @TempDir
+    Path tempDir;
+
+    Inventory inventory;
+
+    Path snapshot;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        inventory = new Inventory(8);
+
+        inventory.addItem(new Armour("Boots", "Diamond", 100, 10, "FeatherFalling", 4, "lightning"));
+        inventory.addItems(new ItemStack(new Consumable("Tomato", "Hunger-10", 2), 7));
+        inventory.addItem(new Armour("Boots", "Diamond", 100, 10, "Protection", 3, "lightning"));
+        inventory.addItem(new Consumable("Bread", null, 1));
+
+        snapshot = tempDir.resolve("inventory.snap");
+        InventorySnapshot.save(inventory, snapshot);
+    }
+
+    @Test
+    public void testMatchesInventory()
+        throws IOException
+    {
+        try (MappedInventory view = new MappedInventory(snapshot)) {
+            assertThat(view.totalSlots(), equalTo(8));
+            assertThat(view.utilizedSlots(), equalTo(4));
+            assertThat(view.emptySlots(), equalTo(4));
+            assertThat(view.isFull(), is(false));
+            assertThat(view.percentFilled(), equalTo(inventory.percentFilled()));
+            assertThat(view.toString(), equalTo(inventory.toString()));
+        }
+    }
+
+    @Test
+    public void testGet()
+        throws IOException
+    {
+        try (MappedInventory view = new MappedInventory(snapshot)) {
+            ItemStack tomatoes = view.get(1);
+
+            assertThat(tomatoes.getItem().getName(), equalTo("Tomato"));
+            assertThat(tomatoes.size(), equalTo(7));
+
+            // Stacks are copies of the snapshot
+            tomatoes.addItems(1);
+            assertThat(view.get(1).size(), equalTo(7));
+
+            // Decoded Strings are shared
+            assertThat(view.get(2).getItem().getName(), sameInstance(view.get(0).getItem().getName()));
+
+            assertThat(((Consumable) view.get(3).getItem()).getEffect(), is(nullValue()));
+
+            assertThrows(IndexOutOfBoundsException.class, () -> view.get(4));
+            assertThrows(IndexOutOfBoundsException.class, () -> view.get(-1));
+        }
+    }
+
+    @Test
+    public void testIterator()
+        throws IOException
+    {
+        try (MappedInventory view = new MappedInventory(snapshot)) {
+            Iterator<ItemStack> expected = inventory.iterator();
+
+            for (ItemStack stack : view) {
+                assertThat(stack.toString(), equalTo(expected.next().toString()));
+            }
+
+            assertThat(expected.hasNext(), is(false));
+        }
+    }
+
+    @Test
+    public void testVerify()
+        throws IOException
+    {
+        try (MappedInventory view = new MappedInventory(snapshot)) {
+            view.verify();
+        }
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[10] ^= 1;
+        Files.write(snapshot, bytes);
+
+        try (MappedInventory view = new MappedInventory(snapshot)) {
+            IOException error = assertThrows(IOException.class, view::verify);
+            assertThat(error.getMessage(), containsString("checksum"));
+        }
+    }
+
+    @Test
+    public void testNotASnapshot()
+        throws IOException
+    {
+        Path file = tempDir.resolve("items.txt");
+        Files.write(file, "Armour Boots Diamond 100 10 FeatherFalling 4 lightning".getBytes());
+
+        assertThrows(IOException.class, () -> new MappedInventory(file));
+
+        Files.write(file, new byte[0]);
+        assertThrows(IOException.class, () -> new MappedInventory(file));
+    }
+}
@@ -0,0 +1,169 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Iterator;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.BeanMembersShouldSerialize",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestOffHeapInventory
+{
+    Armour boots;
+
+    Consumable tomato;
+
+    Consumable bread;
+
+    @BeforeEach
+    public void setUp()
+    {
+        boots = new Armour("Boots", "Diamond", 100, 10, "FeatherFalling", 4, "lightning");
+        tomato = new Consumable("Tomato", "Hunger-10", 2);
+        bread = new Consumable("Bread", null, 1);
+    }
+
+    @Test
+    public void testDefaultConstructor()
+    {
+        OffHeapInventory empty = new OffHeapInventory();
+
+        assertThat(empty.totalSlots(), equalTo(Inventory.DEFAULT_SIZE));
+        assertThat(empty.utilizedSlots(), equalTo(0));
+        assertThat(empty.isFull(), is(false));
+        assertThat(empty.allocatedBytes(), equalTo(0L));
+        assertThat(empty.iterator().hasNext(), is(false));
+        assertThat(empty.toString(), equalTo(new Inventory().toString()));
+    }
+
+    @Test
+    public void testMatchesInventory()
+    {
+        OffHeapInventory offHeap = new OffHeapInventory(4);
+        Inventory inventory = new Inventory(4);
+
+        Item[] items = {tomato, boots, tomato, bread, boots, tomato, boots, bread};
+
+        for (Item item : items) {
+            assertThat(offHeap.addItem(item), equalTo(inventory.addItem(item)));
+        }
+
+        assertThat(offHeap.addItems(new ItemStack(tomato, 5)), is(true));
+        inventory.addItems(new ItemStack(tomato, 5));
+
+        assertThat(offHeap.utilizedSlots(), equalTo(4));
+        assertThat(offHeap.isFull(), is(true));
+        assertThat(offHeap.percentFilled(), equalTo(inventory.percentFilled()));
+        assertThat(offHeap.toString(), equalTo(inventory.toString()));
+        assertThat(offHeap.allocatedBytes(), equalTo(4L * OffHeapInventory.RECORD_SIZE));
+    }
+
+    @Test
+    public void testGet()
+    {
+        OffHeapInventory offHeap = new OffHeapInventory(8);
+        offHeap.addItem(boots);
+        offHeap.addItems(new ItemStack(bread, 3));
+
+        ItemStack stack = offHeap.get(0);
+        assertThat(stack.size(), equalTo(1));
+        assertThat(stack.getItem().toString(), equalTo(boots.toString()));
+
+        stack = offHeap.get(1);
+        assertThat(stack.size(), equalTo(3));
+        assertThat(((Consumable) stack.getItem()).getEffect(), is(nullValue()));
+
+        // Stacks are copies
+        stack.addItems(10);
+        assertThat(offHeap.get(1).size(), equalTo(3));
+        assertThat(offHeap.get(1), not(sameInstance(offHeap.get(1))));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> offHeap.get(2));
+    }
+
+    @Test
+    public void testManyChunks()
+    {
+        final int count = 200_000;
+
+        OffHeapInventory offHeap = new OffHeapInventory(count);
+
+        for (int i = 0; i < count; i++) {
+            boots.setDurability(i);
+            assertThat(offHeap.addItem(boots), is(true));
+        }
+
+        assertThat(offHeap.isFull(), is(true));
+        assertThat(offHeap.addItem(tomato), is(false));
+        assertThat(offHeap.allocatedBytes(), equalTo((long) count * OffHeapInventory.RECORD_SIZE));
+
+        Iterator<ItemStack> it = offHeap.iterator();
+        for (int i = 0; i < count; i++) {
+            assertThat(((Armour) it.next().getItem()).getDurability(), equalTo(i));
+        }
+        assertThat(it.hasNext(), is(false));
+    }
+
+    @Test
+    public void testRejectsOtherItems()
+    {
+        OffHeapInventory offHeap = new OffHeapInventory(8);
+        Item unknown = new Consumable() {
+            @Override
+            public Item clone()
+            {
+                return this;
+            }
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> offHeap.addItem(unknown));
+        assertThat(offHeap.utilizedSlots(), equalTo(0));
+    }
+
+    /**
+     * Items rejected because the inventory is full must not grow the
+     * symbol table.
+     */
+    @Test
+    public void testRejectedItemsLeaveNoSymbols()
+    {
+        OffHeapInventory offHeap = new OffHeapInventory(1);
+        offHeap.addItem(new Consumable("Tomato", "Hunger-10", 2));
+
+        int symbols = offHeap.symbolCount();
+
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(offHeap.addItem(new Armour("Armour-" + i, "Metal-" + i, 1, 1, "None", 0, "earth")));
+            assertFalse(offHeap.addItem(new Consumable("Potion-" + i, "Effect-" + i, 1)));
+        }
+
+        assertThat(offHeap.symbolCount(), equalTo(symbols));
+
+        // Merges still work
+        assertTrue(offHeap.addItem(new Consumable("Tomato", "Hunger-10", 2)));
+        assertThat(offHeap.iterator().next().size(), equalTo(2));
+    }
+}
@@ -0,0 +1,81 @@
+package edu.odu.cs.cs330.items;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+
+/**
+ * 1 - Does this piece of code perform the operations
+ *     it was designed to perform?
+ *
+ * 2 - Does this piece of code do something it was not
+ *     designed to perform?
+ *
+ * 1 Test per mutator
+ */
+@SuppressWarnings({
+    "PMD.AtLeastOneConstructor",
+    "PMD.JUnitAssertionsShouldIncludeMessage",
+    "PMD.JUnitTestContainsTooManyAsserts",
+    "PMD.LocalVariableCouldBeFinal",
+    "PMD.MethodArgumentCouldBeFinal",
+    "PMD.LawOfDemeter"
+})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class TestSymbolTable
+{
+    @Test
+    public void testIntern()
+    {
+        SymbolTable symbols = new SymbolTable();
+
+        String first = new String("Diamond");
+        String second = new String("Diamond");
+
+        assertThat(symbols.intern(first), sameInstance(first));
+        assertThat(symbols.intern(second), sameInstance(first));
+
+        assertThat(symbols.size(), equalTo(1));
+        assertThat(symbols.hits(), equalTo(1L));
+        assertThat(symbols.bytesSaved(), greaterThan(0L));
+    }
+
+    @Test
+    public void testCapacity()
+    {
+        SymbolTable symbols = new SymbolTable(1);
+
+        symbols.intern("fire");
+
+        String ice = new String("ice");
+        assertThat(symbols.intern(ice), sameInstance(ice));
+        assertThat(symbols.intern(new String("ice")), not(sameInstance(ice)));
+        assertThat(symbols.size(), equalTo(1));
+    }
+
+    @Test
+    public void testTokenizerNextSymbol()
+    {
+        SymbolTable symbols = new SymbolTable();
+        ItemTokenizer tokens = new ItemTokenizer(
+            "Armour Boots Diamond 100 10 Fortune 4 fire\n"
+            + "Armour Helmet Diamond 50 5 Fortune 1 fire\n"
+        );
+        tokens.setSymbolTable(symbols);
+
+        tokens.nextLine();
+        Armour boots = (Armour) ItemFactory.parseItemLine(tokens);
+
+        tokens.nextLine();
+        Armour helmet = (Armour) ItemFactory.parseItemLine(tokens);
+
+        assertThat(helmet.getMaterial(), sameInstance(boots.getMaterial()));
+        assertThat(helmet.getModifier(), sameInstance(boots.getModifier()));
+        assertThat(helmet.getElement(), sameInstance(boots.getElement()));
+        assertThat(symbols.hits(), equalTo(3L));
+    }
+}